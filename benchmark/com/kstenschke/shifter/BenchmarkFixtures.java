@@ -0,0 +1,117 @@
+package com.kstenschke.shifter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible benchmark inputs: generated from a fixed seed, so every run measures the same data
+ */
+public class BenchmarkFixtures {
+
+    public static final long SEED = 20171018L;
+
+    private static final String[] IDENTIFIERS = {
+            "foo", "bar", "baz", "qux", "item", "value", "count", "index", "name", "title",
+            "width", "height", "user", "order", "total", "amount", "status", "result", "config", "data"
+    };
+
+    private static final String[] CSS_PROPERTIES = {
+            "color", "width", "height", "margin", "padding", "border", "display", "position", "top", "left",
+            "-webkit-transition", "-moz-box-sizing", "font-size", "line-height", "z-index", "background"
+    };
+
+    // Words of different types, as found in code: numeric, CSS units, colors, keywords, dictionary terms, identifiers
+    private static final String[] WORDS = {
+            "public", "private", "protected", "true", "false", "12", "0", "1500", "10px", "2em", "50%",
+            "fff", "a0b1c2", "XIV", "width", "height", "left", "top", "min", "max", "first", "last",
+            "getFoo", "is_bar", "foo-bar", "foo/bar", "&&", "||", "+", "-", "====", "lorem", "ipsum"
+    };
+
+    /**
+     * @param  amountLines
+     * @return String       PHP code w/ variables
+     */
+    public static String generatePhp(int amountLines) {
+        Random random = new Random(SEED);
+        StringBuilder php = new StringBuilder("<?php\n");
+        for (int i = 1; i < amountLines; i++) {
+            php.append('$').append(getIdentifier(random)).append(" = $").append(getIdentifier(random))
+               .append(" + ").append(random.nextInt(1000)).append(";\n");
+        }
+
+        return php.toString();
+    }
+
+    /**
+     * @param  amountLines
+     * @return String       JavaScript code w/ single-, double- and backtick-quoted strings
+     */
+    public static String generateJavaScript(int amountLines) {
+        Random random = new Random(SEED);
+        StringBuilder js = new StringBuilder();
+        for (int i = 0; i < amountLines; i++) {
+            js.append("var ").append(getIdentifier(random)).append(" = {a: '").append(getIdentifier(random))
+              .append("', b: \"").append(getIdentifier(random)).append("\", c: `").append(getIdentifier(random))
+              .append("`};\n");
+        }
+
+        return js.toString();
+    }
+
+    /**
+     * @param  amountLines
+     * @return String       Stylesheet of rules w/ unsorted attribute-style lines
+     */
+    public static String generateCss(int amountLines) {
+        Random random = new Random(SEED);
+        StringBuilder css = new StringBuilder();
+        int line = 0;
+        while (line < amountLines) {
+            css.append('.').append(getIdentifier(random)).append('-').append(line).append(" {\n");
+            int amountAttributes = 2 + random.nextInt(8);
+            for (int i = 0; i < amountAttributes; i++) {
+                css.append("    ").append(CSS_PROPERTIES[random.nextInt(CSS_PROPERTIES.length)])
+                   .append(": ").append(random.nextInt(100)).append("px;\n");
+            }
+            css.append("}\n");
+            line += amountAttributes + 2;
+        }
+
+        return css.toString();
+    }
+
+    /**
+     * @param  amountLines
+     * @return List         Lines w/ mixed case and numeric parts, e.g. "Item12 foo"
+     */
+    public static List<String> generateSortableLines(int amountLines) {
+        Random random = new Random(SEED);
+        List<String> lines = new ArrayList<>(amountLines);
+        for (int i = 0; i < amountLines; i++) {
+            String identifier = getIdentifier(random);
+            lines.add((random.nextBoolean() ? identifier : identifier.toUpperCase())
+                    + random.nextInt(10000) + " " + getIdentifier(random));
+        }
+
+        return lines;
+    }
+
+    /**
+     * @param  amountWords
+     * @return String[]     Words of all kinds of shiftable (and non-shiftable) types
+     */
+    public static String[] generateWords(int amountWords) {
+        Random random = new Random(SEED);
+        String[] words = new String[amountWords];
+        for (int i = 0; i < amountWords; i++) {
+            words[i] = WORDS[random.nextInt(WORDS.length)];
+        }
+
+        return words;
+    }
+
+    private static String getIdentifier(Random random) {
+        return IDENTIFIERS[random.nextInt(IDENTIFIERS.length)] + (random.nextInt(4) == 0 ? random.nextInt(100) : "");
+    }
+}
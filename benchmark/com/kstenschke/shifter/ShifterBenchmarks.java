@@ -0,0 +1,26 @@
+package com.kstenschke.shifter;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of the shifting engine and publishes the results as JSON, for comparing releases.
+ * Arguments are passed on to JMH, e.g. "-prof gc" to include allocation rates, or a benchmark name filter.
+ */
+public class ShifterBenchmarks {
+
+    private static final String RESULT_FILE = "benchmark-results.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build()
+        ).run();
+    }
+}
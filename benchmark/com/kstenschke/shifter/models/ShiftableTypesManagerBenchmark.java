@@ -0,0 +1,50 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.BenchmarkFixtures;
+import com.kstenschke.shifter.ShifterSettings;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Word type detection and shifting of all words of a line, as done when shifting the caret line.
+ * Run w/ "-prof gc" to see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ShiftableTypesManagerBenchmark {
+
+    private static final int AMOUNT_WORDS_PER_LINE = 40;
+
+    @Param({"script.js", "style.css", "index.php"})
+    public String filename;
+
+    private String[] words;
+    private ShiftContext shiftContext;
+
+    @Setup
+    public void setUp() {
+        words = BenchmarkFixtures.generateWords(AMOUNT_WORDS_PER_LINE);
+        shiftContext = new ShiftContext(String.join(" ", Arrays.asList(words)), filename, true, ShifterSettings.getDefault());
+    }
+
+    @Benchmark
+    public void getWordType(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(ShiftableTypesManager.getWordType(word, " ", " ", false, shiftContext));
+        }
+    }
+
+    @Benchmark
+    public void shiftWordsOfLine(Blackhole blackhole) {
+        for (String word : words) {
+            blackhole.consume(new ShiftableWord(shiftContext, word, "", "", null).getShifted());
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.kstenschke.shifter.models.comparators;
+
+import com.kstenschke.shifter.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Natural ordering of lines, as done when sorting a multi-line selection
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class AlphanumComparatorBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int amountLines;
+
+    private List<String> lines;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkFixtures.generateSortableLines(amountLines);
+    }
+
+    @Benchmark
+    public List<String> sort() {
+        List<String> sortedLines = new ArrayList<>(lines);
+        sortedLines.sort(new AlphanumComparator());
+
+        return sortedLines;
+    }
+
+    @Benchmark
+    public List<String> sortBySortKeys() {
+        List<String> sortedLines = new ArrayList<>(lines);
+        AlphanumComparator.sort(sortedLines);
+
+        return sortedLines;
+    }
+}
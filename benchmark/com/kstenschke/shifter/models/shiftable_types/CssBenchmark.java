@@ -0,0 +1,33 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorting the attributes of all rules of a large stylesheet
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CssBenchmark {
+
+    @Param({"10000", "100000"})
+    public int amountLines;
+
+    private String stylesheet;
+
+    @Setup
+    public void setUp() {
+        stylesheet = BenchmarkFixtures.generateCss(amountLines);
+    }
+
+    @Benchmark
+    public String getShifted() {
+        return Css.getShifted(stylesheet);
+    }
+}
@@ -0,0 +1,93 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups and shifting of terms of the bundled dictionary
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DictionaryTermBenchmark {
+
+    private static final int AMOUNT_TERMS = 1000;
+
+    private String dictionary;
+    private DictionaryIndex dictionaryIndex;
+
+    // Terms of the dictionary, mixed w/ (upper-cased and unknown) terms not contained in it
+    private String[] terms;
+
+    @Setup
+    public void setUp() {
+        dictionary      = DictionaryIndex.getDefaultDictionary();
+        dictionaryIndex = new DictionaryIndex(dictionary);
+
+        List<String> dictionaryTerms = new ArrayList<>();
+        for (String line : dictionary.split("\n")) {
+            String termsLine = line.trim();
+            if (termsLine.startsWith("|")) {
+                for (String term : termsLine.split("\\|")) {
+                    if (!term.isEmpty()) {
+                        dictionaryTerms.add(term);
+                    }
+                }
+            }
+        }
+
+        Random random = new Random(BenchmarkFixtures.SEED);
+        terms = new String[AMOUNT_TERMS];
+        for (int i = 0; i < AMOUNT_TERMS; i++) {
+            String term = dictionaryTerms.get(random.nextInt(dictionaryTerms.size()));
+            switch (i % 4) {
+                case 0:
+                    terms[i] = term.toUpperCase();
+                    break;
+                case 1:
+                    terms[i] = term + "Unknown";
+                    break;
+                default:
+                    terms[i] = term;
+            }
+        }
+    }
+
+    @Benchmark
+    public DictionaryIndex buildIndex() {
+        return new DictionaryIndex(dictionary);
+    }
+
+    @Benchmark
+    public void findInDictionary(Blackhole blackhole) {
+        for (String term : terms) {
+            blackhole.consume(DictionaryTerm.findInDictionary(term, null, dictionaryIndex));
+        }
+    }
+
+    @Benchmark
+    public void findInDictionaryOfExtension(Blackhole blackhole) {
+        for (String term : terms) {
+            blackhole.consume(DictionaryTerm.findInDictionary(term, "js", dictionaryIndex));
+        }
+    }
+
+    @Benchmark
+    public void findAndShift(Blackhole blackhole) {
+        for (String term : terms) {
+            DictionaryTerm dictionaryTerm = DictionaryTerm.findInDictionary(term, null, dictionaryIndex);
+            if (null != dictionaryTerm) {
+                blackhole.consume(dictionaryTerm.getShifted(term, true));
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kstenschke.shifter.utils;
+
+import com.kstenschke.shifter.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extraction of all PHP variables and quoted strings of a document
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ExtractionBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int amountLines;
+
+    private String php;
+    private String javaScript;
+
+    @Setup
+    public void setUp() {
+        php        = BenchmarkFixtures.generatePhp(amountLines);
+        javaScript = BenchmarkFixtures.generateJavaScript(amountLines);
+    }
+
+    @Benchmark
+    public List<String> extractPhpVariables() {
+        return UtilsPhp.extractPhpVariables(php);
+    }
+
+    @Benchmark
+    public List<String> extractQuotedStrings() {
+        return UtilsTextual.extractQuotedStrings(javaScript, "'");
+    }
+}
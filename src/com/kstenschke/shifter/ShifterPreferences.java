@@ -21,6 +21,7 @@ import org.jetbrains.annotations.NonNls;
 /**
  * Utility functions for preferences handling
  * All preferences of the shifter plugin are stored on application level (not per project)
+ * While shifting, preferences are read from the ShifterSettings snapshot, which is to be reloaded once after saving preferences
  */
 public class ShifterPreferences {
 
@@ -46,6 +47,10 @@ public class ShifterPreferences {
     private static final String PROPERTY_FILE_ENDINGS_MILLISECONDS = "PluginShifter.FileEndingsMilliseconds";
     @NonNls
     private static final String PROPERTY_FILE_ENDINGS_SECONDS = "PluginShifter.FileEndingsMilliseconds";
+    @NonNls
+    private static final String PROPERTY_SHIFT_FILES_TRANSFORMATIONS = "PluginShifter.ShiftFilesTransformations";
+
+    public static final int DEFAULT_SIZE_SHIFT_MORE = 10;
 
     // Timestamp units by file endings
     public static final String DEFAULT_FILE_ENDINGS_MILLISECONDS = "java,js,py";
@@ -91,8 +96,16 @@ public class ShifterPreferences {
         PropertiesComponent.getInstance().setValue(PROPERTY_SIZE_SHIFT_MORE, size);
     }
 
+    /**
+     * @param transformations   Comma-separated names of the transformations last selected for shifting files
+     */
+    public static void saveShiftFilesTransformations(String transformations) {
+        PropertiesComponent.getInstance().setValue(PROPERTY_SHIFT_FILES_TRANSFORMATIONS, transformations);
+    }
+
     public static void saveShiftNumericalBlockMode(int mode) {
         PropertiesComponent.getInstance().setValue(PROPERTY_MODE_SHIFT_NUMERICAL_BLOCK, String.valueOf(mode));
+        ShifterSettings.reload();
     }
 
     public static void saveShiftingModeTimestamps(Integer mode) {
@@ -145,9 +158,22 @@ public class ShifterPreferences {
         try {
             String size = PropertiesComponent.getInstance().getValue(PROPERTY_SIZE_SHIFT_MORE);
 
-            return null == size ? 10 : Integer.parseInt(size);
+            return null == size ? DEFAULT_SIZE_SHIFT_MORE : Integer.parseInt(size);
         } catch(NullPointerException e) {
-            return 10;
+            return DEFAULT_SIZE_SHIFT_MORE;
+        }
+    }
+
+    /**
+     * @return String   Comma-separated names of the transformations last selected for shifting files, empty initially
+     */
+    public static String getShiftFilesTransformations() {
+        try {
+            String transformations = PropertiesComponent.getInstance().getValue(PROPERTY_SHIFT_FILES_TRANSFORMATIONS);
+
+            return null == transformations ? "" : transformations;
+        } catch(NullPointerException e) {
+            return "";
         }
     }
 
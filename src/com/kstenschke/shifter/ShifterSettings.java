@@ -0,0 +1,256 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter;
+
+import com.kstenschke.shifter.models.shiftable_types.DictionaryIndex;
+import com.kstenschke.shifter.utils.UtilsFile;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of all shifter preferences: loaded once and replaced as a whole whenever preferences are saved,
+ * so reading them while shifting is plain field access (no property lookups and parsing per word).
+ * Outside of the IDE (e.g. in tests, benchmarks or batch runs) settings are built from the defaults via the Builder.
+ */
+public class ShifterSettings {
+
+    private static volatile ShifterSettings current;
+
+    private static volatile ShifterSettings defaultSettings;
+
+    public final String dictionary;
+
+    public final int shiftMoreSize;
+    public final int shiftNumericalBlockMode;
+    public final int shiftingModeOfTimestamps;
+
+    public final boolean isActivePreserveCase;
+    public final boolean isActiveConvertSingleQuotes;
+    public final boolean isActiveConvertDoubleQuotes;
+    public final boolean isActiveConvertPhpArrayLongToShort;
+    public final boolean isActiveConvertPhpArrayShortToLong;
+
+    // Lower-cased file extensions
+    private final Set<String> millisecondsFileEndings;
+    private final Set<String> secondsFileEndings;
+
+    // Parsed dictionary, built on first use
+    private volatile DictionaryIndex dictionaryIndex;
+
+    /**
+     * Settings w/o preferences storage, initialized w/ the default preferences
+     */
+    public static class Builder {
+        private String dictionary = "";
+
+        private int shiftMoreSize            = ShifterPreferences.DEFAULT_SIZE_SHIFT_MORE;
+        private int shiftNumericalBlockMode  = ShifterPreferences.SORTING_MODE_NUMERICAL_BLOCK_ENUM;
+        private int shiftingModeOfTimestamps = ShifterPreferences.SHIFTING_MODE_TIMESTAMP_SECONDS;
+
+        private boolean isActivePreserveCase               = true;
+        private boolean isActiveConvertSingleQuotes        = false;
+        private boolean isActiveConvertDoubleQuotes        = true;
+        private boolean isActiveConvertPhpArrayLongToShort = true;
+        private boolean isActiveConvertPhpArrayShortToLong = false;
+
+        private String millisecondsFileEndings = ShifterPreferences.DEFAULT_FILE_ENDINGS_MILLISECONDS;
+        private String secondsFileEndings      = ShifterPreferences.DEFAULT_FILE_ENDINGS_SECONDS;
+
+        /**
+         * @param dictionary    Dictionary contents, empty = default dictionary
+         */
+        public Builder setDictionary(String dictionary) {
+            this.dictionary = dictionary;
+            return this;
+        }
+
+        public Builder setShiftMoreSize(int size) {
+            shiftMoreSize = size;
+            return this;
+        }
+
+        public Builder setShiftNumericalBlockMode(int mode) {
+            shiftNumericalBlockMode = mode;
+            return this;
+        }
+
+        public Builder setShiftingModeOfTimestamps(int mode) {
+            shiftingModeOfTimestamps = mode;
+            return this;
+        }
+
+        public Builder setIsActivePreserveCase(boolean isActive) {
+            isActivePreserveCase = isActive;
+            return this;
+        }
+
+        public Builder setIsActiveConvertQuotes(boolean isActiveConvertSingleQuotes, boolean isActiveConvertDoubleQuotes) {
+            this.isActiveConvertSingleQuotes = isActiveConvertSingleQuotes;
+            this.isActiveConvertDoubleQuotes = isActiveConvertDoubleQuotes;
+            return this;
+        }
+
+        public Builder setIsActiveConvertPhpArray(boolean isActiveLongToShort, boolean isActiveShortToLong) {
+            isActiveConvertPhpArrayLongToShort = isActiveLongToShort;
+            isActiveConvertPhpArrayShortToLong = isActiveShortToLong;
+            return this;
+        }
+
+        /**
+         * @param endings   Comma separated file endings, e.g. "java,js,py"
+         */
+        public Builder setMillisecondsFileEndings(String endings) {
+            millisecondsFileEndings = endings;
+            return this;
+        }
+
+        /**
+         * @param endings   Comma separated file endings, e.g. "mysql,php"
+         */
+        public Builder setSecondsFileEndings(String endings) {
+            secondsFileEndings = endings;
+            return this;
+        }
+
+        public ShifterSettings build() {
+            return new ShifterSettings(this);
+        }
+    }
+
+    private ShifterSettings(Builder builder) {
+        dictionary = builder.dictionary;
+
+        shiftMoreSize            = builder.shiftMoreSize;
+        shiftNumericalBlockMode  = builder.shiftNumericalBlockMode;
+        shiftingModeOfTimestamps = builder.shiftingModeOfTimestamps;
+
+        isActivePreserveCase               = builder.isActivePreserveCase;
+        isActiveConvertSingleQuotes        = builder.isActiveConvertSingleQuotes;
+        isActiveConvertDoubleQuotes        = builder.isActiveConvertDoubleQuotes;
+        isActiveConvertPhpArrayLongToShort = builder.isActiveConvertPhpArrayLongToShort;
+        isActiveConvertPhpArrayShortToLong = builder.isActiveConvertPhpArrayShortToLong;
+
+        millisecondsFileEndings = parseFileEndings(builder.millisecondsFileEndings);
+        secondsFileEndings      = parseFileEndings(builder.secondsFileEndings);
+    }
+
+    /**
+     * @return ShifterSettings  Snapshot of the stored preferences
+     */
+    private static ShifterSettings load() {
+        return new Builder()
+                .setDictionary(ShifterPreferences.getDictionary())
+                .setShiftMoreSize(ShifterPreferences.getShiftMoreSize())
+                .setShiftNumericalBlockMode(ShifterPreferences.getShiftNumericalBlockMode())
+                .setShiftingModeOfTimestamps(ShifterPreferences.getShiftingModeOfTimestamps())
+                .setIsActivePreserveCase(ShifterPreferences.getIsActivePreserveCase())
+                .setIsActiveConvertQuotes(ShifterPreferences.getIsActiveConvertSingleQuotes(), ShifterPreferences.getIsActiveConvertDoubleQuotes())
+                .setIsActiveConvertPhpArray(ShifterPreferences.getIsActiveConvertPhpArrayLongToShort(), ShifterPreferences.getIsActiveConvertPhpArrayShortToLong())
+                .setMillisecondsFileEndings(ShifterPreferences.getMillisecondsFileEndings())
+                .setSecondsFileEndings(ShifterPreferences.getSecondsFileEndings())
+                .build();
+    }
+
+    /**
+     * @return ShifterSettings  Current snapshot, loaded from the preferences on first use
+     */
+    public static ShifterSettings get() {
+        ShifterSettings settings = current;
+        if (null == settings) {
+            settings = load();
+            current  = settings;
+        }
+
+        return settings;
+    }
+
+    /**
+     * @return ShifterSettings  Default preferences, w/o reading any stored ones
+     */
+    public static ShifterSettings getDefault() {
+        ShifterSettings settings = defaultSettings;
+        if (null == settings) {
+            settings        = new Builder().build();
+            defaultSettings = settings;
+        }
+
+        return settings;
+    }
+
+    /**
+     * Replace current snapshot by a newly loaded one, to be called once after preferences have been saved
+     */
+    public static void reload() {
+        ShifterSettings previous = current;
+        ShifterSettings settings = load();
+        if (null != previous && previous.dictionary.equals(settings.dictionary)) {
+            // Dictionary is unchanged: keep its index
+            settings.dictionaryIndex = previous.dictionaryIndex;
+        }
+        current = settings;
+    }
+
+    /**
+     * @return DictionaryIndex  Index of the dictionary (or of the default dictionary if none is set), built on first use
+     */
+    public DictionaryIndex getDictionaryIndex() {
+        DictionaryIndex index = dictionaryIndex;
+        if (null == index) {
+            synchronized (this) {
+                index = dictionaryIndex;
+                if (null == index) {
+                    index = DictionaryIndex.of(dictionary);
+                    dictionaryIndex = index;
+                }
+            }
+        }
+
+        return index;
+    }
+    /**
+     * @param  endings  Comma separated file endings, e.g. "java,js,py"
+     * @return Set      Lower-cased, trimmed file endings
+     */
+    static Set<String> parseFileEndings(String endings) {
+        Set<String> fileEndings = new HashSet<>();
+        for (String ending : endings.split(",")) {
+            ending = ending.trim();
+            if (!ending.isEmpty()) {
+                fileEndings.add(ending.toLowerCase());
+            }
+        }
+
+        return Collections.unmodifiableSet(fileEndings);
+    }
+
+    /**
+     * @param  filename
+     * @return boolean  Are timestamps within files of the given name preferably shifted as seconds?
+     */
+    public boolean isSecondsFile(String filename) {
+        return secondsFileEndings.contains(UtilsFile.extractFileExtension(filename, true));
+    }
+
+    /**
+     * @param  filename
+     * @return boolean  Are timestamps within files of the given name preferably shifted as milliseconds?
+     */
+    public boolean isMillisecondsFile(String filename) {
+        return millisecondsFileEndings.contains(UtilsFile.extractFileExtension(filename, true));
+    }
+}
@@ -44,6 +44,11 @@ class ActionAdapter {
             shiftSelection(moreCount);
             return;
         }
+        if (null == moreCount && BackgroundShift.isComputedInBackground(actionContainer)) {
+            // Large document: compute shifting w/o blocking the editor, apply it when done
+            BackgroundShift.shiftAtCaretInBackground(actionContainer, null);
+            return;
+        }
 
         // Try shift word at caret, fallback: try shifting care lLine
         if (!ShiftableWord.shiftWordAtCaretInDocument(actionContainer, moreCount)) {
@@ -52,6 +57,37 @@ class ActionAdapter {
         }
     }
 
+    /**
+     * Shift "more" times: word at caret of a stepwise shiftable type (numeric value, dictionary term, etc.) is shifted
+     * in memory and replaced at once, other shiftables are shifted step by step
+     *
+     * @param moreSize  Amount of shifting steps
+     */
+    void delegateMore(int moreSize) {
+        if (null == actionContainer.editor) {
+            return;
+        }
+        if (actionContainer.selectionModel.getBlockSelectionStarts().length > 1) {
+            // Shift of block selection: is not iterated, but run w/ higher value
+            delegate(moreSize);
+            return;
+        }
+        if (BackgroundShift.isComputedInBackground(actionContainer)) {
+            // Large document: compute all steps w/o blocking the editor, apply them at once when done
+            BackgroundShift.shiftAtCaretInBackground(actionContainer, moreSize);
+            return;
+        }
+        if (!actionContainer.selectionModel.hasSelection()
+            && ShiftableWord.shiftWordAtCaretByStepsInDocument(actionContainer, moreSize)
+        ) {
+            return;
+        }
+
+        for (int i = 1; i <= moreSize; i++) {
+            delegate(i);
+        }
+    }
+
     private void shiftSelection(@Nullable Integer moreCount) {
         if (actionContainer.selectionModel.getBlockSelectionStarts().length > 1) {
             // Shift block selection: do word-shifting if all items are identical
@@ -0,0 +1,46 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.kstenschke.shifter.models.ShiftMetrics;
+import com.kstenschke.shifter.resources.StaticTexts;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.StringSelection;
+
+/**
+ * Copy Shift Metrics Action: copy latency metrics of shifting per stage and type to the clipboard, as JSON
+ */
+class CopyShiftMetricsAction extends AnAction {
+
+    /**
+     * Copy metrics to clipboard, or inform how to enable them
+     *
+     * @param event ActionSystem event
+     */
+    public void actionPerformed(final AnActionEvent event) {
+        if (!ShiftMetrics.isEnabled()) {
+            JOptionPane.showMessageDialog(null, StaticTexts.MESSAGE_SHIFT_METRICS_DISABLED, StaticTexts.TITLE_SHIFT_METRICS, JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(ShiftMetrics.toJson()), null);
+        JOptionPane.showMessageDialog(null, StaticTexts.MESSAGE_SHIFT_METRICS_COPIED, StaticTexts.TITLE_SHIFT_METRICS, JOptionPane.INFORMATION_MESSAGE);
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.kstenschke.shifter.models.BatchShifter;
+import com.kstenschke.shifter.models.BatchShifter.ShiftedFile;
+import com.kstenschke.shifter.models.BatchShifter.Transformation;
+import com.kstenschke.shifter.resources.StaticTexts;
+import com.kstenschke.shifter.resources.ui.DialogShiftFiles;
+import com.kstenschke.shifter.resources.ui.DialogShiftFilesPreview;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Shift Files Action: apply selected transformations to all files within the selected files and directories,
+ * after previewing the changes. Every file is changed by its own undoable command.
+ */
+class ShiftFilesAction extends AnAction {
+
+    // Larger files are skipped
+    private static final long MAX_FILE_LENGTH = 2 * 1024 * 1024;
+
+    /**
+     * Disable when no files are selected
+     *
+     * @param event Action system event
+     */
+    public void update(AnActionEvent event) {
+        VirtualFile[] files = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        event.getPresentation().setEnabled(null != event.getProject() && null != files && files.length > 0);
+    }
+
+    /**
+     * Select transformations, shift files in background, preview and apply changes
+     *
+     * @param event ActionSystem event
+     */
+    public void actionPerformed(final AnActionEvent event) {
+        final Project project = event.getProject();
+        VirtualFile[] selectedFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (null == project || null == selectedFiles) {
+            return;
+        }
+
+        DialogShiftFiles dialog = new DialogShiftFiles();
+        showDialog(dialog, StaticTexts.TITLE_SHIFT_FILES);
+        final Set<Transformation> transformations = dialog.getTransformations();
+        if (dialog.wasCancelled() || transformations.isEmpty()) {
+            return;
+        }
+
+        ProgressManager.getInstance().run(new Task.Modal(project, StaticTexts.TITLE_SHIFT_FILES, true) {
+            private final Map<String, VirtualFile> filesByPath = new LinkedHashMap<>();
+            private List<ShiftedFile> shiftedFiles = new ArrayList<>();
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                ApplicationManager.getApplication().runReadAction(
+                        () -> collectFiles(project, selectedFiles, transformations, filesByPath, indicator));
+                indicator.checkCanceled();
+
+                indicator.setIndeterminate(false);
+                final List<String> paths = new ArrayList<>(filesByPath.keySet());
+                shiftedFiles = BatchShifter.shiftFiles(
+                        paths,
+                        path -> loadText(filesByPath.get(path)),
+                        transformations,
+                        indicator::isCanceled,
+                        amountShifted -> indicator.setFraction((double) amountShifted / paths.size()));
+
+                // Keep only the changed files
+                Set<String> shiftedPaths = new HashSet<>();
+                for (ShiftedFile shiftedFile : shiftedFiles) {
+                    shiftedPaths.add(shiftedFile.path);
+                }
+                filesByPath.keySet().retainAll(shiftedPaths);
+            }
+
+            @Override
+            public void onSuccess() {
+                if (shiftedFiles.isEmpty()) {
+                    JOptionPane.showMessageDialog(null, StaticTexts.MESSAGE_SHIFT_FILES_NO_CHANGES, StaticTexts.TITLE_SHIFT_FILES, JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+
+                DialogShiftFilesPreview preview = new DialogShiftFilesPreview(shiftedFiles);
+                showDialog(preview, StaticTexts.TITLE_SHIFT_FILES_PREVIEW);
+                if (!preview.wasCancelled()) {
+                    applyShiftedFiles(project, preview.getSelectedShiftedFiles(), filesByPath);
+                }
+            }
+        });
+    }
+
+    private static void showDialog(JDialog dialog, String title) {
+        dialog.setTitle(title);
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Collect project content files only: excluded directories (e.g. build output) and ignored files and
+     * directories (e.g. node_modules, .idea) are skipped
+     *
+     * @param project
+     * @param selectedFiles     Selected files and directories
+     * @param transformations
+     * @param filesByPath       Receives all writable files (recursively) that any of the transformations applies to
+     * @param indicator
+     */
+    private static void collectFiles(
+            Project project,
+            VirtualFile[] selectedFiles,
+            Set<Transformation> transformations,
+            Map<String, VirtualFile> filesByPath,
+            ProgressIndicator indicator
+    ) {
+        ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+        for (VirtualFile selectedFile : selectedFiles) {
+            if (!selectedFile.isValid()) {
+                continue;
+            }
+            fileIndex.iterateContentUnderDirectory(selectedFile, file -> {
+                if (!file.isDirectory()
+                        && file.isWritable()
+                        && !file.getFileType().isBinary()
+                        && file.getLength() <= MAX_FILE_LENGTH
+                        && BatchShifter.isApplicable(file.getName(), transformations)
+                ) {
+                    filesByPath.put(file.getPath(), file);
+                }
+
+                return !indicator.isCanceled();
+            });
+        }
+    }
+
+    /**
+     * Load contents of the given file w/o creating a document for it, to be called from the worker threads
+     *
+     * @param  file
+     * @return String   Contents of the file's document if it is loaded already (it may contain unsaved changes), otherwise
+     *                  of the file w/ line separators converted to "\n" like in documents. Null if the file isn't readable
+     */
+    @Nullable
+    private static String loadText(VirtualFile file) {
+        String documentText = ReadAction.compute(() -> {
+            Document document = file.isValid() ? FileDocumentManager.getInstance().getCachedDocument(file) : null;
+
+            return null == document ? null : document.getText();
+        });
+        if (null != documentText || !file.isValid()) {
+            return documentText;
+        }
+
+        try {
+            return StringUtil.convertLineSeparators(VfsUtilCore.loadText(file));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Replace the contents of every shifted file by an undoable command of its own, documents are created only here.
+     * Files modified since shifting are skipped.
+     */
+    private static void applyShiftedFiles(Project project, List<ShiftedFile> shiftedFiles, Map<String, VirtualFile> filesByPath) {
+        FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
+        for (ShiftedFile shiftedFile : shiftedFiles) {
+            VirtualFile file = filesByPath.get(shiftedFile.path);
+            final Document document = null == file || !file.isValid() ? null : fileDocumentManager.getDocument(file);
+            if (null != document && document.getText().equals(shiftedFile.original)) {
+                WriteCommandAction.runWriteCommandAction(
+                        project,
+                        BatchShifter.ACTION_TEXT,
+                        null,
+                        () -> document.setText(shiftedFile.shifted));
+            }
+        }
+    }
+}
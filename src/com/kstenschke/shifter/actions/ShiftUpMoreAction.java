@@ -16,7 +16,7 @@
 package com.kstenschke.shifter.actions;
 
 import com.intellij.openapi.actionSystem.*;
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
 
 class ShiftUpMoreAction extends AnAction {
 
@@ -36,16 +36,6 @@ class ShiftUpMoreAction extends AnAction {
      */
     public void actionPerformed(final AnActionEvent event) {
         ActionAdapter actionAdapter = new ActionAdapter(event, true, true);
-        int moreSize = ShifterPreferences.getShiftMoreSize();
-
-        if (actionAdapter.actionContainer.selectionModel.getBlockSelectionStarts().length > 1) {
-            // Shift of block selection: is not iterated, but run w/ higher value
-            actionAdapter.delegate(moreSize);
-            return;
-        }
-
-        for (int i = 1; i <= moreSize; i++) {
-            actionAdapter.delegate(i);
-        }
+        actionAdapter.delegateMore(ShifterSettings.get().shiftMoreSize);
     }
 }
@@ -8,51 +8,48 @@ import com.intellij.openapi.command.UndoConfirmationPolicy;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.SelectionModel;
+import com.intellij.openapi.editor.ex.DocumentEx;
 import com.intellij.openapi.project.Project;
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.indexes.DocumentIndexes;
+import com.kstenschke.shifter.models.indexes.PhpVariablesIndex;
+import com.kstenschke.shifter.models.indexes.QuotedStringsIndex;
 import com.kstenschke.shifter.resources.StaticTexts;
 import com.kstenschke.shifter.utils.UtilsEnvironment;
-import com.kstenschke.shifter.utils.UtilsFile;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 /**
- * Container for event and deducible IDE environment attributes (project, editor, etc.)
+ * Container for event and deducible IDE environment attributes (project, editor, etc.):
+ * fills in the shift context from the editor, and applies shifting results to the document
  */
-public class ActionContainer {
-    public final boolean isShiftUp;
-    private final boolean isShiftMore;
+public class ActionContainer extends ShiftContext {
+
+    // Minimum amount of edits / lines to be modified in bulk update mode (which defers editor updates until all edits are done)
+    static final int MIN_EDITS_BULK_UPDATE = 100;
 
     public Project project;
     public final Editor editor;
     public Document document;
 
-    public CharSequence editorText;
-    String documentText;
-
     public SelectionModel selectionModel;
-    public int caretOffset;
-
-    public int offsetSelectionStart;
-    public int offsetSelectionEnd;
-    int lineNumberSelStart;
-    int lineNumberSelEnd;
-
-    public String selectedText;
-    String whiteSpaceLHSinSelection;
-    String whiteSpaceRHSinSelection;
-
-    private int offsetCaretLineStart;
-    String caretLine;
-
-    public String filename;
-    String fileExtension;
 
     public ActionContainer(final AnActionEvent event, boolean isShiftUp, boolean isShiftMore) {
-        this.isShiftUp = isShiftUp;
-        this.isShiftMore = isShiftMore;
+        this(event.getData(PlatformDataKeys.EDITOR), isShiftUp, isShiftMore);
+    }
 
-        editor = event.getData(PlatformDataKeys.EDITOR);
+    /**
+     * @param editor        Edited editor, null if there is none
+     * @param isShiftUp     Shifting up or down?
+     * @param isShiftMore   Shifting by multiple steps?
+     */
+    ActionContainer(@Nullable Editor editor, boolean isShiftUp, boolean isShiftMore) {
+        super(isShiftUp, isShiftMore, ShifterSettings.get());
+
+        this.editor = editor;
         if (null == editor) {
             return;
         }
@@ -60,12 +57,11 @@ public class ActionContainer {
         project      = editor.getProject();
         document     = editor.getDocument();
         editorText   = document.getCharsSequence();
-        documentText = document.getText();
 
         selectionModel       = editor.getSelectionModel();
         offsetSelectionStart = selectionModel.getSelectionStart();
         offsetSelectionEnd   = selectionModel.getSelectionEnd();
-        if (documentText.charAt(offsetSelectionEnd -1) == '\n') {
+        if (offsetSelectionEnd > 0 && editorText.charAt(offsetSelectionEnd - 1) == '\n') {
             // Prevent including line following a selection being included e.g. in line sorting
             offsetSelectionEnd--;
             selectionModel.setSelection(offsetSelectionStart, offsetSelectionEnd);
@@ -80,25 +76,39 @@ public class ActionContainer {
         int offsetCaretLineEnd = document.getLineEndOffset(caretLineNumber);
         caretLine            = editorText.subSequence(offsetCaretLineStart, offsetCaretLineEnd).toString();
 
-        filename      = UtilsEnvironment.getDocumentFilename(document);
-        fileExtension = UtilsFile.extractFileExtension(filename, true);
+        setFilename(UtilsEnvironment.getDocumentFilename(document));
+    }
+
+    @Override
+    long getModificationStamp() {
+        return null == document ? 0 : document.getModificationStamp();
+    }
+
+    /**
+     * @return PhpVariablesIndex    Sorted PHP variables of the document, updated incrementally as it is modified
+     */
+    @Override
+    public PhpVariablesIndex getPhpVariablesIndex() {
+        return null == document ? super.getPhpVariablesIndex() : DocumentIndexes.getPhpVariablesIndex(document);
     }
 
     /**
-     * Trim selection and store whitespace from both sides to properties
+     * @param  quoteChar            "'", "\"" or "`"
+     * @return QuotedStringsIndex   Sorted quoted words of the document, updated incrementally as it is modified
      */
-    void trimSelectedText() {
-        String selectedTextTrimmed = selectedText.trim();
-
-        int index = selectedText.indexOf(selectedTextTrimmed);
-        whiteSpaceLHSinSelection = "";
-        if (0 == index) {
-            whiteSpaceRHSinSelection = selectedText.replace(selectedTextTrimmed, "");
-        } else {
-            whiteSpaceLHSinSelection = selectedText.substring(0, index);
-            whiteSpaceRHSinSelection = selectedText.substring(index + selectedTextTrimmed.length());
+    @Override
+    public QuotedStringsIndex getQuotedStringsIndex(String quoteChar) {
+        return null == document ? super.getQuotedStringsIndex(quoteChar) : DocumentIndexes.getQuotedStringsIndex(document, quoteChar);
+    }
+
+    /**
+     * @param text  Shown in a balloon at the caret
+     */
+    @Override
+    public void showInfo(String text) {
+        if (null != editor) {
+            UtilsEnvironment.showBalloonAtCaret(editor, text);
         }
-        selectedText = selectedTextTrimmed;
     }
 
     @NotNull
@@ -115,6 +125,38 @@ public class ActionContainer {
         };
     }
 
+    /**
+     * Apply given edits to the document, from last to first offset so that offsets remain valid.
+     * Many edits are applied within one bulk update. To be run inside writeUndoable.
+     *
+     * @param edits Non-overlapping edits, offsets referring to the document before any of them is applied
+     */
+    void applyEditsInDocument(List<ShiftEdit> edits) {
+        runInBulkUpdate(edits.size() >= MIN_EDITS_BULK_UPDATE, () -> {
+            for (ShiftEdit edit : ShiftEdit.sortDescending(edits)) {
+                document.replaceString(edit.offsetStart, edit.offsetEnd, edit.replacement);
+            }
+        });
+    }
+
+    /**
+     * @param isBulkUpdate  Run in bulk update mode (which defers editor updates until the modification is done)?
+     * @param modification  Modification of the document
+     */
+    void runInBulkUpdate(boolean isBulkUpdate, Runnable modification) {
+        isBulkUpdate = isBulkUpdate && document instanceof DocumentEx;
+        if (isBulkUpdate) {
+            ((DocumentEx) document).setInBulkUpdate(true);
+        }
+        try {
+            modification.run();
+        } finally {
+            if (isBulkUpdate) {
+                ((DocumentEx) document).setInBulkUpdate(false);
+            }
+        }
+    }
+
     @NotNull
     Runnable getRunnableReplaceCaretLine(final CharSequence shiftedLine) {
         return () -> document.replaceString(
@@ -131,11 +173,13 @@ public class ActionContainer {
         if (null == actionText) {
             actionText = getDefaultActionText();
         }
+        long startTime = ShiftMetrics.start();
         CommandProcessor.getInstance().executeCommand(
                 project,
                 () -> ApplicationManager.getApplication().runWriteAction(runnable),
                 actionText,
                 UndoConfirmationPolicy.DO_NOT_REQUEST_CONFIRMATION);
+        ShiftMetrics.record(ShiftMetrics.Stage.WRITE, null, startTime);
     }
 
     private String getDefaultActionText() {
@@ -0,0 +1,310 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.indexes.DocumentIndexes;
+import com.kstenschke.shifter.models.indexes.PhpVariablesIndex;
+import com.kstenschke.shifter.models.indexes.QuotedStringsIndex;
+import com.kstenschke.shifter.models.shiftable_types.QuotedString;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shifting of the word or line at the caret within large documents: computed in a non-blocking background read action
+ * on a snapshot of the document, so the editor stays responsive. The computation is discarded if the document changes
+ * meanwhile or the editor is disposed, its result is applied in a short write action. Shifts requested while a shift is
+ * computed for the same document are queued and computed one after another, each on the result of the previous one.
+ * "More" shifts are computed in background as well, all their steps are applied at once.
+ * Shifting within smaller documents remains synchronous.
+ */
+public class BackgroundShift {
+
+    // Minimum length of documents to compute shifting of in background
+    static final int MIN_TEXT_LENGTH = 200000;
+
+    // Shifts queued per document, accessed on the UI thread only
+    private static final Map<Document, PendingShifts> PENDING_SHIFTS = new WeakHashMap<>();
+
+    /**
+     * Requested shift: direction and amount of steps
+     */
+    static class ShiftRequest {
+        final boolean isShiftUp;
+
+        // Amount of "more" steps, null = single shift
+        @Nullable
+        final Integer moreSize;
+
+        ShiftRequest(boolean isShiftUp, @Nullable Integer moreSize) {
+            this.isShiftUp = isShiftUp;
+            this.moreSize  = moreSize;
+        }
+    }
+
+    /**
+     * Shift requests of one document: a shift is computed at a time, requests made meanwhile wait in order
+     */
+    static class PendingShifts {
+        private boolean isComputing = false;
+        private final Deque<ShiftRequest> requestsQueue = new ArrayDeque<>();
+
+        /**
+         * @param  shiftRequest
+         * @return boolean      Can the shift be computed right away? Otherwise it is queued
+         */
+        boolean request(ShiftRequest shiftRequest) {
+            if (isComputing) {
+                requestsQueue.add(shiftRequest);
+                return false;
+            }
+            isComputing = true;
+
+            return true;
+        }
+
+        /**
+         * @return ShiftRequest Next queued shift, to be computed now. Null if none is queued
+         */
+        @Nullable
+        ShiftRequest next() {
+            ShiftRequest shiftRequest = requestsQueue.poll();
+            isComputing = null != shiftRequest;
+
+            return shiftRequest;
+        }
+
+        void clear() {
+            requestsQueue.clear();
+            isComputing = false;
+        }
+    }
+
+    /**
+     * Shifted word or line at the caret
+     */
+    static class CaretEdit {
+        final ShiftEdit edit;
+        final boolean isWord;
+
+        CaretEdit(ShiftEdit edit, boolean isWord) {
+            this.edit   = edit;
+            this.isWord = isWord;
+        }
+    }
+
+    /**
+     * Snapshot of a document w/ the document's token indexes: they are obtained (and brought in sync) on the UI thread,
+     * while the computation isn't expired they remain in sync w/ the snapshot
+     */
+    static class DocumentSnapshot extends ShiftContext {
+        @Nullable
+        private final PhpVariablesIndex documentPhpVariables;
+
+        // Quote character of the word at the caret and its quoted strings index, null if the word isn't quoted
+        @Nullable
+        private final String quoteChar;
+        @Nullable
+        private final QuotedStringsIndex documentQuotedStrings;
+
+        DocumentSnapshot(
+                CharSequence text,
+                int caretOffset,
+                String filename,
+                boolean isShiftUp,
+                boolean isShiftMore,
+                ShifterSettings settings,
+                @Nullable PhpVariablesIndex documentPhpVariables,
+                @Nullable String quoteChar,
+                @Nullable QuotedStringsIndex documentQuotedStrings
+        ) {
+            super(text, caretOffset, caretOffset, caretOffset, filename, isShiftUp, isShiftMore, settings);
+
+            this.documentPhpVariables  = documentPhpVariables;
+            this.quoteChar             = quoteChar;
+            this.documentQuotedStrings = documentQuotedStrings;
+        }
+
+        @Override
+        public PhpVariablesIndex getPhpVariablesIndex() {
+            return null == documentPhpVariables ? super.getPhpVariablesIndex() : documentPhpVariables;
+        }
+
+        @Override
+        public QuotedStringsIndex getQuotedStringsIndex(String quoteChar) {
+            return null == documentQuotedStrings || !quoteChar.equals(this.quoteChar)
+                    ? super.getQuotedStringsIndex(quoteChar)
+                    : documentQuotedStrings;
+        }
+    }
+
+    /**
+     * @param  actionContainer
+     * @return boolean          Is shifting at the caret computed in background? Selections are always shifted synchronously
+     */
+    public static boolean isComputedInBackground(ActionContainer actionContainer) {
+        return null != actionContainer.document
+                && actionContainer.selectedText.isEmpty()
+                && actionContainer.editorText.length() >= MIN_TEXT_LENGTH;
+    }
+
+    /**
+     * Shift word at caret, fallback: shift caret line. Computed in background, applied on the UI thread
+     *
+     * @param actionContainer
+     * @param moreSize          Amount of "more" steps, null = single shift
+     */
+    public static void shiftAtCaretInBackground(final ActionContainer actionContainer, @Nullable Integer moreSize) {
+        PendingShifts pendingShifts = PENDING_SHIFTS.computeIfAbsent(actionContainer.document, document -> new PendingShifts());
+        if (pendingShifts.request(new ShiftRequest(actionContainer.isShiftUp, moreSize))) {
+            shiftAtCaret(actionContainer, moreSize, pendingShifts);
+        }
+    }
+
+    private static void shiftAtCaret(final ActionContainer actionContainer, @Nullable final Integer moreSize, final PendingShifts pendingShifts) {
+        if (ShiftableWord.shiftJsDocWordAtCaretInDocument(actionContainer)) {
+            // Evaluates only the caret line
+            shiftNext(actionContainer.editor, pendingShifts);
+            return;
+        }
+
+        final Editor editor          = actionContainer.editor;
+        final Document document      = actionContainer.document;
+        final long modificationStamp = document.getModificationStamp();
+        final CharSequence text      = document.getImmutableCharSequence();
+        final int caretOffset        = actionContainer.caretOffset;
+        final String filename        = actionContainer.filename;
+        final boolean isShiftUp      = actionContainer.isShiftUp;
+        final ShifterSettings settings = actionContainer.settings;
+
+        // Indexes of the document are updated on the UI thread as it is modified: obtain them here, read them in background
+        final PhpVariablesIndex phpVariables = actionContainer.caretLine.contains("$")
+                ? DocumentIndexes.getPhpVariablesIndex(document)
+                : null;
+        CaretContext.Token token = actionContainer.getCaretContext().getOperatorOrWord();
+        final String quoteChar = null != token && new QuotedString().isQuotedString(token.prefixChar, token.postfixChar)
+                ? token.prefixChar
+                : null;
+        final QuotedStringsIndex quotedStrings = null == quoteChar ? null : DocumentIndexes.getQuotedStringsIndex(document, quoteChar);
+
+        ReadAction.nonBlocking(() -> {
+                    DocumentSnapshot snapshot = new DocumentSnapshot(
+                            text, caretOffset, filename, isShiftUp, null != moreSize, settings, phpVariables, quoteChar, quotedStrings);
+
+                    return null == moreSize ? getCaretEdit(snapshot, null) : getCaretEditMore(snapshot, moreSize);
+                })
+                .expireWhen(() -> editor.isDisposed() || modificationStamp != document.getModificationStamp())
+                .finishOnUiThread(ModalityState.defaultModalityState(), caretEdit -> applyCaretEdit(actionContainer, caretEdit))
+                .submit(AppExecutorUtil.getAppExecutorService())
+                // Also when expired: continue w/ the shifts requested meanwhile
+                .onProcessed(caretEdit -> ApplicationManager.getApplication().invokeLater(() -> shiftNext(editor, pendingShifts)));
+    }
+
+    /**
+     * Compute the next queued shift, on the document as modified by the previous one
+     *
+     * @param editor
+     * @param pendingShifts
+     */
+    private static void shiftNext(Editor editor, PendingShifts pendingShifts) {
+        if (editor.isDisposed()) {
+            pendingShifts.clear();
+            return;
+        }
+        ShiftRequest shiftRequest = pendingShifts.next();
+        if (null != shiftRequest) {
+            shiftAtCaret(new ActionContainer(editor, shiftRequest.isShiftUp, null != shiftRequest.moreSize), shiftRequest.moreSize, pendingShifts);
+        }
+    }
+
+    /**
+     * @param  shiftContext Snapshot of the document, w/o editor: shifting shows no balloons
+     * @param  moreCount    Current "more" count, starting w/ 1. If non-more shift: null
+     * @return CaretEdit    Shifted word at caret, or caret line if the word isn't shiftable. Null if neither is shiftable
+     */
+    @Nullable
+    static CaretEdit getCaretEdit(ShiftContext shiftContext, @Nullable Integer moreCount) {
+        ShiftEdit edit = ShiftableWord.getShiftedWordAtCaret(shiftContext, moreCount);
+        if (null != edit) {
+            return new CaretEdit(edit, true);
+        }
+        edit = ShiftableLine.getShiftedCaretLine(shiftContext, moreCount);
+
+        return null == edit ? null : new CaretEdit(edit, false);
+    }
+
+    /**
+     * Word at caret of a stepwise shiftable type (numeric value, dictionary term, etc.) is shifted by all steps at once,
+     * other shiftables are shifted step by step, each step on the result of the previous one (as done synchronously)
+     *
+     * @param  shiftContext Snapshot of the document, w/o editor: shifting shows no balloons
+     * @param  moreSize     Amount of shifting steps
+     * @return CaretEdit    Replacement of all shifted steps. Null if nothing is shifted
+     */
+    @Nullable
+    static CaretEdit getCaretEditMore(ShiftContext shiftContext, int moreSize) {
+        ShiftEdit edit = ShiftableWord.getShiftedWordByStepsAtCaret(shiftContext, moreSize);
+        if (null != edit) {
+            return edit.isModifying(shiftContext.editorText) ? new CaretEdit(edit, true) : null;
+        }
+
+        CharSequence text = shiftContext.editorText;
+        ShiftContext stepContext = shiftContext;
+        for (int moreCount = 1; moreCount <= moreSize; moreCount++) {
+            ProgressManager.checkCanceled();
+            if (moreCount > 1) {
+                // Modified text is indexed on demand
+                int caretOffset = Math.min(shiftContext.caretOffset, text.length());
+                stepContext = new ShiftContext(text, caretOffset, caretOffset, caretOffset, shiftContext.filename, shiftContext.isShiftUp, true, shiftContext.settings);
+            }
+            CaretEdit caretEdit = getCaretEdit(stepContext, moreCount);
+            if (null != caretEdit) {
+                text = ShiftEdit.apply(text, Collections.singletonList(caretEdit.edit));
+            }
+        }
+        edit = ShiftEdit.getDifference(shiftContext.editorText, text);
+
+        return null == edit ? null : new CaretEdit(edit, false);
+    }
+
+    private static void applyCaretEdit(ActionContainer actionContainer, @Nullable CaretEdit caretEdit) {
+        if (null == caretEdit || actionContainer.editor.isDisposed()) {
+            return;
+        }
+        if (caretEdit.isWord) {
+            ShiftableWord.replaceWordInDocument(actionContainer, caretEdit.edit);
+            return;
+        }
+
+        ShiftEdit edit = caretEdit.edit;
+        actionContainer.writeUndoable(
+                () -> actionContainer.document.replaceString(edit.offsetStart, edit.offsetEnd, edit.replacement),
+                // "More" shifts are labeled by their action
+                actionContainer.isShiftMore ? null : ShiftableLine.ACTION_TEXT);
+    }
+}
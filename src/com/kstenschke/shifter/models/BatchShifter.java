@@ -0,0 +1,362 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.kstenschke.shifter.models.shiftable_types.Comment;
+import com.kstenschke.shifter.models.shiftable_types.Css;
+import com.kstenschke.shifter.models.shiftable_types.PhpDocComment;
+import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Batch shifting w/o editors and documents: applies deterministic transformations to the contents of many files on a
+ * bounded worker pool. Contents are loaded per file by the workers and only files whose contents change are kept,
+ * so they can be previewed before being written.
+ */
+public class BatchShifter {
+
+    public static final String ACTION_TEXT = "Shift Files";
+
+    public enum Transformation {
+        SORT_CSS("Sort CSS declarations per rule") {
+            @Override
+            boolean isApplicable(String filename) {
+                return UtilsFile.isCssFile(filename);
+            }
+
+            @Override
+            String apply(String text, String filename) {
+                // W/o braces Css would sort the lines of the whole file
+                return text.contains("{") && text.contains("}") ? Css.getShifted(text) : text;
+            }
+        },
+        SORT_XML_ATTRIBUTES("Sort XML attributes") {
+            @Override
+            boolean isApplicable(String filename) {
+                return UtilsFile.isMarkupFile(filename);
+            }
+
+            @Override
+            String apply(String text, String filename) {
+                return XmlAttributesSorter.getSorted(text, filename);
+            }
+        },
+        PHP_DOC_PARAM_TYPES("Insert data types into PHPDoc @param lines") {
+            @Override
+            boolean isApplicable(String filename) {
+                return UtilsFile.isPhpFile(filename);
+            }
+
+            @Override
+            String apply(String text, String filename) {
+                return getShiftedPhpDocComments(text);
+            }
+        },
+        LINE_COMMENTS("Convert single-line block comments into line comments") {
+            @Override
+            boolean isApplicable(String filename) {
+                return UtilsFile.isLineCommentsFile(filename);
+            }
+
+            @Override
+            String apply(String text, String filename) {
+                return getShiftedBlockCommentLines(text, filename);
+            }
+        };
+
+        private final String label;
+
+        Transformation(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        abstract boolean isApplicable(String filename);
+
+        abstract String apply(String text, String filename);
+    }
+
+    /**
+     * File w/ its original and shifted contents
+     */
+    public static class ShiftedFile {
+
+        public final String path;
+        public final String original;
+        public final String shifted;
+
+        ShiftedFile(String path, String original, String shifted) {
+            this.path     = path;
+            this.original = original;
+            this.shifted  = shifted;
+        }
+
+        /**
+         * @return String   Range of lines from first to last change: original lines prefixed w/ "-", shifted lines w/ "+"
+         */
+        public String getDiff() {
+            String[] linesOriginal = original.split("\n", -1);
+            String[] linesShifted  = shifted.split("\n", -1);
+
+            int amountLeading = 0;
+            int maxLeading    = Math.min(linesOriginal.length, linesShifted.length);
+            while (amountLeading < maxLeading && linesOriginal[amountLeading].equals(linesShifted[amountLeading])) {
+                amountLeading++;
+            }
+            int amountTrailing = 0;
+            int maxTrailing    = maxLeading - amountLeading;
+            while (amountTrailing < maxTrailing
+                    && linesOriginal[linesOriginal.length - 1 - amountTrailing].equals(linesShifted[linesShifted.length - 1 - amountTrailing])) {
+                amountTrailing++;
+            }
+
+            StringBuilder diff = new StringBuilder("@@ line ").append(amountLeading + 1).append(" @@\n");
+            for (int i = amountLeading; i < linesOriginal.length - amountTrailing; i++) {
+                diff.append('-').append(linesOriginal[i]).append('\n');
+            }
+            for (int i = amountLeading; i < linesShifted.length - amountTrailing; i++) {
+                diff.append('+').append(linesShifted[i]).append('\n');
+            }
+
+            return diff.toString();
+        }
+
+        @Override
+        public String toString() {
+            return path;
+        }
+    }
+
+    /**
+     * @param  text
+     * @param  filename         Name or path of the file, its extension selects the applicable transformations
+     * @param  transformations
+     * @return String           Given text w/ all transformations applicable to the file applied
+     */
+    public static String getShifted(String text, String filename, Set<Transformation> transformations) {
+        for (Transformation transformation : Transformation.values()) {
+            if (transformations.contains(transformation) && transformation.isApplicable(filename)) {
+                text = transformation.apply(text, filename);
+            }
+        }
+
+        return text;
+    }
+
+    /**
+     * @param  filename
+     * @param  transformations
+     * @return boolean          Is any of the given transformations applicable to the file?
+     */
+    public static boolean isApplicable(String filename, Set<Transformation> transformations) {
+        for (Transformation transformation : transformations) {
+            if (transformation.isApplicable(filename)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Shift the given files on a pool of at most (available processors - 1) workers of the application's thread pool.
+     * A file that can't be loaded, or whose shifting fails (e.g. malformed contents), is left unchanged.
+     *
+     * @param  paths                Paths of the files to be shifted
+     * @param  loadText             Loads the contents of the file of the given path, from the worker threads. Returns null if unavailable
+     * @param  transformations
+     * @param  isCanceled           Polled before every file, remaining files are skipped once canceled
+     * @param  onFileShifted        Receives the amount of files shifted so far, from the worker threads. May be null
+     * @return List<ShiftedFile>    Files whose contents changed, in order of the given files. Empty if canceled
+     */
+    @NotNull
+    public static List<ShiftedFile> shiftFiles(
+            List<String> paths,
+            Function<String, String> loadText,
+            Set<Transformation> transformations,
+            BooleanSupplier isCanceled,
+            @Nullable IntConsumer onFileShifted
+    ) {
+        ShiftedFile[] shiftedFiles = new ShiftedFile[paths.size()];
+        AtomicInteger amountShifted = new AtomicInteger();
+
+        int amountThreads = Math.max(1, Math.min(paths.size(), Runtime.getRuntime().availableProcessors() - 1));
+        ExecutorService executor = AppExecutorUtil.createBoundedApplicationPoolExecutor(ACTION_TEXT, amountThreads);
+        List<Future<?>> futures = new ArrayList<>(paths.size());
+        for (int i = 0; i < paths.size(); i++) {
+            final int index = i;
+            futures.add(executor.submit(() -> {
+                if (isCanceled.getAsBoolean()) {
+                    return;
+                }
+                shiftedFiles[index] = getShiftedFile(paths.get(index), loadText, transformations);
+
+                int amount = amountShifted.incrementAndGet();
+                if (null != onFileShifted) {
+                    onFileShifted.accept(amount);
+                }
+            }));
+        }
+
+        List<ShiftedFile> result = new ArrayList<>();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                futures.forEach(pending -> pending.cancel(false));
+                Thread.currentThread().interrupt();
+
+                return result;
+            } catch (ExecutionException e) {
+                // Leave file unchanged
+            }
+        }
+        if (isCanceled.getAsBoolean()) {
+            return result;
+        }
+
+        for (ShiftedFile shiftedFile : shiftedFiles) {
+            if (null != shiftedFile) {
+                result.add(shiftedFile);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @param  path
+     * @param  loadText
+     * @param  transformations
+     * @return ShiftedFile      Null if the file can't be loaded, its shifting failed or didn't change it
+     */
+    @Nullable
+    private static ShiftedFile getShiftedFile(String path, Function<String, String> loadText, Set<Transformation> transformations) {
+        try {
+            String original = loadText.apply(path);
+            if (null == original) {
+                return null;
+            }
+            String shifted = getShifted(original, path, transformations);
+
+            return shifted.equals(original) ? null : new ShiftedFile(path, original, shifted);
+        } catch (RuntimeException e) {
+            // Leave file unchanged
+            return null;
+        }
+    }
+
+    /**
+     * @param  text
+     * @return String   Given text w/ data types inserted into all PHPDoc @param lines that have a variable name but no data type
+     */
+    private static String getShiftedPhpDocComments(String text) {
+        StringBuilder shifted = new StringBuilder(text.length());
+        int offset = 0;
+        int offsetCommentStart;
+        while (-1 != (offsetCommentStart = text.indexOf("/**", offset))) {
+            int offsetCommentEnd = text.indexOf("*/", offsetCommentStart + 3);
+            if (-1 == offsetCommentEnd) {
+                break;
+            }
+            offsetCommentEnd += 2;
+
+            String comment = text.substring(offsetCommentStart, offsetCommentEnd);
+            if (PhpDocComment.isPhpDocComment(comment) && PhpDocComment.containsAtParam(comment)) {
+                comment = PhpDocComment.getShifted(comment);
+            }
+            shifted.append(text, offset, offsetCommentStart).append(comment);
+            offset = offsetCommentEnd;
+        }
+
+        return shifted.append(text, offset, text.length()).toString();
+    }
+
+    /**
+     * @param  text
+     * @param  filename
+     * @return String   Given text w/ all lines that consist of one single-line block comment converted into line comments
+     */
+    private static String getShiftedBlockCommentLines(String text, String filename) {
+        StringBuilder shifted = new StringBuilder(text.length());
+        int offset = 0;
+        for (int[] blockComment : BlockCommentScanner.getSingleLineBlockComments(text, filename)) {
+            int offsetCommentStart = blockComment[0];
+            int offsetCommentEnd   = blockComment[1];
+            String comment = text.substring(offsetCommentStart, offsetCommentEnd);
+            if (isSingleLineBlockComment(comment)
+                    && isWhitespaceUntilLineStart(text, offsetCommentStart)
+                    && isWhitespaceUntilLineEnd(text, offsetCommentEnd)
+            ) {
+                shifted.append(text, offset, offsetCommentStart)
+                       .append(UtilsTextual.rtrim(Comment.getShifted(comment, filename)));
+                offset = offsetCommentEnd;
+            }
+        }
+
+        return shifted.append(text, offset, text.length()).toString();
+    }
+
+    private static boolean isWhitespaceUntilLineStart(String text, int offset) {
+        while (offset > 0 && '\n' != text.charAt(offset - 1)) {
+            if (!Character.isWhitespace(text.charAt(--offset))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isWhitespaceUntilLineEnd(String text, int offset) {
+        for (int length = text.length(); offset < length && '\n' != text.charAt(offset); offset++) {
+            if (!Character.isWhitespace(text.charAt(offset))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param  str
+     * @return boolean  Is given string one block comment (not a DOC comment), e.g. "/* foo *" + "/"
+     */
+    private static boolean isSingleLineBlockComment(String str) {
+        int length = str.length();
+
+        return length >= 4
+                && str.startsWith("/*") && !str.startsWith("/**")
+                && str.indexOf("*/") == length - 2
+                && str.lastIndexOf("/*") == 0;
+    }
+}
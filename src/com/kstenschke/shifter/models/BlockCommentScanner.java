@@ -0,0 +1,295 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.utils.UtilsFile;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexes C-style source code just far enough to tell block comments from string-, character-, template- and regex-literals,
+ * so that comment delimiters inside literals are not taken for comments.
+ */
+class BlockCommentScanner {
+
+    private final String text;
+    private final int length;
+
+    // Language features, detected from the file extension
+    private final boolean hasTemplateLiterals;
+    private final boolean hasRegExLiterals;
+    private final boolean hasMultiLineBackTickStrings;
+    private final boolean hasTripleQuotedStrings;
+    private final boolean hasEscapesInTripleQuotedStrings;
+    private final boolean hasVerbatimStrings;
+    private final boolean hasRawStrings;
+
+    private final List<int[]> blockComments = new ArrayList<>();
+
+    // Last non-whitespace character outside of comments, to tell regex-literals from divisions
+    private char previousCodeChar = 0;
+
+    private BlockCommentScanner(String text, String fileExtension) {
+        this.text = text;
+        length    = text.length();
+
+        boolean isJavaScript = "js".equals(fileExtension) || "ts".equals(fileExtension);
+        hasTemplateLiterals             = isJavaScript;
+        hasRegExLiterals                = isJavaScript;
+        hasMultiLineBackTickStrings     = "go".equals(fileExtension);
+        hasEscapesInTripleQuotedStrings = "java".equals(fileExtension);
+        hasTripleQuotedStrings          = hasEscapesInTripleQuotedStrings
+                || "cs".equals(fileExtension)
+                || "kt".equals(fileExtension)
+                || "scala".equals(fileExtension)
+                || "swift".equals(fileExtension);
+        hasVerbatimStrings = "cs".equals(fileExtension);
+        hasRawStrings      = "cc".equals(fileExtension) || "cpp".equals(fileExtension);
+    }
+
+    /**
+     * @param  text
+     * @param  filename
+     * @return List     Start- and end-offsets of all block comments that do not span multiple lines
+     */
+    static List<int[]> getSingleLineBlockComments(String text, String filename) {
+        BlockCommentScanner scanner = new BlockCommentScanner(text, UtilsFile.extractFileExtension(filename, true));
+        scanner.scanCode(0, false);
+
+        return scanner.blockComments;
+    }
+
+    /**
+     * @param  offset
+     * @param  isTemplateExpression Stop at the "}" that closes a "${" of a template literal?
+     * @return int      Offset after the scanned code
+     */
+    private int scanCode(int offset, boolean isTemplateExpression) {
+        int depthBraces = 0;
+        while (offset < length) {
+            char c = text.charAt(offset);
+            char next = offset + 1 < length ? text.charAt(offset + 1) : 0;
+
+            if ('/' == c && '*' == next) {
+                int offsetEnd = text.indexOf("*/", offset + 2);
+                if (-1 == offsetEnd) {
+                    return length;
+                }
+                offsetEnd += 2;
+                if (text.lastIndexOf('\n', offsetEnd - 1) < offset) {
+                    blockComments.add(new int[]{offset, offsetEnd});
+                }
+                offset = offsetEnd;
+                continue;
+            }
+            if ('/' == c && '/' == next) {
+                offset = getEndOfLine(offset);
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                offset++;
+                continue;
+            }
+
+            if (hasRegExLiterals && '/' == c && isRegExContext()) {
+                offset = skipRegEx(offset);
+            } else if ('"' == c) {
+                offset = hasTripleQuotedStrings && text.startsWith("\"\"\"", offset)
+                        ? skipTripleQuoted(offset)
+                        : skipQuoted(offset, '"', true, false);
+            } else if ('\'' == c) {
+                offset = skipQuoted(offset, '\'', true, false);
+            } else if ('`' == c) {
+                offset = hasTemplateLiterals
+                        ? skipTemplateLiteral(offset)
+                        : skipQuoted(offset, '`', false, hasMultiLineBackTickStrings);
+            } else if (hasVerbatimStrings && '@' == c && ('"' == next || '$' == next && text.startsWith("\"", offset + 2))) {
+                offset = skipVerbatim(text.indexOf('"', offset));
+            } else if (hasRawStrings && 'R' == c && '"' == next && isRawStringStart(offset)) {
+                offset = skipRaw(offset);
+            } else {
+                if ('{' == c) {
+                    depthBraces++;
+                } else if ('}' == c) {
+                    if (isTemplateExpression && 0 == depthBraces) {
+                        return offset + 1;
+                    }
+                    depthBraces--;
+                }
+                offset++;
+            }
+            previousCodeChar = c;
+        }
+
+        return length;
+    }
+
+    /**
+     * @return boolean  Does a "/" at the current position start a regex-literal (and not a division)?
+     */
+    private boolean isRegExContext() {
+        return 0 == previousCodeChar || "(,=:[!&|?{};+-*%<>~^".indexOf(previousCodeChar) > -1;
+    }
+
+    private int getEndOfLine(int offset) {
+        int offsetEnd = text.indexOf('\n', offset);
+
+        return -1 == offsetEnd ? length : offsetEnd;
+    }
+
+    /**
+     * @param  offset       Offset of the opening quote
+     * @param  quote
+     * @param  hasEscapes   Does a backslash escape the succeeding character?
+     * @param  isMultiLine  Can the literal span multiple lines? If not, an unterminated literal ends at the end of the line
+     * @return int          Offset after the closing quote
+     */
+    private int skipQuoted(int offset, char quote, boolean hasEscapes, boolean isMultiLine) {
+        offset++;
+        while (offset < length) {
+            char c = text.charAt(offset);
+            if (quote == c) {
+                return offset + 1;
+            }
+            if ('\n' == c && !isMultiLine) {
+                return offset;
+            }
+            offset += hasEscapes && '\\' == c ? 2 : 1;
+        }
+
+        return length;
+    }
+
+    private int skipTripleQuoted(int offset) {
+        offset += 3;
+        while (offset < length) {
+            if (hasEscapesInTripleQuotedStrings && '\\' == text.charAt(offset)) {
+                offset += 2;
+                continue;
+            }
+            if (text.startsWith("\"\"\"", offset)) {
+                return offset + 3;
+            }
+            offset++;
+        }
+
+        return length;
+    }
+
+    /**
+     * @param  offset   Offset of the opening quote of a C# verbatim string, e.g. @"C:\path", where "" is an escaped quote
+     * @return int
+     */
+    private int skipVerbatim(int offset) {
+        offset++;
+        while (offset < length) {
+            if ('"' == text.charAt(offset)) {
+                if (!text.startsWith("\"\"", offset)) {
+                    return offset + 1;
+                }
+                offset++;
+            }
+            offset++;
+        }
+
+        return length;
+    }
+
+    /**
+     * @param  offset   Offset of an "R" followed by a double quote
+     * @return boolean  Is it the start of a C++ raw string, e.g. R"delimiter(...)delimiter", w/ a delimiter of max. 16 characters?
+     */
+    private boolean isRawStringStart(int offset) {
+        for (int offsetDelimiter = offset + 2; offsetDelimiter < length && offsetDelimiter <= offset + 18; offsetDelimiter++) {
+            char c = text.charAt(offsetDelimiter);
+            if ('(' == c) {
+                return true;
+            }
+            if (Character.isWhitespace(c) || '"' == c || ')' == c || '\\' == c) {
+                return false;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param  offset   Offset of the "R" of a C++ raw string
+     * @return int
+     */
+    private int skipRaw(int offset) {
+        int offsetParenthesis = text.indexOf('(', offset);
+        String terminator = ")" + text.substring(offset + 2, offsetParenthesis) + "\"";
+        int offsetEnd = text.indexOf(terminator, offsetParenthesis);
+
+        return -1 == offsetEnd ? length : offsetEnd + terminator.length();
+    }
+
+    /**
+     * @param  offset   Offset of the "/" that opens the regex-literal
+     * @return int
+     */
+    private int skipRegEx(int offset) {
+        boolean isInCharacterClass = false;
+        int offsetCurrent = offset + 1;
+        while (offsetCurrent < length) {
+            char c = text.charAt(offsetCurrent);
+            if ('\n' == c) {
+                // No regex-literal after all
+                return offset + 1;
+            }
+            if ('\\' == c) {
+                offsetCurrent += 2;
+                continue;
+            }
+            if ('[' == c) {
+                isInCharacterClass = true;
+            } else if (']' == c) {
+                isInCharacterClass = false;
+            } else if ('/' == c && !isInCharacterClass) {
+                return offsetCurrent + 1;
+            }
+            offsetCurrent++;
+        }
+
+        return length;
+    }
+
+    /**
+     * @param  offset   Offset of the opening back-tick of a template literal, which can contain "${expression}"s
+     * @return int
+     */
+    private int skipTemplateLiteral(int offset) {
+        offset++;
+        while (offset < length) {
+            char c = text.charAt(offset);
+            if ('`' == c) {
+                return offset + 1;
+            }
+            if ('\\' == c) {
+                offset += 2;
+            } else if ('$' == c && offset + 1 < length && '{' == text.charAt(offset + 1)) {
+                previousCodeChar = '{';
+                offset = scanCode(offset + 2, true);
+            } else {
+                offset++;
+            }
+        }
+
+        return length;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.models.shiftable_types.DocCommentTag;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Boundaries of the caret line and of the operator and word at the caret, w/ the characters around them.
+ * Evaluated once from the editor text w/o copying it, instead of scanning the text again for every part.
+ */
+class CaretContext {
+
+    /**
+     * Operator or word at the caret
+     */
+    static class Token {
+        final String text;
+        final int offsetStart;
+
+        // Characters before and after the token, empty at the start / end of the text
+        final String prefixChar;
+        final String postfixChar;
+
+        Token(CharSequence editorText, String text, int offsetStart) {
+            this.text        = text;
+            this.offsetStart = offsetStart;
+
+            prefixChar  = UtilsTextual.getCharBeforeOffset(editorText, offsetStart);
+            postfixChar = UtilsTextual.getCharAfterOffset(editorText, offsetStart + text.length() - 1);
+        }
+    }
+
+    final int offsetLineStart;
+    final int offsetLineEnd;
+
+    // Whitespace-wrapped operator sign at the caret, null if there is none
+    @Nullable final Token operator;
+
+    // Word at the caret, null if there is none
+    @Nullable final Token word;
+
+    /**
+     * @param editorText    Text containing the caret
+     * @param caretOffset
+     * @param allowHyphens  Treat "-" as word character?
+     */
+    CaretContext(CharSequence editorText, int caretOffset, boolean allowHyphens) {
+        int length = editorText.length();
+        int lineStart = Math.max(0, Math.min(caretOffset, length));
+        while (lineStart > 0 && editorText.charAt(lineStart - 1) != '\n') {
+            lineStart--;
+        }
+        int lineEnd = Math.max(lineStart, Math.min(caretOffset, length));
+        while (lineEnd < length && editorText.charAt(lineEnd) != '\n') {
+            lineEnd++;
+        }
+        offsetLineStart = lineStart;
+        offsetLineEnd   = lineEnd;
+
+        operator = getOperator(editorText, caretOffset);
+
+        String wordText = UtilsTextual.getWordAtOffset(editorText, caretOffset, allowHyphens);
+        word = null == wordText || wordText.isEmpty()
+                ? null
+                : new Token(editorText, wordText, UtilsTextual.getStartOfWordAtOffset(editorText, caretOffset));
+    }
+
+    @Nullable
+    private Token getOperator(CharSequence editorText, int caretOffset) {
+        Integer offsetOperator = UtilsTextual.getStartOfOperatorAtOffset(editorText, caretOffset);
+        if (null == offsetOperator
+            // Prevent mistaking the beginning of a DOC comment line (e.g. " * @param ") for an asterisk operator
+            || DocCommentTag.isDocCommentLine(editorText.subSequence(offsetLineStart, offsetLineEnd))
+        ) {
+            return null;
+        }
+
+        return new Token(editorText, String.valueOf(editorText.charAt(offsetOperator)), offsetOperator);
+    }
+
+    /**
+     * @return Token    Operator at the caret, or word at the caret if there is no operator. Null if there is neither
+     */
+    @Nullable
+    Token getOperatorOrWord() {
+        return null == operator ? word : operator;
+    }
+}
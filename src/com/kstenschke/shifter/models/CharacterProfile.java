@@ -0,0 +1,196 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+/**
+ * Character-class profile of a word, built in a single scan.
+ * Used to rule out word types before running their (more expensive) detectors:
+ * canBe() is a necessary condition for the resp. detector to match, never a sufficient one.
+ */
+class CharacterProfile {
+
+    private static final String ROMAN_NUMERAL_CHARS = "IVXLCDM";
+
+    // Characters of which any words-tupel delimiter contains at least one
+    private static final String TUPEL_DELIMITER_CHARS = ",=<>&|.:+-*/% ";
+
+    private static final String HTML_SPECIAL_CHARS = "\"&<>";
+
+    private final String prefixChar;
+    private final String postfixChar;
+
+    private final int length;
+    private final char firstChar;
+    private final char lastChar;
+
+    // First and last character after trimming whitespace
+    private final char firstTrimmedChar;
+    private final char lastTrimmedChar;
+
+    private int amountLeadingDigits;
+    private int amountCaseTransitions;
+
+    private boolean isDigitsOnly = true;
+    private boolean isHexDigitsOnly = true;
+    private boolean isAlphaNumericOnly = true;
+    private boolean isRomanNumeralCharsOnly = true;
+    private boolean isMonoCharacter = true;
+
+    private boolean containsLowerCase;
+    private boolean containsUpperCase;
+    private boolean containsSeparator;
+    private boolean containsTupelDelimiter;
+    private boolean containsHtmlSpecialChar;
+    private boolean containsNonAscii;
+    private boolean containsNewLine;
+    private boolean containsDoubleSlash;
+
+    /**
+     * @param word          Word to be profiled
+     * @param prefixChar    Character before the word
+     * @param postfixChar   Character after the word
+     */
+    CharacterProfile(String word, String prefixChar, String postfixChar) {
+        this.prefixChar  = prefixChar;
+        this.postfixChar = postfixChar;
+
+        length    = word.length();
+        firstChar = 0 == length ? 0 : word.charAt(0);
+        lastChar  = 0 == length ? 0 : word.charAt(length - 1);
+
+        char firstNonWhitespace = 0;
+        char lastNonWhitespace  = 0;
+        char firstCharLower = Character.toLowerCase(firstChar);
+        boolean isLeadingDigit = true;
+        // -1: no letter yet, 0: last letter was lower case, 1: last letter was upper case
+        int lastLetterCase = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+
+            if (c > ' ') {
+                if (0 == firstNonWhitespace) {
+                    firstNonWhitespace = c;
+                }
+                lastNonWhitespace = c;
+            }
+
+            boolean isDigit = c >= '0' && c <= '9';
+            if (isLeadingDigit && isDigit) {
+                amountLeadingDigits++;
+            } else {
+                isLeadingDigit = false;
+            }
+
+            boolean isLower = c >= 'a' && c <= 'z';
+            boolean isUpper = c >= 'A' && c <= 'Z';
+            if (isLower || isUpper) {
+                int letterCase = isUpper ? 1 : 0;
+                if (-1 != lastLetterCase && letterCase != lastLetterCase) {
+                    amountCaseTransitions++;
+                }
+                lastLetterCase = letterCase;
+            }
+            containsLowerCase |= isLower;
+            containsUpperCase |= isUpper;
+
+            isDigitsOnly       &= isDigit;
+            isHexDigitsOnly    &= isDigit || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            isAlphaNumericOnly &= isDigit || isLower || isUpper;
+            isRomanNumeralCharsOnly &= -1 != ROMAN_NUMERAL_CHARS.indexOf(c);
+            isMonoCharacter    &= Character.toLowerCase(c) == firstCharLower;
+
+            containsSeparator       |= '-' == c || '_' == c;
+            containsTupelDelimiter  |= -1 != TUPEL_DELIMITER_CHARS.indexOf(c);
+            containsHtmlSpecialChar |= -1 != HTML_SPECIAL_CHARS.indexOf(c);
+            containsNonAscii        |= c > 0x7F;
+            containsNewLine         |= '\n' == c;
+            containsDoubleSlash     |= '/' == c && i > 0 && '/' == word.charAt(i - 1);
+        }
+
+        firstTrimmedChar = firstNonWhitespace;
+        lastTrimmedChar  = lastNonWhitespace;
+
+        if (0 == length) {
+            isDigitsOnly            = false;
+            isHexDigitsOnly         = false;
+            isAlphaNumericOnly      = false;
+            isRomanNumeralCharsOnly = false;
+            isMonoCharacter         = false;
+        }
+    }
+
+    /**
+     * @param  wordType Shiftable word type
+     * @return boolean  Can the profiled word possibly be of the given type? (Types w/o character constraints: true)
+     */
+    boolean canBe(ShiftableTypes.Type wordType) {
+        switch (wordType) {
+            case TRAILING_COMMENT:
+                return containsDoubleSlash;
+            case PHP_VARIABLE_OR_ARRAY:
+                // "$var", "[...]" or "array(...)"
+                return '$' == firstChar || '[' == firstChar || 'a' == firstChar;
+            case PARENTHESIS:
+                return ('(' == firstTrimmedChar || '[' == firstTrimmedChar || '{' == firstTrimmedChar)
+                    && (')' == lastTrimmedChar || ']' == lastTrimmedChar || '}' == lastTrimmedChar);
+            case JS_VARIABLES_DECLARATIONS:
+                return containsNewLine && ';' == lastTrimmedChar;
+            case SIZZLE_SELECTOR:
+                return '$' == firstTrimmedChar && ')' == lastTrimmedChar;
+            case ACCESS_TYPE:
+                // "public", "private" or "protected"
+                return 'p' == firstChar && length >= 6 && length <= 9;
+            case JQUERY_OBSERVER:
+                return '(' == lastChar;
+            case TERNARY_EXPRESSION:
+                return '?' == firstTrimmedChar || "?".equals(prefixChar);
+            case QUOTED_STRING:
+                return ("'".equals(prefixChar) || "\"".equals(prefixChar) || "`".equals(prefixChar))
+                    && prefixChar.equals(postfixChar);
+            case RGB_COLOR:
+                return "#".equals(prefixChar) && (3 == length || 6 == length) && isHexDigitsOnly;
+            case CSS_UNIT:
+                // Digits followed by unit of one to four characters: "%", "px", "vmin", ...
+                return length - amountLeadingDigits >= 1
+                    && length - amountLeadingDigits <= 4
+                    && ('%' == lastChar || (lastChar >= 'a' && lastChar <= 'z'));
+            case NUMERIC_VALUE:
+                return isDigitsOnly;
+            case OPERATOR_SIGN:
+                return 1 == length;
+            case ROMAN_NUMERAL:
+                return isRomanNumeralCharsOnly;
+            case LOGICAL_OPERATOR:
+                return 2 == length;
+            case MONO_CHARACTER:
+                // Non-ASCII characters can change length when lower-cased, leave them to the detector
+                return isMonoCharacter || containsNonAscii;
+            case NUMERIC_POSTFIXED:
+                return length >= 2 && lastChar >= '0' && lastChar <= '9';
+            case WORDS_TUPEL:
+                return containsTupelDelimiter;
+            case SEPARATED_PATH:
+                return length > 3 && containsSeparator;
+            case CAMEL_CASED:
+                return length > 2 && isAlphaNumericOnly && amountCaseTransitions > 0 && 0 == amountLeadingDigits;
+            case HTML_ENCODABLE:
+                return containsHtmlSpecialChar || containsNonAscii;
+            default:
+                return true;
+        }
+    }
+}
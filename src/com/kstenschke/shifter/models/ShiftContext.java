@@ -0,0 +1,291 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.indexes.PhpVariablesIndex;
+import com.kstenschke.shifter.models.indexes.QuotedStringsIndex;
+import com.kstenschke.shifter.models.shiftable_types.DictionaryMatcher;
+import com.kstenschke.shifter.models.shiftable_types.DocCommentType;
+import com.kstenschke.shifter.models.shiftable_types.PhpDocParam;
+import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Text, caret, selection and settings to detect and shift within, w/o IDE (no editor, document or write actions).
+ * Detection and shifting are computed on this context, ActionContainer fills it in from the editor and applies the results.
+ */
+public class ShiftContext {
+
+    public final boolean isShiftUp;
+    final boolean isShiftMore;
+
+    public final ShifterSettings settings;
+
+    public CharSequence editorText;
+
+    public int caretOffset;
+
+    public int offsetSelectionStart;
+    public int offsetSelectionEnd;
+    int lineNumberSelStart;
+    int lineNumberSelEnd;
+
+    public String selectedText;
+    String whiteSpaceLHSinSelection;
+    String whiteSpaceRHSinSelection;
+
+    int offsetCaretLineStart;
+    String caretLine;
+
+    // Characteristics of the caret line, shared by all its words: evaluated on first use
+    private Boolean isDocCommentCaretLine;
+    private Boolean isUntypedPhpDocParamCaretLine;
+
+    // Operator and word at the caret: evaluated on first use, again after the text was modified
+    private CaretContext caretContext;
+    private long caretContextModificationStamp;
+
+    // Dictionary terms contained in the caret line per file extension ("" = global), null = caret line isn't scanned for terms
+    private Map<String, Set<String>> caretLineDictionaryTerms;
+
+    // Token indexes of the text w/o document: scanned on first use
+    private PhpVariablesIndex phpVariablesIndex;
+    private Map<String, QuotedStringsIndex> quotedStringsIndexes;
+
+    public String filename;
+    String fileExtension;
+
+    /**
+     * Context to be filled in by the subclass, see ActionContainer
+     *
+     * @param isShiftUp     Shifting up or down?
+     * @param isShiftMore   Shifting by multiple steps?
+     * @param settings      Preferences to shift by
+     */
+    ShiftContext(boolean isShiftUp, boolean isShiftMore, ShifterSettings settings) {
+        this.isShiftUp   = isShiftUp;
+        this.isShiftMore = isShiftMore;
+        this.settings    = settings;
+    }
+
+    /**
+     * Context of a single line: for detecting and shifting its words, e.g. in benchmarks
+     *
+     * @param caretLine Line containing the caret
+     * @param filename  Name of the edited file
+     * @param isShiftUp Shifting up or down?
+     * @param settings  Preferences to shift by
+     */
+    public ShiftContext(String caretLine, String filename, boolean isShiftUp, ShifterSettings settings) {
+        this(caretLine, 0, 0, 0, filename, isShiftUp, false, settings);
+    }
+
+    /**
+     * @param text                  Text to be shifted within
+     * @param offsetSelectionStart  Offset of selection start, same as offsetSelectionEnd if there is no selection
+     * @param offsetSelectionEnd
+     * @param caretOffset
+     * @param filename              Name of the edited file
+     * @param isShiftUp             Shifting up or down?
+     * @param isShiftMore           Shifting by multiple steps?
+     * @param settings              Preferences to shift by
+     */
+    public ShiftContext(CharSequence text, int offsetSelectionStart, int offsetSelectionEnd, int caretOffset, String filename, boolean isShiftUp, boolean isShiftMore, ShifterSettings settings) {
+        this(isShiftUp, isShiftMore, settings);
+
+        editorText = text;
+        if (offsetSelectionEnd > offsetSelectionStart && text.charAt(offsetSelectionEnd - 1) == '\n') {
+            offsetSelectionEnd--;
+        }
+        this.offsetSelectionStart = offsetSelectionStart;
+        this.offsetSelectionEnd   = offsetSelectionEnd;
+        lineNumberSelStart = getLineNumber(text, offsetSelectionStart);
+        lineNumberSelEnd   = getLineNumber(text, offsetSelectionEnd);
+        selectedText       = offsetSelectionEnd > offsetSelectionStart
+                ? UtilsTextual.getSubString(text, offsetSelectionStart, offsetSelectionEnd)
+                : "";
+
+        this.caretOffset = caretOffset;
+        offsetCaretLineStart = caretOffset;
+        while (offsetCaretLineStart > 0 && text.charAt(offsetCaretLineStart - 1) != '\n') {
+            offsetCaretLineStart--;
+        }
+        int offsetCaretLineEnd = caretOffset;
+        while (offsetCaretLineEnd < text.length() && text.charAt(offsetCaretLineEnd) != '\n') {
+            offsetCaretLineEnd++;
+        }
+        caretLine = text.subSequence(offsetCaretLineStart, offsetCaretLineEnd).toString();
+
+        setFilename(filename);
+    }
+
+    /**
+     * @param filename  Name of the edited file, its extension selects the shiftable types
+     */
+    void setFilename(String filename) {
+        this.filename = filename;
+        fileExtension = UtilsFile.extractFileExtension(filename, true);
+    }
+
+    /**
+     * @param  text
+     * @param  offset
+     * @return int      Zero-based number of line containing the given offset
+     */
+    private static int getLineNumber(CharSequence text, int offset) {
+        int lineNumber = 0;
+        for (int i = 0; i < offset; i++) {
+            if (text.charAt(i) == '\n') {
+                lineNumber++;
+            }
+        }
+
+        return lineNumber;
+    }
+
+    /**
+     * Trim selection and store whitespace from both sides to properties
+     */
+    void trimSelectedText() {
+        String selectedTextTrimmed = selectedText.trim();
+
+        int index = selectedText.indexOf(selectedTextTrimmed);
+        whiteSpaceLHSinSelection = "";
+        if (0 == index) {
+            whiteSpaceRHSinSelection = selectedText.replace(selectedTextTrimmed, "");
+        } else {
+            whiteSpaceLHSinSelection = selectedText.substring(0, index);
+            whiteSpaceRHSinSelection = selectedText.substring(index + selectedTextTrimmed.length());
+        }
+        selectedText = selectedTextTrimmed;
+    }
+
+    /**
+     * @return boolean  Is the caret line a doc comment line w/ a tag, e.g. "* @param"?
+     */
+    boolean isDocCommentCaretLine() {
+        if (null == isDocCommentCaretLine) {
+            isDocCommentCaretLine = DocCommentType.isDocCommentTypeLineContext(caretLine);
+        }
+
+        return isDocCommentCaretLine;
+    }
+
+    /**
+     * @return long Modification stamp of the text, changes whenever the text is modified. The text w/o document is never modified
+     */
+    long getModificationStamp() {
+        return 0;
+    }
+
+    /**
+     * @return CaretContext Boundaries of caret line, operator and word at the caret
+     */
+    CaretContext getCaretContext() {
+        long modificationStamp = getModificationStamp();
+        if (null == caretContext || caretContextModificationStamp != modificationStamp) {
+            caretContext = new CaretContext(editorText, caretOffset, fileExtension.endsWith("css"));
+            caretContextModificationStamp = modificationStamp;
+        }
+
+        return caretContext;
+    }
+
+    /**
+     * @param isScanning    Limit dictionary lookups of whitespace-separated words of the caret line to terms found by scanning the whole line once?
+     */
+    void setScanCaretLineForDictionaryTerms(boolean isScanning) {
+        caretLineDictionaryTerms = isScanning ? new HashMap<>() : null;
+    }
+
+    /**
+     * @param  word             Word to be looked up in the dictionary
+     * @param  fileExtension    Extension of edited file, null = global dictionary
+     * @return boolean          Can the word be a term of the dictionary? Always true if the caret line isn't scanned for terms
+     */
+    boolean mayBeDictionaryTerm(String word, @Nullable String fileExtension) {
+        if (null == caretLineDictionaryTerms) {
+            return true;
+        }
+        Set<String> terms = caretLineDictionaryTerms.computeIfAbsent(null == fileExtension ? "" : fileExtension, extension -> {
+            DictionaryMatcher matcher = extension.isEmpty()
+                    ? settings.getDictionaryIndex().getMatcher()
+                    : settings.getDictionaryIndex().getMatcher(extension);
+
+            return matcher.findWords(caretLine);
+        });
+
+        return terms.contains(DictionaryMatcher.fold(word));
+    }
+
+    /**
+     * @return boolean  Is the caret line a PHPDoc @param line w/o data type?
+     */
+    boolean isUntypedPhpDocParamCaretLine() {
+        if (null == isUntypedPhpDocParamCaretLine) {
+            isUntypedPhpDocParamCaretLine = PhpDocParam.isPhpDocParamLine(caretLine) && !PhpDocParam.containsDataType(caretLine);
+        }
+
+        return isUntypedPhpDocParamCaretLine;
+    }
+
+    /**
+     * @return PhpVariablesIndex    Sorted PHP variables of the text
+     */
+    public PhpVariablesIndex getPhpVariablesIndex() {
+        if (null == phpVariablesIndex) {
+            phpVariablesIndex = PhpVariablesIndex.of(editorText);
+        }
+
+        return phpVariablesIndex;
+    }
+
+    /**
+     * @param  quoteChar            "'", "\"" or "`"
+     * @return QuotedStringsIndex   Sorted alphanumeric words wrapped in the given quote character within the text
+     */
+    public QuotedStringsIndex getQuotedStringsIndex(String quoteChar) {
+        if (null == quotedStringsIndexes) {
+            quotedStringsIndexes = new HashMap<>();
+        }
+
+        return quotedStringsIndexes.computeIfAbsent(quoteChar, quote -> QuotedStringsIndex.of(editorText, quote));
+    }
+
+    /**
+     * Show info about the shifting (e.g. the date of a shifted timestamp) to the user. W/o editor there is no one to show it to
+     *
+     * @param text
+     */
+    public void showInfo(String text) {
+    }
+
+    /**
+     * @param  shiftedLine
+     * @return ShiftEdit    Replacement of the caret line by the given one
+     */
+    @NotNull
+    ShiftEdit getCaretLineEdit(final String shiftedLine) {
+        return new ShiftEdit(offsetCaretLineStart, offsetCaretLineStart + caretLine.length(), shiftedLine);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Replacement of a text range, resulting from shifting.
+ * Offsets refer to the text before any of the edits of a shift is applied.
+ */
+public class ShiftEdit {
+
+    public final int offsetStart;
+    public final int offsetEnd;
+    public final String replacement;
+
+    /**
+     * @param offsetStart   Offset of first replaced character
+     * @param offsetEnd     Offset after last replaced character
+     * @param replacement   Text replacing the range
+     */
+    public ShiftEdit(int offsetStart, int offsetEnd, String replacement) {
+        if (offsetStart < 0 || offsetEnd < offsetStart) {
+            throw new IllegalArgumentException("Invalid range: " + offsetStart + ".." + offsetEnd);
+        }
+        this.offsetStart = offsetStart;
+        this.offsetEnd   = offsetEnd;
+        this.replacement = replacement;
+    }
+
+    /**
+     * @param  text         Text before modification
+     * @param  modifiedText Text after modification
+     * @return ShiftEdit    Single edit turning the text into the modified one: replacement of the range between their common prefix and suffix. Null if they are equal
+     */
+    @Nullable
+    static ShiftEdit getDifference(CharSequence text, CharSequence modifiedText) {
+        int length         = text.length();
+        int modifiedLength = modifiedText.length();
+
+        int prefixLength = 0;
+        while (prefixLength < length && prefixLength < modifiedLength && text.charAt(prefixLength) == modifiedText.charAt(prefixLength)) {
+            prefixLength++;
+        }
+        if (prefixLength == length && length == modifiedLength) {
+            return null;
+        }
+        int suffixLength = 0;
+        while (suffixLength < length - prefixLength && suffixLength < modifiedLength - prefixLength
+                && text.charAt(length - suffixLength - 1) == modifiedText.charAt(modifiedLength - suffixLength - 1)) {
+            suffixLength++;
+        }
+
+        return new ShiftEdit(prefixLength, length - suffixLength, modifiedText.subSequence(prefixLength, modifiedLength - suffixLength).toString());
+    }
+
+    /**
+     * @param  text     Text the edit was computed from
+     * @return boolean  Does applying the edit change the text?
+     */
+    boolean isModifying(CharSequence text) {
+        return !replacement.contentEquals(text.subSequence(offsetStart, offsetEnd));
+    }
+
+    /**
+     * @param  text     Text the edits were computed from
+     * @param  edits    Non-overlapping edits
+     * @return String   Text w/ all edits applied, from last to first offset so that offsets remain valid
+     */
+    public static String apply(CharSequence text, List<ShiftEdit> edits) {
+        StringBuilder result = new StringBuilder(text);
+        for (ShiftEdit edit : sortDescending(edits)) {
+            result.replace(edit.offsetStart, edit.offsetEnd, edit.replacement);
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * @param  edits
+     * @return List<ShiftEdit>  Given edits sorted from last to first offset: applying them in this order keeps the offsets of pending ones valid
+     */
+    static List<ShiftEdit> sortDescending(List<ShiftEdit> edits) {
+        List<ShiftEdit> sortedEdits = new ArrayList<>(edits);
+        sortedEdits.sort(Comparator.comparingInt((ShiftEdit edit) -> edit.offsetStart).reversed());
+
+        return sortedEdits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ShiftEdit)) {
+            return false;
+        }
+        ShiftEdit edit = (ShiftEdit) o;
+
+        return offsetStart == edit.offsetStart && offsetEnd == edit.offsetEnd && replacement.equals(edit.replacement);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * offsetStart + offsetEnd) + replacement.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return offsetStart + ".." + offsetEnd + " => \"" + replacement + "\"";
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.ShifterSettings;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shifting core w/o IDE: computes the edits of a shift within a given text, w/o editor, document or write actions.
+ * Runs w/o the IntelliJ platform on the classpath: detection and shifting work on a ShiftContext, preferences are
+ * given as ShifterSettings (e.g. built via ShifterSettings.Builder). The IDE actions use the same detection and shifting,
+ * their ActionContainer fills in the context from the editor: the word at the caret is shifted, if it isn't shiftable the caret line.
+ * Selections are shifted only by the IDE actions (their shifting may involve popups), for them no edits are computed.
+ */
+public class ShiftEngine {
+
+    /**
+     * @param  text                  Text to be shifted within
+     * @param  offsetSelectionStart  Offset of selection start, same as offsetSelectionEnd if there is no selection
+     * @param  offsetSelectionEnd
+     * @param  caretOffset
+     * @param  filename              Name of the edited file, its extension selects the shiftable types
+     * @param  isShiftUp             Shifting up or down?
+     * @param  moreCount             Current "more" count, starting w/ 1. If non-more shift: null
+     * @param  settings              Preferences to shift by
+     * @return List<ShiftEdit>       Edits to be applied to the text, empty if nothing is shiftable
+     */
+    @NotNull
+    public static List<ShiftEdit> shift(
+            CharSequence text,
+            int offsetSelectionStart,
+            int offsetSelectionEnd,
+            int caretOffset,
+            String filename,
+            boolean isShiftUp,
+            @Nullable Integer moreCount,
+            ShifterSettings settings
+    ) {
+        ShiftContext shiftContext = new ShiftContext(
+                text, offsetSelectionStart, offsetSelectionEnd, caretOffset, filename, isShiftUp, null != moreCount, settings);
+
+        List<ShiftEdit> edits = new ArrayList<>();
+        if (!shiftContext.selectedText.isEmpty()) {
+            return edits;
+        }
+
+        ShiftEdit edit = ShiftableWord.getShiftedWordAtCaret(shiftContext, moreCount);
+        if (null == edit) {
+            // Word at caret wasn't identified/shifted, try shifting the whole caret line
+            edit = ShiftableLine.getShiftedCaretLine(shiftContext, moreCount);
+        }
+        if (null != edit) {
+            edits.add(edit);
+        }
+
+        return edits;
+    }
+
+    /**
+     * @param  text
+     * @param  caretOffset
+     * @param  filename
+     * @param  isShiftUp
+     * @return String       Given text w/ word or line at caret shifted once, by the default preferences
+     */
+    public static String shift(CharSequence text, int caretOffset, String filename, boolean isShiftUp) {
+        return ShiftEdit.apply(text, shift(text, caretOffset, caretOffset, caretOffset, filename, isShiftUp, null, ShifterSettings.getDefault()));
+    }
+}
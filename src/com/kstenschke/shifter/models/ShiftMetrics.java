@@ -0,0 +1,183 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.models.ShiftableTypes.Type;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency metrics of the shifting hot paths, per stage and shiftable type. Disabled by default, enabled by starting
+ * the IDE w/ VM option -Dshifter.metrics=true. While disabled, recording costs one volatile read.
+ * Recording is lock-free: every stage and type has its own histogram of atomic counters.
+ */
+public class ShiftMetrics {
+
+    public enum Stage {
+        // Detection of word type
+        DETECT,
+        // Computing shifted word
+        SHIFT,
+        // Constructing and showing popup of shifting options
+        POPUP,
+        // Writing to the document (incl. command and write action)
+        WRITE
+    }
+
+    private static volatile boolean isEnabled = Boolean.getBoolean("shifter.metrics");
+
+    // Histograms per stage and type (UNKNOWN for stages w/o type)
+    private static final Histogram[][] histograms = new Histogram[Stage.values().length][Type.values().length];
+    static {
+        for (Histogram[] histogramsOfStage : histograms) {
+            for (int i = 0; i < histogramsOfStage.length; i++) {
+                histogramsOfStage[i] = new Histogram();
+            }
+        }
+    }
+
+    /**
+     * Latencies counted in buckets of powers of two nanoseconds
+     */
+    static class Histogram {
+
+        private static final int AMOUNT_BUCKETS = 64;
+
+        // Bucket i counts latencies < 2^i nanoseconds (and >= 2^(i-1))
+        private final AtomicLongArray buckets = new AtomicLongArray(AMOUNT_BUCKETS);
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            nanos = Math.max(0, nanos);
+            buckets.incrementAndGet(Math.min(AMOUNT_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        long getCount() {
+            long count = 0;
+            for (int i = 0; i < AMOUNT_BUCKETS; i++) {
+                count += buckets.get(i);
+            }
+
+            return count;
+        }
+
+        /**
+         * @param  percentile   0..100
+         * @return long         Upper bound of bucket containing the given percentile, in nanoseconds. 0 if nothing was recorded
+         */
+        long getPercentileNanos(double percentile) {
+            long count = getCount();
+            if (0 == count) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(count * percentile / 100);
+            long counted = 0;
+            for (int i = 0; i < AMOUNT_BUCKETS; i++) {
+                counted += buckets.get(i);
+                if (counted >= Math.max(1, rank)) {
+                    return Math.min(1L << i, maxNanos.get());
+                }
+            }
+
+            return maxNanos.get();
+        }
+
+        void reset() {
+            for (int i = 0; i < AMOUNT_BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            totalNanos.reset();
+            maxNanos.set(0);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return isEnabled;
+    }
+
+    static void setEnabled(boolean enabled) {
+        isEnabled = enabled;
+    }
+
+    /**
+     * @return long Start time to be passed to record(), 0 if metrics are disabled
+     */
+    static long start() {
+        return isEnabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param stage
+     * @param type      Shiftable type, null if the stage isn't related to a type
+     * @param startTime Result of start()
+     */
+    static void record(Stage stage, @Nullable Type type, long startTime) {
+        if (0 == startTime) {
+            return;
+        }
+        histograms[stage.ordinal()][null == type ? Type.UNKNOWN.ordinal() : type.ordinal()].record(System.nanoTime() - startTime);
+    }
+
+    static Histogram getHistogram(Stage stage, Type type) {
+        return histograms[stage.ordinal()][type.ordinal()];
+    }
+
+    public static void reset() {
+        for (Histogram[] histogramsOfStage : histograms) {
+            for (Histogram histogram : histogramsOfStage) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * @return String   Recorded metrics as JSON: stage => type => count, mean, 50th, 99th percentile and max latency in µs
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        String delimiterStages = "";
+        for (Stage stage : Stage.values()) {
+            json.append(delimiterStages).append("\n  \"").append(stage.name()).append("\": {");
+            delimiterStages = ",";
+
+            String delimiterTypes = "";
+            for (Type type : Type.values()) {
+                Histogram histogram = getHistogram(stage, type);
+                long count = histogram.getCount();
+                if (0 == count) {
+                    continue;
+                }
+                json.append(delimiterTypes).append("\n    \"").append(type.name()).append("\": {")
+                    .append("\"count\": ").append(count)
+                    .append(", \"meanMicros\": ").append(histogram.totalNanos.sum() / count / 1000)
+                    .append(", \"p50Micros\": ").append(histogram.getPercentileNanos(50) / 1000)
+                    .append(", \"p99Micros\": ").append(histogram.getPercentileNanos(99) / 1000)
+                    .append(", \"maxMicros\": ").append(histogram.maxNanos.get() / 1000)
+                    .append('}');
+                delimiterTypes = ",";
+            }
+            json.append(delimiterTypes.isEmpty() ? "}" : "\n  }");
+        }
+
+        return json.append("\n}").toString();
+    }
+}
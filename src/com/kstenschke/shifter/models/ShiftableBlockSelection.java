@@ -15,7 +15,11 @@
  */
 package com.kstenschke.shifter.models;
 
-import com.intellij.openapi.editor.*;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.kstenschke.shifter.ShifterPreferences;
 import com.kstenschke.shifter.resources.StaticTexts;
 import com.kstenschke.shifter.resources.ui.DialogNumericBlockOptions;
@@ -25,12 +29,19 @@ import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 // Shiftable block selection
 public class ShiftableBlockSelection {
 
     private static final String ACTION_TEXT_SHIFT_COLUMN_SELECTION = "Shift Column Selection";
 
+    // Minimum amount of block items to compute their replacements in parallel
+    private static final int MIN_ITEMS_PARALLEL = 1000;
+
     private static boolean areNumericValues(int[] blockSelectionStarts, int[] blockSelectionEnds, CharSequence editorText) {
         String currentItem;
 
@@ -72,30 +83,27 @@ public class ShiftableBlockSelection {
         final int[] blockSelectionStarts = actionContainer.selectionModel.getBlockSelectionStarts();
         final int[]blockSelectionEnds   = actionContainer.selectionModel.getBlockSelectionEnds();
 
-        if (ShiftableBlockSelection.areNumericValues(blockSelectionStarts, blockSelectionEnds, actionContainer.documentText)) {
+        if (ShiftableBlockSelection.areNumericValues(blockSelectionStarts, blockSelectionEnds, actionContainer.editorText)) {
             shiftNumericalBlockSelectionInDocument(
                     actionContainer,
-                    Integer.valueOf(actionContainer.documentText.subSequence(blockSelectionStarts[0], blockSelectionEnds[0]).toString()),
+                    Integer.valueOf(actionContainer.editorText.subSequence(blockSelectionStarts[0], blockSelectionEnds[0]).toString()),
                     stepSize);
             return;
         }
-        if (ShiftableBlockSelection.areBlockItemsIdentical(blockSelectionStarts, blockSelectionEnds, actionContainer.documentText)) {
-            actionContainer.writeUndoable(
-                    () -> shiftIdenticalBlockItemsInDocument(actionContainer, stepSize, blockSelectionStarts, blockSelectionEnds),
-                    ACTION_TEXT_SHIFT_COLUMN_SELECTION
-            );
+        if (ShiftableBlockSelection.areBlockItemsIdentical(blockSelectionStarts, blockSelectionEnds, actionContainer.editorText)) {
+            shiftIdenticalBlockItemsInDocument(actionContainer, stepSize, blockSelectionStarts, blockSelectionEnds);
         }
     }
 
-    private static void shiftIdenticalBlockItemsInDocument(ActionContainer actionContainer, @Nullable Integer moreCount, int[] blockSelectionStarts, int[] blockSelectionEnds) {
+    private static void shiftIdenticalBlockItemsInDocument(ActionContainer actionContainer, @Nullable Integer moreCount, final int[] blockSelectionStarts, final int[] blockSelectionEnds) {
         String word        = actionContainer.editorText.subSequence(blockSelectionStarts[0], blockSelectionEnds[0]).toString();
-        Integer wordOffset = UtilsTextual.getStartOfWordAtOffset(actionContainer.editorText, blockSelectionStarts[0]);
-        String newWord     = ShiftableWord.getShiftedWordInDocument(actionContainer, word, wordOffset, false, false, moreCount);
+        int wordOffset     = UtilsTextual.getStartOfWordAtOffset(actionContainer.editorText, blockSelectionStarts[0]);
+        final String newWord = ShiftableWord.getShiftedWordInDocument(actionContainer, word, wordOffset, false, false, moreCount);
 
         if (null != newWord && !newWord.equals(word)) {
-            for (int i = blockSelectionEnds.length - 1; i >= 0; i--) {
-                actionContainer.document.replaceString(blockSelectionStarts[i], blockSelectionEnds[i], newWord);
-            }
+            applyEditsComputedInBackground(
+                    actionContainer,
+                    () -> getEdits(blockSelectionStarts.length, i -> new ShiftEdit(blockSelectionStarts[i], blockSelectionEnds[i], newWord)));
         }
     }
 
@@ -114,91 +122,92 @@ public class ShiftableBlockSelection {
             return;
         }
 
+        final int[] blockSelectionStarts = actionContainer.selectionModel.getBlockSelectionStarts();
+        final int[] blockSelectionEnds   = actionContainer.selectionModel.getBlockSelectionEnds();
         if (optionsDialog.isShiftModeEnumerate()) {
-            actionContainer.writeUndoable(
-                    () -> insertBlockEnumerationInDocument(actionContainer, optionsDialog.getFirstNumber()),
-                    ACTION_TEXT_SHIFT_COLUMN_SELECTION
-            );
-
+            final int firstEnumerationNumber = Integer.parseInt(optionsDialog.getFirstNumber());
+            applyEditsComputedInBackground(
+                    actionContainer,
+                    () -> getBlockEnumerationEdits(blockSelectionStarts, blockSelectionEnds, firstEnumerationNumber));
             return;
         }
 
-        actionContainer.writeUndoable(
-                () -> inOrDecrementNumericBlockInDocument(actionContainer, stepSize),
-                ACTION_TEXT_SHIFT_COLUMN_SELECTION
-        );
+        final CharSequence text = actionContainer.document.getImmutableCharSequence();
+        final int addend        = actionContainer.isShiftUp ? stepSize : -stepSize;
+        applyEditsComputedInBackground(
+                actionContainer,
+                () -> getInOrDecrementedBlockEdits(text, blockSelectionStarts, blockSelectionEnds, addend));
     }
 
     /**
-     * Replace given block selection w/ enumeration starting w/ given value
+     * Compute replacements of all block items in a non-blocking background read action, apply them at once
+     * in an undoable write action on the UI thread. Discarded if the document is modified or the editor disposed meanwhile
      *
      * @param actionContainer
-     * @param firstNumber
+     * @param edits             Computation of the edits, must only read immutable data
      */
-    private static void insertBlockEnumerationInDocument(ActionContainer actionContainer, String firstNumber) {
-        Integer currentValue = Integer.valueOf(firstNumber);
-
-        List<CaretState> caretsAndSelections = actionContainer.editor.getCaretModel().getCaretsAndSelections();
-        CaretState caretsAndSelection;
-        LogicalPosition selectionStart;
-        LogicalPosition selectionEnd;
-
-        int offsetSelectionStart;
-        int offsetSelectionEnd;
+    private static void applyEditsComputedInBackground(final ActionContainer actionContainer, Callable<List<ShiftEdit>> edits) {
+        final Editor editor          = actionContainer.editor;
+        final Document document      = actionContainer.document;
+        final long modificationStamp = document.getModificationStamp();
+
+        ReadAction.nonBlocking(edits)
+                .expireWhen(() -> editor.isDisposed() || modificationStamp != document.getModificationStamp())
+                .finishOnUiThread(ModalityState.defaultModalityState(), computedEdits -> actionContainer.writeUndoable(
+                        () -> actionContainer.applyEditsInDocument(computedEdits),
+                        ACTION_TEXT_SHIFT_COLUMN_SELECTION))
+                .submit(AppExecutorUtil.getAppExecutorService());
+    }
 
-        for (CaretState caretsAndSelectionCurrent : caretsAndSelections) {
-            caretsAndSelection = caretsAndSelectionCurrent;
-            selectionStart = caretsAndSelection.getSelectionStart();
-            selectionEnd = caretsAndSelection.getSelectionEnd();
-            if (null != selectionStart && null != selectionEnd) {
-                offsetSelectionStart = actionContainer.editor.logicalPositionToOffset(selectionStart);
-                offsetSelectionEnd = actionContainer.editor.logicalPositionToOffset(selectionEnd);
+    /**
+     * @param  blockSelectionStarts
+     * @param  blockSelectionEnds
+     * @param  firstNumber
+     * @return List<ShiftEdit>      Replacement of block items by enumeration starting w/ given value
+     */
+    static List<ShiftEdit> getBlockEnumerationEdits(final int[] blockSelectionStarts, final int[] blockSelectionEnds, final int firstNumber) {
+        return getEdits(
+                blockSelectionStarts.length,
+                i -> new ShiftEdit(blockSelectionStarts[i], blockSelectionEnds[i], String.valueOf(firstNumber + i)));
+    }
 
-                actionContainer.document.replaceString(offsetSelectionStart, offsetSelectionEnd, currentValue.toString());
+    /**
+     * @param  editorText
+     * @param  blockSelectionStarts
+     * @param  blockSelectionEnds
+     * @param  addend               Value to be added to each item (negative: decrement)
+     * @return List<ShiftEdit>      Replacement of numeric block items by their incremented / decremented values
+     */
+    static List<ShiftEdit> getInOrDecrementedBlockEdits(final CharSequence editorText, final int[] blockSelectionStarts, final int[] blockSelectionEnds, final int addend) {
+        return getEdits(
+                blockSelectionStarts.length,
+                i -> new ShiftEdit(
+                        blockSelectionStarts[i],
+                        blockSelectionEnds[i],
+                        String.valueOf(getIntegerValue(editorText, blockSelectionStarts[i], blockSelectionEnds[i]) + addend)));
+    }
 
-                currentValue++;
-            }
+    private static int getIntegerValue(CharSequence editorText, int offsetStart, int offsetEnd) {
+        try {
+            return Integer.parseInt(editorText.subSequence(offsetStart, offsetEnd).toString());
+        } catch (NumberFormatException e) {
+            return 0;
         }
     }
 
     /**
-     * Increment or decrement each item in given numeric block selection
+     * Compute edits of all block items, in parallel if there are many
      *
-     * @param actionContainer
-     * @param stepSize
+     * @param  amountItems
+     * @param  itemEdit         Edit of the item at the given index, must only read immutable data
+     * @return List<ShiftEdit>  Edits in order of the items
      */
-    private static void inOrDecrementNumericBlockInDocument(ActionContainer actionContainer, int stepSize) {
-        int addend = actionContainer.isShiftUp ? stepSize : -stepSize;
-        Integer value;
-
-        List<CaretState> caretsAndSelections = actionContainer.editor.getCaretModel().getCaretsAndSelections();
-        CaretState caretsAndSelection;
-        LogicalPosition selectionStart;
-        LogicalPosition selectionEnd;
-
-        int offsetSelectionStart;
-        int offsetSelectionEnd;
-
-        for (CaretState caretsAndSelectionCurrent : caretsAndSelections) {
-            value = null;
-            caretsAndSelection = caretsAndSelectionCurrent;
-            selectionStart = caretsAndSelection.getSelectionStart();
-            selectionEnd = caretsAndSelection.getSelectionEnd();
-            if (null != selectionStart && null != selectionEnd) {
-                offsetSelectionStart = actionContainer.editor.logicalPositionToOffset(selectionStart);
-                offsetSelectionEnd = actionContainer.editor.logicalPositionToOffset(selectionEnd);
-
-                try {
-                    value = Integer.valueOf(actionContainer.editorText.subSequence(offsetSelectionStart, offsetSelectionEnd).toString());
-                } catch (NumberFormatException e) {
-                    // Silently continue
-                }
-                if (null == value) {
-                    value = 0;
-                }
-
-                actionContainer.document.replaceString(offsetSelectionStart, offsetSelectionEnd, String.valueOf(value + addend));
-            }
+    private static List<ShiftEdit> getEdits(int amountItems, IntFunction<ShiftEdit> itemEdit) {
+        IntStream items = IntStream.range(0, amountItems);
+        if (amountItems >= MIN_ITEMS_PARALLEL) {
+            items = items.parallel();
         }
+
+        return items.mapToObj(itemEdit).collect(Collectors.toList());
     }
 }
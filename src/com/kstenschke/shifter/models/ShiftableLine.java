@@ -18,6 +18,7 @@ package com.kstenschke.shifter.models;
 import com.kstenschke.shifter.models.shiftable_types.JsDoc;
 import com.kstenschke.shifter.models.shiftable_types.PhpDocParam;
 import com.kstenschke.shifter.models.shiftable_types.HtmlEncodable;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsFile;
 import org.jetbrains.annotations.Nullable;
 
@@ -32,13 +33,13 @@ public class ShiftableLine {
     @SuppressWarnings("WeakerAccess")
     public static final String ACTION_TEXT = "Shift Line";
 
-    private final ActionContainer actionContainer;
+    private final ShiftContext shiftContext;
 
     /**
-     * @param actionContainer
+     * @param shiftContext
      */
-    private ShiftableLine(ActionContainer actionContainer) {
-        this.actionContainer = actionContainer;
+    private ShiftableLine(ShiftContext shiftContext) {
+        this.shiftContext = shiftContext;
     }
 
     /**
@@ -48,24 +49,24 @@ public class ShiftableLine {
      * @return String       Next upper/lower word
      */
     private String getShifted(@Nullable final Integer moreCount) {
-        if (UtilsFile.isPhpFile(actionContainer.filename) && PhpDocParam.isPhpDocParamLine(actionContainer.caretLine) && !PhpDocParam.containsDataType(actionContainer.caretLine) && PhpDocParam.containsVariableName(actionContainer.caretLine)) {
+        if (UtilsFile.isPhpFile(shiftContext.filename) && PhpDocParam.isPhpDocParamLine(shiftContext.caretLine) && !PhpDocParam.containsDataType(shiftContext.caretLine) && PhpDocParam.containsVariableName(shiftContext.caretLine)) {
             // Caret-line is a PHP doc @param w/o data type: guess and insert one by the variable name
-            String shiftedLine = PhpDocParam.getShifted(actionContainer.caretLine);
-            if (!shiftedLine.equals(actionContainer.caretLine)) {
+            String shiftedLine = PhpDocParam.getShifted(shiftContext.caretLine);
+            if (!shiftedLine.equals(shiftContext.caretLine)) {
                 return shiftedLine;
             }
         }
 
-        if (   UtilsFile.isJavaScriptFile(actionContainer.filename, true)
-            && (JsDoc.isAtParamLine(actionContainer.caretLine) || JsDoc.isAtTypeLine(actionContainer.caretLine) || JsDoc.isAtReturnsLine(actionContainer.caretLine, true))
+        if (   UtilsFile.isJavaScriptFile(shiftContext.filename, true)
+            && (JsDoc.isAtParamLine(shiftContext.caretLine) || JsDoc.isAtTypeLine(shiftContext.caretLine) || JsDoc.isAtReturnsLine(shiftContext.caretLine, true))
         ) {
-            String shiftedLine = JsDoc.correctAtKeywordLine(actionContainer.caretLine);
-            if (!shiftedLine.equals(actionContainer.caretLine)) {
+            String shiftedLine = JsDoc.correctAtKeywordLine(shiftContext.caretLine);
+            if (!shiftedLine.equals(shiftContext.caretLine)) {
                 return shiftedLine;
             }
         }
 
-        String[] words = actionContainer.caretLine.trim().split("\\s+");
+        String[] words = StaticPatterns.WHITESPACES.split(shiftContext.caretLine.trim());
 
         // Check all words for shiftable shiftable_types - shiftable if there's not more than one
         int amountShiftableWordsInSentence = 0;
@@ -75,34 +76,37 @@ public class ShiftableLine {
         String prefixChar    = "";
         String postfixChar   = "";
 
-        for (String word : words) {
-            if (word.length() > 2) {
-                // Check if word is a hex RGB color including the #-prefix
-                if (word.startsWith("#")) {
-                    prefixChar = "#";
-                    word = word.substring(1);
-                }
+        // Find dictionary terms of all words in one pass over the line, instead of looking up each word
+        shiftContext.setScanCaretLineForDictionaryTerms(true);
+        try {
+            for (String word : words) {
+                if (word.length() > 2) {
+                    // Check if word is a hex RGB color including the #-prefix
+                    if (word.startsWith("#")) {
+                        prefixChar = "#";
+                        word = word.substring(1);
+                    }
 
-                wordShiftedTest = new ShiftableWord(actionContainer, word, prefixChar, postfixChar, moreCount).getShifted();
-                if (null != wordShiftedTest && !wordShiftedTest.equals(word)) {
-                    amountShiftableWordsInSentence++;
-                    wordUnshifted = word;
-                    wordShifted = wordShiftedTest;
+                    wordShiftedTest = new ShiftableWord(shiftContext, word, prefixChar, postfixChar, moreCount).getShifted();
+                    if (null != wordShiftedTest && !wordShiftedTest.equals(word)) {
+                        amountShiftableWordsInSentence++;
+                        wordUnshifted = word;
+                        wordShifted = wordShiftedTest;
+                    }
                 }
             }
+        } finally {
+            shiftContext.setScanCaretLineForDictionaryTerms(false);
         }
 
         if (1 == amountShiftableWordsInSentence) {
             // Shift detected word in lLine
-            String line = actionContainer.caretLine;
+            String line = shiftContext.caretLine;
             return line.replace(wordUnshifted, wordShifted);
         }
 
-        return HtmlEncodable.isHtmlEncodable(actionContainer.caretLine)
-            // Encode or decode contained HTML special chars
-            ? HtmlEncodable.getShifted(actionContainer.caretLine)
-            // No shift-ability detected, return original line
-            : actionContainer.caretLine;
+        // Encode or decode contained HTML special chars. No shift-ability detected: original line is returned
+        return HtmlEncodable.getShifted(shiftContext.caretLine);
     }
 
     /**
@@ -110,12 +114,26 @@ public class ShiftableLine {
      * @param moreCount       Current "more" count, starting w/ 1. If non-more shift: null
      */
     public static void shiftLineInDocument(final ActionContainer actionContainer, @Nullable Integer moreCount) {
-        ShiftableLine shiftableShiftableLine = new ShiftableLine(actionContainer);
-
         // Replace line by shifted one
-        final CharSequence shiftedLine = shiftableShiftableLine.getShifted(moreCount);
-        if (null != shiftedLine) {
-            actionContainer.writeUndoable(actionContainer.getRunnableReplaceCaretLine(shiftedLine), ACTION_TEXT);
+        ShiftEdit edit = getShiftedCaretLine(actionContainer, moreCount);
+        if (null != edit) {
+            actionContainer.writeUndoable(actionContainer.getRunnableReplaceCaretLine(edit.replacement), ACTION_TEXT);
         }
     }
+
+    /**
+     * Compute shifting of the caret line, w/o modifying the document
+     *
+     * @param  shiftContext
+     * @param  moreCount        Current "more" count, starting w/ 1. If non-more shift: null
+     * @return ShiftEdit        Replacement of the caret line. Null if the line isn't shiftable
+     */
+    @Nullable
+    static ShiftEdit getShiftedCaretLine(final ShiftContext shiftContext, @Nullable Integer moreCount) {
+        String shiftedLine = new ShiftableLine(shiftContext).getShifted(moreCount);
+
+        return null == shiftedLine || shiftedLine.equals(shiftContext.caretLine)
+            ? null
+            : shiftContext.getCaretLineEdit(shiftedLine);
+    }
 }
@@ -16,7 +16,10 @@
 package com.kstenschke.shifter.models;
 
 import com.kstenschke.shifter.models.shiftable_types.*;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.resources.StaticTexts;
+import com.kstenschke.shifter.utils.LineSorter;
+import com.kstenschke.shifter.utils.UtilsEnvironment;
 import com.kstenschke.shifter.utils.UtilsFile;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.Nullable;
@@ -73,14 +76,13 @@ public class ShiftableSelection {
 
         boolean isWrappedInParenthesis = Parenthesis.isWrappedInParenthesis(actionContainer.selectedText);
 
-        ShiftableTypesManager shiftableTypesManager = new ShiftableTypesManager();
-        ShiftableTypes.Type wordType = shiftableTypesManager.getWordType(actionContainer);
+        ShiftableTypes.Type wordType = ShiftableTypesManager.getWordType(actionContainer).type;
 
         boolean isPhpVariableOrArray = PHP_VARIABLE_OR_ARRAY == wordType;
 
         if (isWrappedInParenthesis) {
             boolean isShiftablePhpArray = isPhpVariableOrArray &&
-                                          PhpVariableOrArray.isStaticShiftablePhpArray(actionContainer.selectedText);
+                                          PhpVariableOrArray.isStaticShiftablePhpArray(actionContainer.selectedText, actionContainer.settings);
             if (!isPhpVariableOrArray || !isShiftablePhpArray) {
                 // Swap surrounding "(" and ")" versus "[" and "]"
                 actionContainer.writeUndoable(
@@ -94,7 +96,7 @@ public class ShiftableSelection {
         }
 
         boolean isJsVarsDeclarations    = !isPhpVariableOrArray && JS_VARIABLES_DECLARATIONS == wordType;
-        boolean containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.selectedText);
+        boolean containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.selectedText, actionContainer.settings);
         boolean isMultiLine             = UtilsTextual.isMultiLine(actionContainer.selectedText);
 
         if (UtilsFile.isCssFile(actionContainer.filename) && isMultiLine) {
@@ -168,7 +170,7 @@ public class ShiftableSelection {
             if (SeparatedList.isSeparatedList(actionContainer.selectedText,",")) {
                 // Comma-separated list: sort / ask whether to sort or toggle quotes
                 new ShiftableSelectionWithPopup(actionContainer).sortListOrSwapQuotesOrInterpolateTypeScriptInDocument(
-                        ",(\\s)*",
+                        StaticPatterns.LIST_DELIMITER_COMMA,
                         ", ",
                         true,
                         actionContainer.isShiftUp);
@@ -181,7 +183,7 @@ public class ShiftableSelection {
             ) {
                 // Pipe-separated list (not confused w/ || of logical conjunctions)
                 new ShiftableSelectionWithPopup(actionContainer).sortListOrSwapQuotesOrInterpolateTypeScriptInDocument(
-                    "\\|(\\s)*",
+                    StaticPatterns.LIST_DELIMITER_PIPE,
                     "|",
                     isJsConcatenationInTypeScript,
                     actionContainer.isShiftUp);
@@ -255,21 +257,23 @@ public class ShiftableSelection {
                         LogicalConjunction.ACTION_TEXT);
                 return;
             }
-            if (HtmlEncodable.isHtmlEncodable(actionContainer.selectedText)) {
+            HtmlEncodable.Direction htmlEncodableDirection = HtmlEncodable.getDirection(actionContainer.selectedText);
+            if (null != htmlEncodableDirection) {
                 actionContainer.writeUndoable(
-                        actionContainer.getRunnableReplaceSelection(HtmlEncodable.getShifted(actionContainer.selectedText)),
+                        actionContainer.getRunnableReplaceSelection(HtmlEncodable.getShifted(actionContainer.selectedText, htmlEncodableDirection)),
                         HtmlEncodable.ACTION_TEXT);
                 return;
             }
         }
 
         actionContainer.trimSelectedText();
-        final String shiftedWord = shiftableTypesManager.getShiftedWord(actionContainer, moreCount);
+        ShiftableTypeDetection trimmedWordDetection = ShiftableTypesManager.getWordType(actionContainer.selectedText, "", "", false, actionContainer);
+        final String shiftedWord = ShiftableTypesManager.getShiftedWord(actionContainer, actionContainer.selectedText, trimmedWordDetection, moreCount);
         if (isPhpVariableOrArray) {
             actionContainer.writeUndoable(
                     actionContainer.getRunnableReplaceSelection(
                         actionContainer.whiteSpaceLHSinSelection + shiftedWord + actionContainer.whiteSpaceRHSinSelection),
-                    shiftableTypesManager.getActionText());
+                    ShiftableTypesManager.getActionText(trimmedWordDetection.type));
             return;
         }
         if (UtilsTextual.isAllUppercase(actionContainer.selectedText)) {
@@ -347,21 +351,26 @@ public class ShiftableSelection {
      * @param reverse
      */
     static void sortLinesInDocument(final ActionContainer actionContainer, boolean reverse) {
-        List<String> lines = UtilsTextual.extractLines(
+        LineSorter lineSorter = new LineSorter(
             actionContainer.document, actionContainer.lineNumberSelStart, actionContainer.lineNumberSelEnd);
-        UtilsTextual.sortLinesNatural(lines, reverse);
-        String linesString = UtilsTextual.joinLines(lines).toString().trim();
+        lineSorter.sort(reverse);
 
-        if (UtilsTextual.hasDuplicateLines(linesString) && JOptionPane.showConfirmDialog(
+        boolean reduceDuplicateLines = lineSorter.hasDuplicateLines() && JOptionPane.showConfirmDialog(
                 null,
                 StaticTexts.MESSAGE_REDUCE_DUPLICATE_LINES,
                 StaticTexts.TITLE_REDUCE_DUPLICATE_LINES,
                 JOptionPane.OK_CANCEL_OPTION
-        ) == JOptionPane.OK_OPTION)
-        {
-            linesString = UtilsTextual.reduceDuplicateLines(linesString);
-        }
-
-        actionContainer.writeUndoable(actionContainer.getRunnableReplaceSelection(linesString, true), ACTION_TEXT_SHIFT_SELECTION);
+        ) == JOptionPane.OK_OPTION;
+        final String sortedLines = lineSorter.getSortedText(reduceDuplicateLines);
+        final boolean isBulkUpdate = lineSorter.size() >= ActionContainer.MIN_EDITS_BULK_UPDATE;
+
+        actionContainer.writeUndoable(() -> {
+            actionContainer.runInBulkUpdate(
+                    isBulkUpdate,
+                    () -> actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, sortedLines));
+            // Reformat after bulk update has finished
+            UtilsEnvironment.reformatSubString(
+                    actionContainer.editor, actionContainer.project, actionContainer.offsetSelectionStart, actionContainer.offsetSelectionStart + sortedLines.length());
+        }, ACTION_TEXT_SHIFT_SELECTION);
     }
 }
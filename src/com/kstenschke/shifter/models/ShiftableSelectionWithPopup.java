@@ -19,14 +19,15 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.command.CommandProcessor;
 import com.intellij.openapi.ui.popup.PopupChooserBuilder;
 import com.intellij.ui.components.JBList;
-import com.kstenschke.shifter.ShifterPreferences;
 import com.kstenschke.shifter.models.shiftable_types.*;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.resources.StaticTexts;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.regex.Pattern;
 
 public class ShiftableSelectionWithPopup extends ShiftableSelection {
 
@@ -41,7 +42,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
     public ShiftableSelectionWithPopup(ActionContainer actionContainer) {
         this.actionContainer = actionContainer;
 
-        containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.selectedText);
+        containsShiftableQuotes = QuotedString.containsShiftableQuotes(actionContainer.selectedText, actionContainer.settings);
         containsEscapedQuotes   = QuotedString.containsEscapedQuotes(actionContainer.selectedText);
     }
 
@@ -51,10 +52,10 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
         if (containsSingleQuotes && containsDoubleQuotes) {
             shiftOptions.add(StaticTexts.SHIFT_QUOTES_SWAP);
         }
-        if (containsDoubleQuotes && ShifterPreferences.getIsActiveConvertDoubleQuotes()) {
+        if (containsDoubleQuotes && actionContainer.settings.isActiveConvertDoubleQuotes) {
             shiftOptions.add(StaticTexts.SHIFT_QUOTES_DOUBLE_TO_SINGLE);
         }
-        if (containsSingleQuotes && ShifterPreferences.getIsActiveConvertSingleQuotes()) {
+        if (containsSingleQuotes && actionContainer.settings.isActiveConvertSingleQuotes) {
             shiftOptions.add(StaticTexts.SHIFT_QUOTES_SINGLE_TO_DOUBLE);
         }
         if (containsEscapedQuotes) {
@@ -75,7 +76,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
         shiftSelectionByPopupInDocument(shiftOptions, actionContainer.isShiftUp, phpConcatenation, null, null);
     }
 
-    void sortListOrSwapQuotesOrInterpolateTypeScriptInDocument(final String delimiterSplitPattern, final String delimiterGlue, final boolean isJsConcatenation, final boolean isUp) {
+    void sortListOrSwapQuotesOrInterpolateTypeScriptInDocument(final Pattern delimiterSplitPattern, final String delimiterGlue, final boolean isJsConcatenation, final boolean isUp) {
         if (!containsShiftableQuotes && !isJsConcatenation) {
             // Sort
             actionContainer.writeUndoable(
@@ -90,7 +91,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
             shiftOptions.add(StaticTexts.SHIFT_CONVERT_TO_TYPESCRIPT_STRING_INTERPOLATION);
         }
 
-        String[] items = actionContainer.selectedText.split(delimiterSplitPattern);
+        String[] items = delimiterSplitPattern.split(actionContainer.selectedText);
         shiftOptions.add(items.length == 2 ? StaticTexts.SHIFT_LIST_ITEMS_SWAP : StaticTexts.SHIFT_LIST_ITEMS_SORT);
 
         addQuoteShiftingOptions(shiftOptions);
@@ -99,10 +100,10 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
     }
 
     void interpolateConcatenationOrSwapQuotesInDocument(final boolean isUp) {
-        String delimiterSplitPattern = "\\|(\\s)*";
+        Pattern delimiterSplitPattern = StaticPatterns.LIST_DELIMITER_PIPE;
         List<String> shiftOptions = new ArrayList<>();
 
-        String[] items = actionContainer.selectedText.split(delimiterSplitPattern);
+        String[] items = delimiterSplitPattern.split(actionContainer.selectedText);
         shiftOptions.add(StaticTexts.SHIFT_CONVERT_TO_TYPESCRIPT_STRING_INTERPOLATION);
         if (items.length == 2) {
             shiftOptions.add(StaticTexts.SHIFT_LIST_ITEMS_SWAP);
@@ -180,9 +181,10 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
             List<String> shiftOptions,
             final boolean isUp,
             @Nullable final PhpConcatenation phpConcatenation,
-            @Nullable final String delimiterSplitPattern,
+            @Nullable final Pattern delimiterSplitPattern,
             @Nullable final String delimiterGlue
     ) {
+        long startTime = ShiftMetrics.start();
         final Object[] options = shiftOptions.toArray(new String[0]);
         final JBList modes = new JBList(options);
 
@@ -195,13 +197,14 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
                     phpConcatenation, delimiterSplitPattern, delimiterGlue),
                     null, null);
         })).setMovable(true).createPopup().showCenteredInCurrentWindow(actionContainer.project);
+        ShiftMetrics.record(ShiftMetrics.Stage.POPUP, null, startTime);
     }
 
     private void shiftSelectionByModeInDocument(
             String mode,
             boolean isUp,
             @Nullable PhpConcatenation phpConcatenation,
-            @Nullable String delimiterSplitPattern,
+            @Nullable Pattern delimiterSplitPattern,
             @Nullable String delimiterGlue
     ) {
         if (mode.equals(StaticTexts.SHIFT_CONCATENATION_ITEMS_SWAP_ORDER)) {
@@ -246,7 +249,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_SHIFT_DICTIONARY_TERM)) {
-            DictionaryTerm dictionaryTerm = new DictionaryTerm();
+            DictionaryTerm dictionaryTerm = new DictionaryTerm(actionContainer.settings.getDictionaryIndex());
             if (dictionaryTerm.isTermInDictionary(actionContainer.selectedText)) {
                 actionContainer.document.replaceString(
                         actionContainer.offsetSelectionStart,
@@ -306,9 +309,7 @@ public class ShiftableSelectionWithPopup extends ShiftableSelection {
             actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, SeparatedPath.getShifted(actionContainer.selectedText));
         }
         if (mode.equals(StaticTexts.SHIFT_CONVERT_PHP_ARRAY_TO_LONG_SYNTAX)) {
-            PhpVariableOrArray phpVariableOrArray = new PhpVariableOrArray();
-            phpVariableOrArray.init(actionContainer.selectedText);
-            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, phpVariableOrArray.getShiftedArray(actionContainer.selectedText));
+            actionContainer.document.replaceString(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd, PhpVariableOrArray.getShiftedArray(actionContainer.selectedText));
             return;
         }
         if (mode.equals(StaticTexts.SHIFT_SWAP_PARENTHESIS)) {
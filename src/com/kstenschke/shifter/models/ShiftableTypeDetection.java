@@ -0,0 +1,78 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.models.shiftable_types.DictionaryTerm;
+import com.kstenschke.shifter.models.shiftable_types.HtmlEncodable;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Result of detecting the type of a word: the type, plus what was found during detection and is needed for shifting.
+ * Immutable, results w/o such details are shared per type.
+ */
+class ShiftableTypeDetection {
+
+    private static final Map<ShiftableTypes.Type, ShiftableTypeDetection> DETECTIONS_BY_TYPE = new EnumMap<>(ShiftableTypes.Type.class);
+    static {
+        for (ShiftableTypes.Type type : ShiftableTypes.Type.values()) {
+            DETECTIONS_BY_TYPE.put(type, new ShiftableTypeDetection(type, null, null, null));
+        }
+    }
+
+    static final ShiftableTypeDetection UNKNOWN = of(ShiftableTypes.Type.UNKNOWN);
+
+    final ShiftableTypes.Type type;
+
+    // Dictionary term, bound to the terms-list containing it
+    @Nullable final DictionaryTerm dictionaryTerm;
+
+    // Quote character wrapping a quoted string
+    @Nullable final String quoteChar;
+
+    // Whether HTML encodable string is to be encoded or decoded
+    @Nullable final HtmlEncodable.Direction htmlEncodableDirection;
+
+    private ShiftableTypeDetection(
+            ShiftableTypes.Type type,
+            @Nullable DictionaryTerm dictionaryTerm,
+            @Nullable String quoteChar,
+            @Nullable HtmlEncodable.Direction htmlEncodableDirection
+    ) {
+        this.type                   = type;
+        this.dictionaryTerm         = dictionaryTerm;
+        this.quoteChar              = quoteChar;
+        this.htmlEncodableDirection = htmlEncodableDirection;
+    }
+
+    static ShiftableTypeDetection of(ShiftableTypes.Type type) {
+        return DETECTIONS_BY_TYPE.get(type);
+    }
+
+    static ShiftableTypeDetection ofDictionaryTerm(ShiftableTypes.Type type, DictionaryTerm dictionaryTerm) {
+        return new ShiftableTypeDetection(type, dictionaryTerm, null, null);
+    }
+
+    static ShiftableTypeDetection ofQuotedString(String quoteChar) {
+        return new ShiftableTypeDetection(ShiftableTypes.Type.QUOTED_STRING, null, quoteChar, null);
+    }
+
+    static ShiftableTypeDetection ofHtmlEncodable(HtmlEncodable.Direction direction) {
+        return new ShiftableTypeDetection(ShiftableTypes.Type.HTML_ENCODABLE, null, null, direction);
+    }
+}
@@ -17,34 +17,30 @@ package com.kstenschke.shifter.models;
 
 import com.kstenschke.shifter.models.shiftable_types.*;
 import com.kstenschke.shifter.utils.UtilsFile;
-import org.jetbrains.annotations.Nullable;
 
 import static com.kstenschke.shifter.models.ShiftableSelection.ACTION_TEXT_SHIFT_SELECTION;
 import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
 
 /**
- * Manager of "shiftable" word shiftable_types - detects word type to evoke resp. shifting
+ * Manager of "shiftable" word shiftable_types - detects word type to evoke resp. shifting.
+ * Stateless: the detectors are shared, what is found during detection is returned in a ShiftableTypeDetection.
  */
 class ShiftableTypesManager {
 
-    private ShiftableTypes.Type wordType;
-
     // Word type objects
-    private DictionaryTerm typeDictionaryTerm;
-    private AccessType accessType;
+    private static final AccessType accessType = new AccessType();
 
     // Generic shiftable_types (calculated when shifted)
-    private CssUnit typePixelValue;
-    private DocCommentTag typeTagInDocComment;
-    private DocCommentType typeDataTypeInDocComment;
-    private NumericValue typeNumericValue;
-    private OperatorSign typeOperatorSign;
-    private PhpVariableOrArray typePhpVariableOrArray;
-    private RgbColor typeRgbColor;
-    private RomanNumber typeRomanNumber;
-    private MonoCharacter typeMonoCharacterString;
-    private Tupel wordsTupel;
-    private QuotedString typeQuotedString;
+    private static final CssUnit typePixelValue                     = new CssUnit();
+    private static final DocCommentTag typeTagInDocComment          = new DocCommentTag();
+    private static final DocCommentType typeDataTypeInDocComment    = new DocCommentType();
+    private static final NumericValue typeNumericValue              = new NumericValue();
+    private static final OperatorSign typeOperatorSign              = new OperatorSign();
+    private static final PhpVariableOrArray typePhpVariableOrArray  = new PhpVariableOrArray();
+    private static final RgbColor typeRgbColor                      = new RgbColor();
+    private static final RomanNumber typeRomanNumber                = new RomanNumber();
+    private static final MonoCharacter typeMonoCharacterString      = new MonoCharacter();
+    private static final QuotedString typeQuotedString              = new QuotedString();
 
     /**
      * Detect word type (get the one w/ highest priority to be shifted) of given string
@@ -53,154 +49,167 @@ class ShiftableTypesManager {
      * @param  prefixChar               Prefix character
      * @param  postfixChar              Postfix character
      * @param  isLastLineInDocument
-     * @param  actionContainer
-     * @return int
+     * @param  shiftContext
+     * @return ShiftableTypeDetection
      */
-    ShiftableTypes.Type getWordType(
+    static ShiftableTypeDetection getWordType(
             String word,
             String prefixChar,
             String postfixChar,
             boolean isLastLineInDocument,
-            ActionContainer actionContainer
+            ShiftContext shiftContext
     ) {
+        long startTime = ShiftMetrics.start();
+        ShiftableTypeDetection detection = detectWordType(word, prefixChar, postfixChar, isLastLineInDocument, shiftContext);
+        ShiftMetrics.record(ShiftMetrics.Stage.DETECT, detection.type, startTime);
+
+        return detection;
+    }
+
+    private static ShiftableTypeDetection detectWordType(
+            String word,
+            String prefixChar,
+            String postfixChar,
+            boolean isLastLineInDocument,
+            ShiftContext shiftContext
+    ) {
+        // Scan word once, to rule out types before running their detectors
+        CharacterProfile profile = new CharacterProfile(word, prefixChar, postfixChar);
+
         // Selected code line w/ trailing //-comment: moves the comment into a new caretLine before the code
-        if (TrailingComment.isTrailingComment(word, postfixChar, isLastLineInDocument)) {
-            return TRAILING_COMMENT;
+        if (profile.canBe(TRAILING_COMMENT) && TrailingComment.isTrailingComment(word, postfixChar, isLastLineInDocument)) {
+            return ShiftableTypeDetection.of(TRAILING_COMMENT);
         }
 
-        if (PhpDocParam.isPhpDocParamLine(actionContainer.caretLine)
-         && !PhpDocParam.containsDataType(actionContainer.caretLine)) {
-//            return TYPE_PHP_DOC_PARAM_LINE;
+        if (shiftContext.isUntypedPhpDocParamCaretLine()) {
+//            return ShiftableTypeDetection.of(TYPE_PHP_DOC_PARAM_LINE);
             // PHP doc param line is handled in caretLine-shifting fallback
-            return UNKNOWN;
+            return ShiftableTypeDetection.UNKNOWN;
         }
         // PHP variable (must be prefixed w/ "$")
-        typePhpVariableOrArray = new PhpVariableOrArray();
-        if (typePhpVariableOrArray.isPhpVariableOrArray(word)) {
-            return PHP_VARIABLE_OR_ARRAY;
+        if (profile.canBe(PHP_VARIABLE_OR_ARRAY) && typePhpVariableOrArray.isPhpVariableOrArray(word, shiftContext.settings)) {
+            return ShiftableTypeDetection.of(PHP_VARIABLE_OR_ARRAY);
         }
-        if (Parenthesis.isWrappedInParenthesis(word)) {
-            return PARENTHESIS;
+        if (profile.canBe(PARENTHESIS) && Parenthesis.isWrappedInParenthesis(word)) {
+            return ShiftableTypeDetection.of(PARENTHESIS);
         }
 
-        if (JsVariablesDeclarations.isJsVariables(word)) {
-            return JS_VARIABLES_DECLARATIONS;
+        if (profile.canBe(JS_VARIABLES_DECLARATIONS) && JsVariablesDeclarations.isJsVariables(word)) {
+            return ShiftableTypeDetection.of(JS_VARIABLES_DECLARATIONS);
         }
-        if (SizzleSelector.isSelector(word)) {
-            return SIZZLE_SELECTOR;
+        if (profile.canBe(SIZZLE_SELECTOR) && SizzleSelector.isSelector(word)) {
+            return ShiftableTypeDetection.of(SIZZLE_SELECTOR);
         }
 
         // DocComment shiftable_types (must be prefixed w/ "@")
-        typeDataTypeInDocComment = new DocCommentType();
-        if (DocCommentType.isDocCommentTypeLineContext(actionContainer.caretLine)) {
-            typeTagInDocComment = new DocCommentTag();
-            if (prefixChar.matches("@")
-                && typeTagInDocComment.isDocCommentTag(prefixChar, actionContainer.caretLine)
+        if (shiftContext.isDocCommentCaretLine()) {
+            if ("@".equals(prefixChar)
+                && typeTagInDocComment.isDocCommentTag(prefixChar, shiftContext.caretLine)
             ) {
-                return DOC_COMMENT_TAG;
+                return ShiftableTypeDetection.of(DOC_COMMENT_TAG);
             }
-            if (typeDataTypeInDocComment.isDocCommentType(prefixChar, actionContainer.caretLine)) {
-                return DOC_COMMENT_DATA_TYPE;
+            if (typeDataTypeInDocComment.isDocCommentType(prefixChar, shiftContext.caretLine)) {
+                return ShiftableTypeDetection.of(DOC_COMMENT_DATA_TYPE);
             }
         }
 
         // Object visibility
-        accessType = new AccessType();
-        if (!"@".equals(prefixChar) && accessType.isAccessType(word)) {
-            return ACCESS_TYPE;
+        if (!"@".equals(prefixChar) && profile.canBe(ACCESS_TYPE) && accessType.isAccessType(word)) {
+            return ShiftableTypeDetection.of(ACCESS_TYPE);
         }
 
         // File extension specific term in dictionary
-        typeDictionaryTerm = new DictionaryTerm();
-        String fileExtension    = UtilsFile.extractFileExtension(actionContainer.filename);
+        String fileExtension    = UtilsFile.extractFileExtension(shiftContext.filename);
         if (null != fileExtension) {
-            if (typeDictionaryTerm.isTermInDictionary(word, fileExtension)) {
-                return DICTIONARY_WORD_EXT_SPECIFIC;
+            DictionaryTerm dictionaryTerm = shiftContext.mayBeDictionaryTerm(word, fileExtension)
+                    ? DictionaryTerm.findInDictionary(word, fileExtension, shiftContext.settings.getDictionaryIndex())
+                    : null;
+            if (null != dictionaryTerm) {
+                return ShiftableTypeDetection.ofDictionaryTerm(DICTIONARY_WORD_EXT_SPECIFIC, dictionaryTerm);
             }
             if (
-                UtilsFile.isJavaScriptFile(actionContainer.filename, true) &&
+                profile.canBe(JQUERY_OBSERVER) &&
+                UtilsFile.isJavaScriptFile(shiftContext.filename, true) &&
                 JqueryObserver.isJQueryObserver(word)
             ) {
-                    return JQUERY_OBSERVER;
+                    return ShiftableTypeDetection.of(JQUERY_OBSERVER);
             }
         }
 
         // Ternary Expression - swap IF and ELSE
-        if (TernaryExpression.isTernaryExpression(word, prefixChar)) {
-            return TERNARY_EXPRESSION;
+        if (profile.canBe(TERNARY_EXPRESSION) && TernaryExpression.isTernaryExpression(word, prefixChar)) {
+            return ShiftableTypeDetection.of(TERNARY_EXPRESSION);
         }
 
         // Quoted (must be wrapped in single or double quotes or backticks)
-        typeQuotedString = new QuotedString();
-        if (typeQuotedString.isQuotedString(prefixChar, postfixChar)) {
-            return QUOTED_STRING;
+        if (profile.canBe(QUOTED_STRING) && typeQuotedString.isQuotedString(prefixChar, postfixChar)) {
+            return ShiftableTypeDetection.ofQuotedString(prefixChar);
         }
         // RGB (must be prefixed w/ "#")
-        if (RgbColor.isRgbColorString(word, prefixChar)) {
-            typeRgbColor = new RgbColor();
-            return RGB_COLOR;
+        if (profile.canBe(RGB_COLOR) && RgbColor.isRgbColorString(word, prefixChar)) {
+            return ShiftableTypeDetection.of(RGB_COLOR);
         }
         // Pixel value (must consist of numeric value followed by "px")
-        if (CssUnit.isCssUnitValue(word)) {
-            typePixelValue = new CssUnit();
-            return CSS_UNIT;
+        if (profile.canBe(CSS_UNIT) && CssUnit.isCssUnitValue(word)) {
+            return ShiftableTypeDetection.of(CSS_UNIT);
         }
-        if (NumericValue.isNumericValue(word)) {
-            typeNumericValue = new NumericValue();
-            return NUMERIC_VALUE;
+        if (profile.canBe(NUMERIC_VALUE) && NumericValue.isNumericValue(word)) {
+            return ShiftableTypeDetection.of(NUMERIC_VALUE);
         }
         // Operator sign (<, >, +, -)
-        if (OperatorSign.isOperatorSign(word)) {
-            typeOperatorSign = new OperatorSign();
-            return OPERATOR_SIGN;
+        if (profile.canBe(OPERATOR_SIGN) && OperatorSign.isOperatorSign(word)) {
+            return ShiftableTypeDetection.of(OPERATOR_SIGN);
         }
         // Roman Numeral
-        if (RomanNumber.isRomanNumber(word)) {
-            typeRomanNumber = new RomanNumber();
-            return ROMAN_NUMERAL;
+        if (profile.canBe(ROMAN_NUMERAL) && RomanNumber.isRomanNumber(word)) {
+            return ShiftableTypeDetection.of(ROMAN_NUMERAL);
         }
-        if (LogicalOperator.isLogicalOperator(word)) {
+        if (profile.canBe(LOGICAL_OPERATOR) && LogicalOperator.isLogicalOperator(word)) {
             // Logical operators "&&" and "||" must be detected before MonoCharStrings to avoid confusing
-            return LOGICAL_OPERATOR;
+            return ShiftableTypeDetection.of(LOGICAL_OPERATOR);
         }
         // MonoCharString (= consisting from any amount of the same character)
-        if (MonoCharacter.isMonoCharacterString(word)) {
-            typeMonoCharacterString = new MonoCharacter();
-            return MONO_CHARACTER;
+        if (profile.canBe(MONO_CHARACTER) && MonoCharacter.isMonoCharacterString(word)) {
+            return ShiftableTypeDetection.of(MONO_CHARACTER);
         }
         // Term in dictionary (anywhere, that is w/o limiting to the current file extension)
-        if (typeDictionaryTerm.isTermInDictionary(word)) {
-            return DICTIONARY_WORD_GLOBAL;
+        DictionaryTerm dictionaryTerm = shiftContext.mayBeDictionaryTerm(word, null)
+                ? DictionaryTerm.findInDictionary(word, null, shiftContext.settings.getDictionaryIndex())
+                : null;
+        if (null != dictionaryTerm) {
+            return ShiftableTypeDetection.ofDictionaryTerm(DICTIONARY_WORD_GLOBAL, dictionaryTerm);
         }
-        if (NumericPostfixed.hasNumericPostfix(word)) {
-            return NUMERIC_POSTFIXED;
+        if (profile.canBe(NUMERIC_POSTFIXED) && NumericPostfixed.hasNumericPostfix(word)) {
+            return ShiftableTypeDetection.of(NUMERIC_POSTFIXED);
         }
-        wordsTupel = new Tupel(actionContainer);
-        if (wordsTupel.isWordsTupel(word)) {
-            return WORDS_TUPEL;
+        if (profile.canBe(WORDS_TUPEL) && null != Tupel.getDelimiter(word)) {
+            return ShiftableTypeDetection.of(WORDS_TUPEL);
         }
-        if (SeparatedPath.isSeparatedPath(word)) {
-            return SEPARATED_PATH;
+        if (profile.canBe(SEPARATED_PATH) && SeparatedPath.isSeparatedPath(word)) {
+            return ShiftableTypeDetection.of(SEPARATED_PATH);
         }
-        if (CamelCaseString.isCamelCase(word)) {
-            return CAMEL_CASED;
+        if (profile.canBe(CAMEL_CASED) && CamelCaseString.isCamelCase(word)) {
+            return ShiftableTypeDetection.of(CAMEL_CASED);
         }
-        if (HtmlEncodable.isHtmlEncodable(word)) {
-            return HTML_ENCODABLE;
+        if (profile.canBe(HTML_ENCODABLE)) {
+            HtmlEncodable.Direction htmlEncodableDirection = HtmlEncodable.getDirection(word);
+            if (null != htmlEncodableDirection) {
+                return ShiftableTypeDetection.ofHtmlEncodable(htmlEncodableDirection);
+            }
         }
 
-        return UNKNOWN;
+        return ShiftableTypeDetection.UNKNOWN;
     }
 
-    ShiftableTypes.Type getWordType(ActionContainer actionContainer) {
-        int editorTextLength = actionContainer.editorText.length();
-        int offsetPostfixChar = actionContainer.caretOffset + actionContainer.selectedText.length();
+    static ShiftableTypeDetection getWordType(ShiftContext shiftContext) {
+        int editorTextLength = shiftContext.editorText.length();
+        int offsetPostfixChar = shiftContext.caretOffset + shiftContext.selectedText.length();
         String postfixChar = editorTextLength > offsetPostfixChar
-                ? String.valueOf(actionContainer.editorText.charAt(offsetPostfixChar))
+                ? String.valueOf(shiftContext.editorText.charAt(offsetPostfixChar))
                 : "";
         boolean isLastLineInDocument = offsetPostfixChar == editorTextLength;
 
-        return getWordType(actionContainer.selectedText, "", postfixChar, isLastLineInDocument, actionContainer);
+        return getWordType(shiftContext.selectedText, "", postfixChar, isLastLineInDocument, shiftContext);
     }
 
     /**
@@ -208,81 +217,92 @@ class ShiftableTypesManager {
      * ShifterTypesManager: get next/previous keyword of given word group
      * Generic: calculate shifted value
      *
-     * @param  actionContainer
+     * @param  shiftContext
      * @param  word         Word to be shifted
-     * @param  wordType     Shiftable word type
+     * @param  detection    Detected shiftable word type
      * @param  moreCount    Current "more" count, starting w/ 1. If non-more shift: null
      * @return              The shifted word
      */
-    String getShiftedWord(
-            ActionContainer actionContainer,
+    static String getShiftedWord(
+            ShiftContext shiftContext,
             String word,
-            ShiftableTypes.Type wordType,
+            ShiftableTypeDetection detection,
             Integer moreCount
     ) {
-        switch (wordType) {
+        long startTime = ShiftMetrics.start();
+        String shifted = shiftWord(shiftContext, word, detection, moreCount);
+        ShiftMetrics.record(ShiftMetrics.Stage.SHIFT, detection.type, startTime);
+
+        return shifted;
+    }
+
+    private static String shiftWord(
+            ShiftContext shiftContext,
+            String word,
+            ShiftableTypeDetection detection,
+            Integer moreCount
+    ) {
+        switch (detection.type) {
             // String based word shiftable_types
             case ACCESS_TYPE:
-                return accessType.getShifted(word, actionContainer.isShiftUp);
+                return accessType.getShifted(word, shiftContext.isShiftUp);
             case DICTIONARY_WORD_GLOBAL:
             case DICTIONARY_WORD_EXT_SPECIFIC:
                 // The dictionary stored the matching terms-line, we don't need to differ global/ext-specific anymore
-                return typeDictionaryTerm.getShifted(word, actionContainer.isShiftUp);
+                return detection.dictionaryTerm.getShifted(word, shiftContext.isShiftUp);
             // Generic shiftable_types (shifting is calculated)
             case SIZZLE_SELECTOR:
-                return SizzleSelector.getShifted(word, actionContainer);
+                return SizzleSelector.getShifted(word, shiftContext);
             case RGB_COLOR:
-                return typeRgbColor.getShifted(word, actionContainer.isShiftUp);
+                return typeRgbColor.getShifted(word, shiftContext.isShiftUp);
             case NUMERIC_VALUE:
                 // Numeric values including UNIX and millisecond timestamps
-                return typeNumericValue.getShifted(word, actionContainer);
+                return typeNumericValue.getShifted(word, shiftContext);
             case CSS_UNIT:
-                return typePixelValue.getShifted(word, actionContainer.isShiftUp);
+                return typePixelValue.getShifted(word, shiftContext.isShiftUp);
             case JQUERY_OBSERVER:
                 return JqueryObserver.getShifted(word);
             case PHP_VARIABLE_OR_ARRAY:
-                return typePhpVariableOrArray.getShifted(word, actionContainer, moreCount);
+                return typePhpVariableOrArray.getShifted(word, shiftContext, moreCount);
             case TERNARY_EXPRESSION:
                 return TernaryExpression.getShifted(word);
             case QUOTED_STRING:
-                return typeQuotedString.getShifted(word, actionContainer);
+                return typeQuotedString.getShifted(word, detection.quoteChar, shiftContext);
             case PARENTHESIS:
                 return Parenthesis.getShifted(word);
             case OPERATOR_SIGN:
                 return typeOperatorSign.getShifted(word);
             case ROMAN_NUMERAL:
-                return typeRomanNumber.getShifted(word, actionContainer.isShiftUp);
+                return typeRomanNumber.getShifted(word, shiftContext.isShiftUp);
             case LOGICAL_OPERATOR:
                 return LogicalOperator.getShifted(word);
             case MONO_CHARACTER:
-                return typeMonoCharacterString.getShifted(word, actionContainer.isShiftUp);
+                return typeMonoCharacterString.getShifted(word, shiftContext.isShiftUp);
             case DOC_COMMENT_TAG:
-                String textAfterCaret   = actionContainer.editorText.toString().substring(actionContainer.caretOffset);
-                return typeTagInDocComment.getShifted(word, actionContainer, textAfterCaret);
+                CharSequence textAfterCaret = shiftContext.editorText.subSequence(shiftContext.caretOffset, shiftContext.editorText.length());
+                return typeTagInDocComment.getShifted(word, shiftContext, textAfterCaret);
             case DOC_COMMENT_DATA_TYPE:
-                return typeDataTypeInDocComment.getShifted(word, actionContainer);
+                return typeDataTypeInDocComment.getShifted(word, shiftContext);
             case SEPARATED_PATH:
                 return SeparatedPath.getShifted(word);
             case CAMEL_CASED:
                 return CamelCaseString.getShifted(word);
             case HTML_ENCODABLE:
-                return HtmlEncodable.getShifted(word);
+                return null == detection.htmlEncodableDirection
+                        ? HtmlEncodable.getShifted(word)
+                        : HtmlEncodable.getShifted(word, detection.htmlEncodableDirection);
             case NUMERIC_POSTFIXED:
-                return NumericPostfixed.getShifted(word, actionContainer.isShiftUp);
+                return NumericPostfixed.getShifted(word, shiftContext.isShiftUp);
             case WORDS_TUPEL:
+                Tupel wordsTupel = new Tupel(shiftContext);
+                wordsTupel.isWordsTupel(word);
                 return wordsTupel.getShifted(word, true);
             default:
                 return word;
         }
     }
 
-    String getShiftedWord(ActionContainer actionContainer, @Nullable Integer moreCount) {
-        wordType = getWordType(actionContainer.selectedText, "", "", false, actionContainer);
-
-        return getShiftedWord(actionContainer, actionContainer.selectedText, wordType, moreCount);
-    }
-
-    String getActionText() {
+    static String getActionText(ShiftableTypes.Type wordType) {
         switch (wordType) {
             case CSS_UNIT:
                 return CssUnit.ACTION_TEXT;
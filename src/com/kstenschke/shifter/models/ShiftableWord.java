@@ -15,7 +15,7 @@
  */
 package com.kstenschke.shifter.models;
 
-import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.models.shiftable_types.AccessType;
 import com.kstenschke.shifter.models.shiftable_types.CssUnit;
 import com.kstenschke.shifter.models.shiftable_types.JsDoc;
 import com.kstenschke.shifter.models.shiftable_types.NumericValue;
@@ -23,7 +23,6 @@ import com.kstenschke.shifter.utils.UtilsFile;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.regex.Pattern;
 
 import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
 
@@ -32,16 +31,16 @@ import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
  */
 public class ShiftableWord {
 
-    private final ShiftableTypesManager shiftingShiftableTypesManager;
     private final String word;
 
     // "more" count, starting w/ 1. If non-more shift: null
     private final Integer moreCount;
 
+    private final ShiftableTypeDetection detection;
     private final ShiftableTypes.Type wordType;
     private final boolean isShiftable;
 
-    final private ActionContainer actionContainer;
+    final private ShiftContext shiftContext;
 
     /**
      * @param word        Shiftable word
@@ -50,19 +49,18 @@ public class ShiftableWord {
      * @param moreCount   Current "more" count, starting w/ 1. If non-more shift: null
      */
     public ShiftableWord(
-            ActionContainer actionContainer,
+            ShiftContext shiftContext,
             String word,
             String prefixChar,
             String postfixChar,
             @Nullable Integer moreCount
     ) {
-        this.actionContainer = actionContainer;
-        this.moreCount       = moreCount;
-
-        shiftingShiftableTypesManager = new ShiftableTypesManager();
+        this.shiftContext = shiftContext;
+        this.moreCount    = moreCount;
 
         // Detect word type
-        wordType = shiftingShiftableTypesManager.getWordType(word, prefixChar, postfixChar, false, actionContainer);
+        detection = ShiftableTypesManager.getWordType(word, prefixChar, postfixChar, false, shiftContext);
+        wordType  = detection.type;
 
         // Comprehend negative values of numeric shiftable_types
         this.word = (
@@ -83,7 +81,7 @@ public class ShiftableWord {
      */
     public String getShifted() {
         if (isShiftable) {
-            String shiftedWord = shiftingShiftableTypesManager.getShiftedWord(actionContainer, word, wordType, moreCount);
+            String shiftedWord = ShiftableTypesManager.getShiftedWord(shiftContext, word, detection, moreCount);
 
             return word.equals(shiftedWord) ? word : maintainCasingOnShiftedWord(shiftedWord);
         }
@@ -91,11 +89,59 @@ public class ShiftableWord {
         return word;
     }
 
+    /**
+     * Get word shifted up/down by the given amount of steps, computed in memory w/o modifying the document
+     *
+     * @param  amountSteps  Amount of shifting steps
+     * @return String       Word shifted by the given amount of steps, or original word if it isn't shiftable stepwise
+     */
+    String getShifted(int amountSteps) {
+        if (!isShiftableStepwise()) {
+            return word;
+        }
+        if (ACCESS_TYPE == wordType) {
+            // Ring of keywords: shift by all steps at once
+            String shiftedWord = new AccessType().getShifted(word, shiftContext.isShiftUp ? amountSteps : -amountSteps);
+
+            return word.equals(shiftedWord) ? word : maintainCasingOnShiftedWord(shiftedWord);
+        }
+
+        String shiftedWord = word;
+        for (int step = 0; step < amountSteps; step++) {
+            String shiftedStep = ShiftableTypesManager.getShiftedWord(shiftContext, shiftedWord, detection, null);
+            if (null == shiftedStep || shiftedStep.equals(shiftedWord)) {
+                // Reached end of range, e.g. "I" in roman numerals or black in RGB colors
+                break;
+            }
+            shiftedWord = shiftedStep;
+        }
+
+        return word.equals(shiftedWord) ? word : maintainCasingOnShiftedWord(shiftedWord);
+    }
+
+    /**
+     * @return boolean  Does shifting the word multiple times result in the same type, so it can be repeated in memory?
+     */
+    boolean isShiftableStepwise() {
+        switch (wordType) {
+            case ACCESS_TYPE:
+            case CSS_UNIT:
+            case DICTIONARY_WORD_EXT_SPECIFIC:
+            case DICTIONARY_WORD_GLOBAL:
+            case NUMERIC_VALUE:
+            case RGB_COLOR:
+            case ROMAN_NUMERAL:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private String maintainCasingOnShiftedWord(String shiftedWord) {
         if (    PHP_VARIABLE_OR_ARRAY != wordType
              && QUOTED_STRING != wordType
              && CAMEL_CASED != wordType
-             && ShifterPreferences.getIsActivePreserveCase()
+             && shiftContext.settings.isActivePreserveCase
         ) {
             if (UtilsTextual.isAllUppercase(word)) {
                 return shiftedWord.toUpperCase();
@@ -119,7 +165,7 @@ public class ShiftableWord {
      * @return String   Post-processed word
      */
     private String postProcess(String word, String postfix) {
-        if (!UtilsFile.isCssFile(actionContainer.filename)) {
+        if (!UtilsFile.isCssFile(shiftContext.filename)) {
             return word;
         }
 
@@ -128,7 +174,7 @@ public class ShiftableWord {
             case NUMERIC_VALUE:
                 return CssUnit.isCssUnit(postfix)
                         ? word
-                        : word + CssUnit.determineMostProminentUnit(actionContainer.editorText.toString());
+                        : word + CssUnit.determineMostProminentUnit(shiftContext.editorText);
             case CSS_UNIT:
                 // Correct "0px" (or other unit) to "0"
                 return word.startsWith("0") ? "0" : word;
@@ -144,30 +190,114 @@ public class ShiftableWord {
      * @return boolean
      */
     public static boolean shiftWordAtCaretInDocument(ActionContainer actionContainer, @Nullable Integer moreCount) {
-        boolean isOperator = false;
-        String word        = UtilsTextual.getOperatorAtOffset(actionContainer.editorText, actionContainer.caretOffset);
-        if (null == word) {
-            boolean isCSS = actionContainer.fileExtension.endsWith("css");
-            word = UtilsTextual.getWordAtOffset(actionContainer.editorText, actionContainer.caretOffset, isCSS);
-        } else {
-            isOperator = true;
+        if (shiftJsDocWordAtCaretInDocument(actionContainer)) {
+            return true;
         }
 
-        if (null == word || word.isEmpty()) {
+        ShiftEdit edit = getShiftedWordAtCaret(actionContainer, moreCount);
+        if (null == edit) {
             return false;
         }
-        if (actionContainer.fileExtension.endsWith("js") && shiftWordAtCaretInJsDocument(actionContainer, word)) {
-            return true;
+        replaceWordInDocument(actionContainer, edit);
+
+        return true;
+    }
+
+    /**
+     * Correct JsDoc data type at caret (add missing curly brackets) or invalid "@return" in caret line of JavaScript file
+     *
+     * @param  actionContainer
+     * @return boolean          Was the JsDoc corrected?
+     */
+    static boolean shiftJsDocWordAtCaretInDocument(ActionContainer actionContainer) {
+        if (!actionContainer.fileExtension.endsWith("js")) {
+            return false;
+        }
+        CaretContext.Token token = actionContainer.getCaretContext().getOperatorOrWord();
+
+        return null != token && shiftWordAtCaretInJsDocument(actionContainer, token.text);
+    }
+
+    /**
+     * Compute shifting of the operator or word at caret, w/o modifying the document
+     *
+     * @param  shiftContext
+     * @param  moreCount        Current "more" count, starting w/ 1. If non-more shift: null
+     * @return ShiftEdit        Replacement of the shifted word. Null if it isn't shiftable
+     */
+    @Nullable
+    static ShiftEdit getShiftedWordAtCaret(ShiftContext shiftContext, @Nullable Integer moreCount) {
+        CaretContext caretContext = shiftContext.getCaretContext();
+        CaretContext.Token token = caretContext.getOperatorOrWord();
+        if (null == token) {
+            return null;
         }
+        boolean isOperator = null != caretContext.operator;
 
-        boolean isWordShifted = !getShiftedWordInDocument(actionContainer, word, null, true, isOperator, moreCount).equals(word);
-        if (!isWordShifted) {
+        ShiftEdit edit = getShiftedWordEdit(shiftContext, token.text, token.offsetStart, token.prefixChar, token.postfixChar, isOperator, moreCount);
+        if (null == edit) {
             // Shifting failed, try shifting lower-cased string
-            String wordLower = word.toLowerCase();
-            isWordShifted = !getShiftedWordInDocument(actionContainer, wordLower, null, true, false, moreCount).equals(wordLower);
+            edit = getShiftedWordEdit(shiftContext, token.text.toLowerCase(), token.offsetStart, token.prefixChar, token.postfixChar, false, moreCount);
         }
 
-        return isWordShifted;
+        return edit;
+    }
+
+    /**
+     * Shift word at caret by the given amount of steps, computed in memory and replaced in the document at once
+     *
+     * @param  actionContainer
+     * @param  moreSize         Amount of shifting steps
+     * @return boolean          Was the JsDoc corrected or the word at caret of a stepwise shiftable type and shifted?
+     */
+    public static boolean shiftWordAtCaretByStepsInDocument(ActionContainer actionContainer, int moreSize) {
+        if (shiftJsDocWordAtCaretInDocument(actionContainer)) {
+            return true;
+        }
+
+        ShiftEdit edit = getShiftedWordByStepsAtCaret(actionContainer, moreSize);
+        if (null == edit) {
+            return false;
+        }
+        if (edit.isModifying(actionContainer.editorText)) {
+            replaceWordInDocument(actionContainer, edit);
+        }
+
+        return true;
+    }
+
+    /**
+     * Compute shifting of the word at caret by the given amount of steps, w/o modifying the document
+     *
+     * @param  shiftContext
+     * @param  moreSize         Amount of shifting steps
+     * @return ShiftEdit        Replacement of the word, by itself if shifting doesn't change it. Null if the word at caret isn't of a stepwise shiftable type
+     */
+    @Nullable
+    static ShiftEdit getShiftedWordByStepsAtCaret(ShiftContext shiftContext, int moreSize) {
+        CaretContext caretContext = shiftContext.getCaretContext();
+        if (null != caretContext.operator || null == caretContext.word) {
+            return null;
+        }
+
+        String word        = caretContext.word.text;
+        int wordOffset     = caretContext.word.offsetStart;
+        String prefixChar  = caretContext.word.prefixChar;
+        String postfixChar = caretContext.word.postfixChar;
+
+        ShiftableWord shiftableWord = new ShiftableWord(shiftContext, word, prefixChar, postfixChar, null);
+        if (!shiftableWord.isShiftableStepwise()) {
+            return null;
+        }
+
+        if ((NumericValue.isNumericValue(word) || CssUnit.isCssUnitValue(word)) && "-".equals(prefixChar)) {
+            word = "-" + word;
+            wordOffset--;
+        }
+
+        String newWord = shiftableWord.getShifted(moreSize);
+
+        return new ShiftEdit(wordOffset, wordOffset + word.length(), newWord.equals(word) ? word : shiftableWord.postProcess(newWord, postfixChar));
     }
 
     @Nullable
@@ -197,7 +327,7 @@ public class ShiftableWord {
      * @param filename
      * @param word
      * @param line
-     * @param wordOffset        null = calculate from word at offset
+     * @param wordOffset        Offset of the word in the document
      * @param replaceInDocument
      * @param isOperator
      * @param moreCount         current "more" count, starting w/ 1. If non-more shift: null
@@ -206,23 +336,47 @@ public class ShiftableWord {
     public static String getShiftedWordInDocument(
             final ActionContainer actionContainer,
             String word,
-            @Nullable Integer wordOffset,
+            int wordOffset,
             Boolean replaceInDocument,
             boolean isOperator,
             @Nullable Integer moreCount
     ) {
-        if (null == wordOffset) {
-            // Extract offset of word at caret
-            wordOffset = isOperator
-                    ? UtilsTextual.getStartOfOperatorAtOffset(actionContainer.editorText, actionContainer.caretOffset)
-                    : UtilsTextual.getStartOfWordAtOffset(actionContainer.editorText, actionContainer.caretOffset);
-        }
-
         String prefixChar  = UtilsTextual.getCharBeforeOffset(actionContainer.editorText, wordOffset);
         String postfixChar = UtilsTextual.getCharAfterOffset(actionContainer.editorText, wordOffset + word.length() - 1);
 
+        ShiftEdit edit = getShiftedWordEdit(actionContainer, word, wordOffset, prefixChar, postfixChar, isOperator, moreCount);
+        if (null == edit) {
+            return word;
+        }
+
+        if (replaceInDocument) {
+            replaceWordInDocument(actionContainer, edit);
+        }
+        return edit.replacement;
+    }
+
+    /**
+     * @param  shiftContext
+     * @param  word
+     * @param  wordOffset       Offset of the word in the document
+     * @param  prefixChar       Character before the word
+     * @param  postfixChar      Character after the word
+     * @param  isOperator
+     * @param  moreCount        current "more" count, starting w/ 1. If non-more shift: null
+     * @return ShiftEdit        Replacement of the word by its shifted value. Null if no shift-ability was found
+     */
+    @Nullable
+    private static ShiftEdit getShiftedWordEdit(
+            final ShiftContext shiftContext,
+            String word,
+            int wordOffset,
+            String prefixChar,
+            String postfixChar,
+            boolean isOperator,
+            @Nullable Integer moreCount
+    ) {
         // Identify word type and shift it accordingly
-        ShiftableWord shiftableShiftableWord = new ShiftableWord(actionContainer, word, prefixChar, postfixChar, moreCount);
+        ShiftableWord shiftableShiftableWord = new ShiftableWord(shiftContext, word, prefixChar, postfixChar, moreCount);
 
         if (!isOperator && (NumericValue.isNumericValue(word) || CssUnit.isCssUnitValue(word)) && "-".equals(prefixChar)) {
             word = "-" + word;
@@ -230,27 +384,27 @@ public class ShiftableWord {
         }
 
         String newWord = shiftableShiftableWord.getShifted();
-        if (null == newWord || newWord.length() == 0 || newWord.matches(Pattern.quote(word)) || null == wordOffset) {
-            return word;
+        if (null == newWord || newWord.length() == 0 || newWord.equals(word)) {
+            return null;
         }
 
-        newWord = shiftableShiftableWord.postProcess(newWord, postfixChar);
-        final int wordOffsetFin = wordOffset;
-        final int wordOffsetEndFin = wordOffset + word.length();
-        final String newWordFin = newWord;
-
-        if (replaceInDocument) {
-            // Replace word at caret by shifted one (if any)
-            actionContainer.writeUndoable(
-                    () -> {
-                        actionContainer.document.replaceString(wordOffsetFin, wordOffsetEndFin, newWordFin);
-                        if (actionContainer.selectedText.isEmpty() && newWordFin.contains(" ")) {
-                            // There's no selection and shifted word newly contains a space: select it
-                            actionContainer.selectionModel.setSelection(wordOffsetFin, wordOffsetFin + newWordFin.length());
-                        }
-                    });
+        return new ShiftEdit(wordOffset, wordOffset + word.length(), shiftableShiftableWord.postProcess(newWord, postfixChar));
+    }
 
-        }
-        return newWord;
+    /**
+     * Replace word at caret by shifted one
+     *
+     * @param actionContainer
+     * @param edit              Replacement of the word by its shifted value
+     */
+    static void replaceWordInDocument(final ActionContainer actionContainer, final ShiftEdit edit) {
+        actionContainer.writeUndoable(
+                () -> {
+                    actionContainer.document.replaceString(edit.offsetStart, edit.offsetEnd, edit.replacement);
+                    if (actionContainer.selectedText.isEmpty() && edit.replacement.contains(" ")) {
+                        // There's no selection and shifted word newly contains a space: select it
+                        actionContainer.selectionModel.setSelection(edit.offsetStart, edit.offsetStart + edit.replacement.length());
+                    }
+                });
     }
 }
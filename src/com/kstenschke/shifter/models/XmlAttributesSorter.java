@@ -0,0 +1,103 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.xml.XmlAttribute;
+import com.intellij.psi.xml.XmlFile;
+import com.intellij.psi.xml.XmlTag;
+import com.kstenschke.shifter.models.comparators.AlphanumComparator;
+import com.kstenschke.shifter.utils.UtilsFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorting of the attributes of all tags of markup files by attribute name. Tags and attributes are found via PSI,
+ * so quoting, attributes w/o value and text within scripts, styles, comments and CDATA are kept as they are.
+ */
+class XmlAttributesSorter {
+
+    /**
+     * @param  text
+     * @param  filename Name or path of the file, its file type selects the parser
+     * @return String   Given text w/ the attributes of all tags sorted by name. Unchanged if the file type isn't XML based
+     */
+    static String getSorted(String text, String filename) {
+        return getSorted(text, ReadAction.compute(() -> getAttributesPerTag(text, filename)));
+    }
+
+    /**
+     * @param  text
+     * @param  filename
+     * @return List     Per tag w/ multiple attributes: start-, name end- and end-offset of each of its attributes, in order of occurrence
+     */
+    private static List<int[][]> getAttributesPerTag(String text, String filename) {
+        List<int[][]> attributesPerTag = new ArrayList<>();
+
+        String basename = UtilsFile.getBasename(filename);
+        PsiFile file = PsiFileFactory.getInstance(ProjectManager.getInstance().getDefaultProject())
+                .createFileFromText(basename, FileTypeManager.getInstance().getFileTypeByFileName(basename), text);
+        if (!(file instanceof XmlFile)) {
+            return attributesPerTag;
+        }
+
+        for (XmlTag tag : PsiTreeUtil.findChildrenOfType(file, XmlTag.class)) {
+            XmlAttribute[] attributes = tag.getAttributes();
+            if (attributes.length < 2) {
+                continue;
+            }
+            int[][] offsets = new int[attributes.length][];
+            for (int i = 0; i < attributes.length; i++) {
+                offsets[i] = new int[]{
+                        attributes[i].getTextRange().getStartOffset(),
+                        attributes[i].getNameElement().getTextRange().getEndOffset(),
+                        attributes[i].getTextRange().getEndOffset()
+                };
+            }
+            attributesPerTag.add(offsets);
+        }
+
+        return attributesPerTag;
+    }
+
+    /**
+     * @param  text
+     * @param  attributesPerTag Per tag: start-, name end- and end-offset of each of its attributes, in order of occurrence
+     * @return String           Given text w/ the attributes of each tag sorted by name, whitespace between them is kept
+     */
+    static String getSorted(String text, List<int[][]> attributesPerTag) {
+        List<ShiftEdit> edits = new ArrayList<>();
+        AlphanumComparator comparator = new AlphanumComparator();
+        for (int[][] attributes : attributesPerTag) {
+            int[][] sorted = attributes.clone();
+            Arrays.sort(sorted, (a, b) -> comparator.compare(text, a[0], a[1], b[0], b[1]));
+            for (int i = 0; i < attributes.length; i++) {
+                if (sorted[i] != attributes[i]) {
+                    edits.add(new ShiftEdit(attributes[i][0], attributes[i][2], text.substring(sorted[i][0], sorted[i][2])));
+                }
+            }
+        }
+
+        return edits.isEmpty() ? text : ShiftEdit.apply(text, edits);
+    }
+}
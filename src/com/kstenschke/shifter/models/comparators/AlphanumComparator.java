@@ -23,12 +23,18 @@ package com.kstenschke.shifter.models.comparators;
  * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
  */
 
-import org.apache.commons.lang.StringUtils;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
+/**
+ * Case-insensitive natural comparison: chunks of digits are compared numerically (of any length, ignoring leading zeros),
+ * all other chunks alphabetically. Comparison is done on the char indices of the given strings, w/o creating any objects.
+ */
 public class AlphanumComparator implements Comparator<String>
 {
-    private Comparator<String> comparator = new NaturalComparator();
+    // Comparator of non-numeric chunks, null = compare in place
+    private Comparator<String> comparator = null;
 
     public AlphanumComparator(Comparator<String> comparator) {
         this.comparator = comparator;
@@ -37,109 +43,172 @@ public class AlphanumComparator implements Comparator<String>
     public AlphanumComparator() {
     }
 
-    private boolean isDigit(char ch) {
+    private static boolean isDigit(char ch) {
         return ch >= 48 && ch <= 57;
     }
 
-    /** Length of string is passed in for improved efficiency (only need to calculate it once) **/
-    private String getChunk(String str, int strLength, int offset) {
-        StringBuilder chunk = new StringBuilder();
-        char currentChar = str.charAt(offset);
-        chunk.append(currentChar);
+    /** @return Offset after the chunk (of digits or non-digits) starting at given offset **/
+    private static int getChunkEnd(CharSequence str, int strLength, int offset) {
+        boolean isDigitChunk = isDigit(str.charAt(offset));
         offset++;
-
-        if (isDigit(currentChar)) {
-            while (offset < strLength) {
-                currentChar = str.charAt(offset);
-                if (!isDigit(currentChar)) {
-                    break;
-                }
-                chunk.append(currentChar);
-                offset++;
-            }
-        } else {
-            while (offset < strLength) {
-                currentChar = str.charAt(offset);
-                if (isDigit(currentChar)) {
-                    break;
-                }
-                chunk.append(currentChar);
-                offset++;
-            }
+        while (offset < strLength && isDigit(str.charAt(offset)) == isDigitChunk) {
+            offset++;
         }
-        return chunk.toString();
+
+        return offset;
     }
 
     public int compare(String s1, String s2) {
-        s1 = prepareStringForCompare(s1);
-        s2 = prepareStringForCompare(s2);
+        return compare(s1, s2, false);
+    }
 
-        int thisMarker = 0;
-        int thatMarker = 0;
-        int s1Length = s1.length();
-        int s2Length = s2.length();
+    /**
+     * Compare two regions of the given text, case-insensitive and in place
+     *
+     * @param  text
+     * @param  start1
+     * @param  end1
+     * @param  start2
+     * @param  end2
+     * @return int
+     */
+    public int compare(CharSequence text, int start1, int end1, int start2, int end2) {
+        return compare(text, start1, end1, text, start2, end2, false);
+    }
+
+    /**
+     * @param  s1
+     * @param  s2
+     * @param  isLowerCased Are both strings lower-cased already?
+     * @return int
+     */
+    private int compare(CharSequence s1, CharSequence s2, boolean isLowerCased) {
+        return compare(s1, 0, s1.length(), s2, 0, s2.length(), isLowerCased);
+    }
 
-        while (thisMarker < s1Length && thatMarker < s2Length) {
-            String thisChunk = getChunk(s1, s1Length, thisMarker);
-            thisMarker += thisChunk.length();
+    private int compare(CharSequence s1, int start1, int end1, CharSequence s2, int start2, int end2, boolean isLowerCased) {
+        int thisMarker = start1;
+        int thatMarker = start2;
 
-            String thatChunk = getChunk(s2, s2Length, thatMarker);
-            thatMarker += thatChunk.length();
+        while (thisMarker < end1 && thatMarker < end2) {
+            int thisChunkEnd = getChunkEnd(s1, end1, thisMarker);
+            int thatChunkEnd = getChunkEnd(s2, end2, thatMarker);
 
-            // If both chunks contain numeric characters, sort them numerically
             int result;
-            if (isDigit(thisChunk.charAt(0)) && isDigit(thatChunk.charAt(0))) {
-                // Simple chunk comparison by length.
-                int thisChunkLength = thisChunk.length();
-                result = thisChunkLength - thatChunk.length();
-                // If equal, the first different number counts
-                if (0 == result) {
-                    for (int i = 0; i < thisChunkLength; i++) {
-                        result = thisChunk.charAt(i) - thatChunk.charAt(i);
-                        if (0 != result) {
-                            return result;
-                        }
-                    }
-                }
+            if (isDigit(s1.charAt(thisMarker)) && isDigit(s2.charAt(thatMarker))) {
+                // Both chunks are numeric, compare them numerically
+                result = compareNumericChunks(s1, thisMarker, thisChunkEnd, s2, thatMarker, thatChunkEnd);
+            } else if (null != comparator) {
+                result = comparator.compare(
+                        toLowerCase(s1.subSequence(thisMarker, thisChunkEnd).toString(), isLowerCased),
+                        toLowerCase(s2.subSequence(thatMarker, thatChunkEnd).toString(), isLowerCased));
             } else {
-                // Both compared characters are alphabetic
-                result = comparator.compare(thisChunk, thatChunk);
+                result = compareChunks(s1, thisMarker, thisChunkEnd, s2, thatMarker, thatChunkEnd, isLowerCased);
             }
 
             if (0 != result) {
                 return result;
             }
+            thisMarker = thisChunkEnd;
+            thatMarker = thatChunkEnd;
+        }
+
+        // All compared chunks are equal: the string w/ more chunks remaining is the greater one
+        return (thisMarker < end1 ? 1 : 0) - (thatMarker < end2 ? 1 : 0);
+    }
+
+    private static String toLowerCase(String str, boolean isLowerCased) {
+        return isLowerCased ? str : str.toLowerCase();
+    }
+
+    private static int compareNumericChunks(CharSequence s1, int start1, int end1, CharSequence s2, int start2, int end2) {
+        // Skip leading zeros
+        while (start1 < end1 - 1 && '0' == s1.charAt(start1)) {
+            start1++;
+        }
+        while (start2 < end2 - 1 && '0' == s2.charAt(start2)) {
+            start2++;
+        }
+
+        // More significant digits = greater number, if equal the first different digit counts
+        int result = (end1 - start1) - (end2 - start2);
+        for (int i = 0; 0 == result && start1 + i < end1; i++) {
+            result = s1.charAt(start1 + i) - s2.charAt(start2 + i);
+        }
+
+        return result;
+    }
+
+    private static int compareChunks(CharSequence s1, int start1, int end1, CharSequence s2, int start2, int end2, boolean isLowerCased) {
+        if (isDigit(s1.charAt(start1)) || isDigit(s2.charAt(start2))) {
+            // Numeric vs. non-numeric chunk: decided by their first character
+            return s1.charAt(start1) - s2.charAt(start2);
+        }
+
+        int length1 = end1 - start1;
+        int length2 = end2 - start2;
+        int length = Math.min(length1, length2);
+        for (int i = 0; i < length; i++) {
+            char c1 = s1.charAt(start1 + i);
+            char c2 = s2.charAt(start2 + i);
+            if (c1 != c2 && !isLowerCased) {
+                c1 = Character.toLowerCase(c1);
+                c2 = Character.toLowerCase(c2);
+            }
+            if (c1 != c2) {
+                return c1 - c2;
+            }
         }
 
-        return s1Length - s2Length;
+        return length1 - length2;
     }
 
     /**
-     * @param  str
-     * @return Lowercase version of given string w/ all contained number-chunks converted to having 10 digits
+     * Sort given strings, w/ every string prepared for comparison only once (instead of on every comparison)
+     *
+     * @param strings   Strings to be sorted in place
      */
-    private static String prepareStringForCompare(String str) {
-        // Convert all numeric-chunks within str to having 10 digits
-        String[] parts = str.split("(?<=\\D)(?=\\d)|(?<=\\d)(?=\\D)");
+    public static void sort(List<String> strings) {
+        SortKey[] keys = new SortKey[strings.size()];
         int index = 0;
-        for (String part : parts) {
-            if (StringUtils.isNumeric(part)) {
-                StringBuilder partBuilder = new StringBuilder(part);
-                while (partBuilder.length() < 10) {
-                    partBuilder.insert(0, "0");
-                }
-                part = partBuilder.toString();
-                parts[index] = part;
-            }
-            index++;
+        for (String str : strings) {
+            keys[index++] = new SortKey(str);
         }
 
-        return StringUtils.join(parts).toLowerCase();
+        Arrays.sort(keys);
+
+        for (int i = 0; i < keys.length; i++) {
+            strings.set(i, keys[i].value);
+        }
     }
 
-    private static class NaturalComparator implements Comparator<String> {
-        public int compare(String o1, String o2) {
-            return o1.compareTo(o2);
+    /**
+     * String w/ its lower-cased form, as compared in natural order
+     */
+    public static class SortKey implements Comparable<SortKey> {
+
+        private static final AlphanumComparator COMPARATOR = new AlphanumComparator();
+
+        private final String value;
+        private final String lowerCased;
+
+        public SortKey(String value) {
+            this.value = value;
+
+            char[] chars = value.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(chars[i]);
+            }
+            lowerCased = new String(chars);
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public int compareTo(SortKey other) {
+            return COMPARATOR.compare(lowerCased, other.lowerCased, true);
         }
     }
 }
@@ -15,7 +15,11 @@
  */
 package com.kstenschke.shifter.models.comparators;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
+
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 import static org.apache.commons.lang.StringUtils.trim;
 
@@ -27,63 +31,111 @@ public class CssAttributesStyleLineComparator implements Comparator<String> {
      */
     @Override
     public int compare(String str1, String str2) {
-        if (str1.equals(str2)) {
-            return 0;
+        return str1.equals(str2) ? 0 : new Declaration(str1).compareTo(new Declaration(str2));
+    }
+
+    /**
+     * Sort given attribute-style lines, parsing every line only once
+     *
+     * @param lines
+     */
+    public static void sort(List<String> lines) {
+        Declaration[] declarations = new Declaration[lines.size()];
+        int index = 0;
+        for (String line : lines) {
+            declarations[index++] = new Declaration(line);
         }
 
-        String str1Trimmed = trim(str1);
-        String str2Trimmed = trim(str2);
+        Arrays.sort(declarations);
 
-        // Move empty line to the very end. Ensure closing of selector is at the end
-        if (str2Trimmed.isEmpty() || "}".equals(str2Trimmed)) {
-            return -1;
-        }
-        if (str1Trimmed.isEmpty() || "}".equals(str1Trimmed)) {
-            return 1;
+        for (int i = 0; i < declarations.length; i++) {
+            lines.set(i, declarations[i].line);
         }
+    }
+
+    /**
+     * Attribute-style line (ex: "width: 10px;") w/ the parts and flags it is compared by
+     */
+    public static class Declaration implements Comparable<Declaration> {
+
+        private final String line;
+
+        // Empty line or closing of selector
+        private final boolean isEmptyOrClosing;
+
+        private final String attribute;
+        private final boolean isVendorAttribute;
+        private final boolean isVendorStyle;
+
+        public Declaration(String line) {
+            this.line = line;
 
-        String[] parts1 = str1.split(":");
-        String attribute1 = trim(parts1[0]);
-        String style1     = parts1.length > 1 ? trim(parts1[1]) : "";
+            String trimmed = trim(line);
+            isEmptyOrClosing = trimmed.isEmpty() || "}".equals(trimmed);
 
-        String[] parts2 = str2.split(":");
-        String attribute2 = trim(parts2[0]);
-        String style2     = parts2.length > 1 ? trim(parts2[1]) : "";
+            int offsetColon = line.indexOf(':');
+            if (-1 == offsetColon) {
+                attribute = trimmed;
+                isVendorStyle = false;
+            } else {
+                attribute = trim(line.substring(0, offsetColon));
 
-        // Move vendor-attributes (prefixed w/ "-", ex: "-moz-transition: opacity .3s;") behind
-        boolean attribute1IsVendor = attribute1.startsWith("-");
-        boolean attribute2IsVendor = attribute2.startsWith("-");
-        if (attribute1IsVendor && !attribute2IsVendor) {
-            return 1;
+                int offsetStyleEnd = line.indexOf(':', offsetColon + 1);
+                String style = trim(line.substring(offsetColon + 1, -1 == offsetStyleEnd ? line.length() : offsetStyleEnd));
+                isVendorStyle = StaticPatterns.CSS_VENDOR_STYLE.matcher(style).matches();
+            }
+            isVendorAttribute = attribute.startsWith("-");
         }
-        if (attribute2IsVendor && !attribute1IsVendor) {
-            return -1;
+
+        public String getLine() {
+            return line;
         }
 
-        // Move shorter of otherwise identically beginning attributes ahead
-        int attribute1Length = attribute1.length();
-        int attribute2Length = attribute2.length();
-        if (attribute1Length > attribute2Length) {
-            if (attribute1.startsWith(attribute2)) {
+        @Override
+        public int compareTo(Declaration other) {
+            if (line.equals(other.line)) {
+                return 0;
+            }
+
+            // Move empty line to the very end. Ensure closing of selector is at the end
+            if (other.isEmptyOrClosing) {
+                return -1;
+            }
+            if (isEmptyOrClosing) {
                 return 1;
             }
-        } else if (attribute1Length < attribute2Length && attribute2.startsWith(attribute1)) {
-            return -1;
-        }
 
-        // Move vendor-styles (prefixed w/ "-", ex: "width: -moz-calc(19.75rem - 1px);") behind
-        if (attribute1.equals(attribute2)) {
-            boolean style1IsVendor = style1.matches("^-[a-z].*$");
-            boolean style2IsVendor = style2.matches("^-[a-z].*$");
-            if (style1IsVendor && !style2IsVendor) {
+            // Move vendor-attributes (prefixed w/ "-", ex: "-moz-transition: opacity .3s;") behind
+            if (isVendorAttribute && !other.isVendorAttribute) {
                 return 1;
             }
-            if (style2IsVendor && !style1IsVendor) {
+            if (other.isVendorAttribute && !isVendorAttribute) {
+                return -1;
+            }
+
+            // Move shorter of otherwise identically beginning attributes ahead
+            int attributeLength      = attribute.length();
+            int otherAttributeLength = other.attribute.length();
+            if (attributeLength > otherAttributeLength) {
+                if (attribute.startsWith(other.attribute)) {
+                    return 1;
+                }
+            } else if (attributeLength < otherAttributeLength && other.attribute.startsWith(attribute)) {
                 return -1;
             }
-        }
 
-        // Regular compare
-        return str1.compareTo(str2);
+            // Move vendor-styles (prefixed w/ "-", ex: "width: -moz-calc(19.75rem - 1px);") behind
+            if (attribute.equals(other.attribute)) {
+                if (isVendorStyle && !other.isVendorStyle) {
+                    return 1;
+                }
+                if (other.isVendorStyle && !isVendorStyle) {
+                    return -1;
+                }
+            }
+
+            // Regular compare
+            return line.compareTo(other.line);
+        }
     }
 }
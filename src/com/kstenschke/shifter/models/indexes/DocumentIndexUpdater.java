@@ -0,0 +1,82 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.indexes;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+
+/**
+ * Keeps a tokens index of a document up-to-date: on every change only the affected lines are rescanned.
+ * If changes were missed (detected by modification stamp), the index is rebuilt from the whole document on next use.
+ */
+class DocumentIndexUpdater<T extends TokensIndex> implements DocumentListener {
+
+    private final Document document;
+    private final T index;
+
+    // Modification stamp of document when index was last in sync, -1 = never
+    private long modificationStamp = -1;
+
+    private boolean isUpdatingChange = false;
+
+    DocumentIndexUpdater(Document document, T index) {
+        this.document = document;
+        this.index    = index;
+    }
+
+    /**
+     * @return Index, rebuilt if out of sync w/ the document
+     */
+    T getIndex() {
+        if (modificationStamp != document.getModificationStamp()) {
+            index.clear();
+            index.addTokens(document.getCharsSequence(), 0, document.getTextLength());
+            modificationStamp = document.getModificationStamp();
+        }
+
+        return index;
+    }
+
+    @Override
+    public void beforeDocumentChange(DocumentEvent event) {
+        isUpdatingChange = modificationStamp == document.getModificationStamp();
+        if (isUpdatingChange) {
+            // Remove tokens of lines about to be changed
+            int offset = event.getOffset();
+            index.removeTokens(
+                    document.getCharsSequence(),
+                    document.getLineStartOffset(document.getLineNumber(offset)),
+                    document.getLineEndOffset(document.getLineNumber(offset + event.getOldLength())));
+        }
+    }
+
+    @Override
+    public void documentChanged(DocumentEvent event) {
+        if (!isUpdatingChange) {
+            return;
+        }
+        // Add tokens of changed lines
+        int offset = event.getOffset();
+        index.addTokens(
+                document.getCharsSequence(),
+                document.getLineStartOffset(document.getLineNumber(offset)),
+                document.getLineEndOffset(document.getLineNumber(offset + event.getNewLength())));
+
+        modificationStamp = document.getModificationStamp();
+        isUpdatingChange  = false;
+    }
+}
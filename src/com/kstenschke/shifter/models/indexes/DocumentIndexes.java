@@ -0,0 +1,72 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.indexes;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Key;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-document token indexes, created on first use and stored in the document's user data
+ */
+public class DocumentIndexes {
+
+    private static final Key<DocumentIndexUpdater<PhpVariablesIndex>> KEY_PHP_VARIABLES = Key.create("Shifter.PhpVariablesIndex");
+
+    // Quote character => key of quoted strings index
+    private static final Map<String, Key<DocumentIndexUpdater<QuotedStringsIndex>>> KEYS_QUOTED_STRINGS = new HashMap<>();
+    static {
+        KEYS_QUOTED_STRINGS.put("'",  Key.create("Shifter.SingleQuotedStringsIndex"));
+        KEYS_QUOTED_STRINGS.put("\"", Key.create("Shifter.DoubleQuotedStringsIndex"));
+        KEYS_QUOTED_STRINGS.put("`",  Key.create("Shifter.BacktickQuotedStringsIndex"));
+    }
+
+    /**
+     * @param  document
+     * @return PhpVariablesIndex    Sorted PHP variables of the given document
+     */
+    public static PhpVariablesIndex getPhpVariablesIndex(Document document) {
+        return getIndex(document, KEY_PHP_VARIABLES, PhpVariablesIndex::new);
+    }
+
+    /**
+     * @param  document
+     * @param  quoteChar            "'", "\"" or "`"
+     * @return QuotedStringsIndex   Sorted alphanumeric words wrapped in the given quote character within the given document
+     */
+    public static QuotedStringsIndex getQuotedStringsIndex(Document document, String quoteChar) {
+        Key<DocumentIndexUpdater<QuotedStringsIndex>> key = KEYS_QUOTED_STRINGS.get(quoteChar);
+        if (null == key) {
+            throw new IllegalArgumentException("Unsupported quote character: " + quoteChar);
+        }
+
+        return getIndex(document, key, () -> new QuotedStringsIndex(quoteChar));
+    }
+
+    private static <T extends TokensIndex> T getIndex(Document document, Key<DocumentIndexUpdater<T>> key, Supplier<T> indexFactory) {
+        DocumentIndexUpdater<T> updater = document.getUserData(key);
+        if (null == updater) {
+            updater = new DocumentIndexUpdater<>(document, indexFactory.get());
+            document.putUserData(key, updater);
+            document.addDocumentListener(updater);
+        }
+
+        return updater.getIndex();
+    }
+}
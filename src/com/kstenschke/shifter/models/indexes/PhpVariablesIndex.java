@@ -0,0 +1,52 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.indexes;
+
+import com.kstenschke.shifter.resources.StaticPatterns;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Sorted index of all PHP variables ("$" + identifier) within a document
+ */
+public class PhpVariablesIndex extends TokensIndex {
+
+    PhpVariablesIndex() {
+        super(StaticPatterns.PHP_VARIABLE);
+    }
+
+    /**
+     * @param  text                 Text w/o document (e.g. when shifting outside of the IDE)
+     * @return PhpVariablesIndex    Sorted PHP variables of the given text
+     */
+    public static PhpVariablesIndex of(CharSequence text) {
+        PhpVariablesIndex index = new PhpVariablesIndex();
+        index.addTokens(text, 0, text.length());
+
+        return index;
+    }
+
+    /**
+     * Shift among variables reduced to the first per lead character (= character after "$")
+     *
+     * @param  variable Variable to be shifted, e.g. "$foo"
+     * @param  isUp     Shifting up or down?
+     * @return String   First variable of next / previous lead character (wrapping around). Null if lead character is not indexed
+     */
+    @Nullable
+    public String getNeighbourByLeadChar(String variable, boolean isUp) {
+        return getNeighbourByPrefix(variable, 2, isUp);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.indexes;
+
+import com.kstenschke.shifter.resources.StaticPatterns;
+
+/**
+ * Sorted index of all alphanumeric words wrapped in a given quote character within a document
+ */
+public class QuotedStringsIndex extends TokensIndex {
+
+    /**
+     * @param quoteChar "'", "\"" or "`"
+     */
+    QuotedStringsIndex(String quoteChar) {
+        super(StaticPatterns.getQuotedWord(quoteChar));
+    }
+
+    /**
+     * @param  text                 Text w/o document (e.g. when shifting outside of the IDE)
+     * @param  quoteChar            "'", "\"" or "`"
+     * @return QuotedStringsIndex   Sorted alphanumeric words wrapped in the given quote character within the given text
+     */
+    public static QuotedStringsIndex of(CharSequence text, String quoteChar) {
+        QuotedStringsIndex index = new QuotedStringsIndex(quoteChar);
+        index.addTokens(text, 0, text.length());
+
+        return index;
+    }
+}
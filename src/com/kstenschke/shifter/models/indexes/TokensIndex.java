@@ -0,0 +1,133 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.indexes;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sorted index of all distinct tokens (matches of a pattern) within a text, w/ amount of occurrences per token.
+ * Counting occurrences allows removing the tokens of a changed text range w/o rescanning the whole text.
+ * Tokens must not span multiple lines.
+ */
+public class TokensIndex {
+
+    private final Pattern tokenPattern;
+
+    // Token => amount of occurrences
+    final TreeMap<String, Integer> tokens = new TreeMap<>();
+
+    TokensIndex(Pattern tokenPattern) {
+        this.tokenPattern = tokenPattern;
+    }
+
+    /**
+     * @param text      Text to be scanned
+     * @param start     Offset of first character to be scanned
+     * @param end       Offset after last character to be scanned
+     */
+    void addTokens(CharSequence text, int start, int end) {
+        Matcher m = tokenPattern.matcher(text).region(start, end);
+        while (m.find()) {
+            tokens.merge(m.group(), 1, Integer::sum);
+        }
+    }
+
+    void removeTokens(CharSequence text, int start, int end) {
+        Matcher m = tokenPattern.matcher(text).region(start, end);
+        while (m.find()) {
+            tokens.computeIfPresent(m.group(), (token, amount) -> 1 == amount ? null : amount - 1);
+        }
+    }
+
+    void clear() {
+        tokens.clear();
+    }
+
+    public boolean contains(String token) {
+        return tokens.containsKey(token);
+    }
+
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * @param  token    Token to be shifted
+     * @param  isUp     Shifting up or down?
+     * @return String   Alphabetically next / previous token (wrapping around at the ends). Null if token is not indexed
+     */
+    @Nullable
+    public String getNeighbour(String token, boolean isUp) {
+        if (!tokens.containsKey(token)) {
+            return null;
+        }
+        String neighbour = isUp ? tokens.higherKey(token) : tokens.lowerKey(token);
+        if (null == neighbour) {
+            neighbour = isUp ? tokens.firstKey() : tokens.lastKey();
+        }
+
+        return neighbour;
+    }
+
+    /**
+     * @param  prefix   Prefix to look for
+     * @return String   Alphabetically first token starting w/ the given prefix. Null if there is none
+     */
+    @Nullable
+    public String getFirstWithPrefix(String prefix) {
+        Map.Entry<String, Integer> entry = tokens.ceilingEntry(prefix);
+
+        return null != entry && entry.getKey().startsWith(prefix) ? entry.getKey() : null;
+    }
+
+    /**
+     * Shift among tokens reduced to the first per prefix of the given length
+     *
+     * @param  token        Token to be shifted
+     * @param  prefixLength Length of prefixes to group tokens by, tokens shorter than that are a group of their own
+     * @param  isUp         Shifting up or down?
+     * @return String       First token of next / previous prefix (wrapping around). Null if the token's prefix is not indexed
+     */
+    @Nullable
+    public String getNeighbourByPrefix(String token, int prefixLength, boolean isUp) {
+        String prefix = getPrefix(token, prefixLength);
+        if (null == getFirstWithPrefix(prefix)) {
+            return null;
+        }
+
+        if (isUp) {
+            String neighbour = tokens.higherKey(prefix.length() < prefixLength ? prefix : prefix + Character.MAX_VALUE);
+
+            return null == neighbour ? tokens.firstKey() : neighbour;
+        }
+
+        String lastOfPreviousPrefix = tokens.lowerKey(prefix);
+        if (null == lastOfPreviousPrefix) {
+            lastOfPreviousPrefix = tokens.lastKey();
+        }
+
+        return getFirstWithPrefix(getPrefix(lastOfPreviousPrefix, prefixLength));
+    }
+
+    private static String getPrefix(String token, int prefixLength) {
+        return token.length() > prefixLength ? token.substring(0, prefixLength) : token;
+    }
+}
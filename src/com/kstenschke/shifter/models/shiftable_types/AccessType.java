@@ -23,16 +23,10 @@ public class AccessType {
     @SuppressWarnings("unused")
     public static final String ACTION_TEXT = "Shift Access Type";
 
-    private StaticWordType accessTypes;
+    private static final StaticWordType ACCESS_TYPES = new StaticWordType(new String[]{"public", "private", "protected"});
 
     public boolean isAccessType(String word) {
-        if (null == word) {
-            return false;
-        }
-        String[] keywordsAccessType = {"public", "private", "protected"};
-        accessTypes = new StaticWordType(keywordsAccessType);
-
-        return accessTypes.hasWord(word);
+        return null != word && ACCESS_TYPES.hasWord(word);
     }
 
     /**
@@ -41,6 +35,15 @@ public class AccessType {
      * @return String   Length (em / px / pt / cm / in / rem / vw / vh / vmin / vmax) value shifted up or down by 1 unit
      */
     public String getShifted(String value, boolean isUp) {
-        return accessTypes.getShifted(value, isUp);
+        return ACCESS_TYPES.getShifted(value, isUp);
+    }
+
+    /**
+     * @param  value    Access type
+     * @param  steps    Amount of access types to shift by: positive = up, negative = down
+     * @return String   Access type the given amount of steps away
+     */
+    public String getShifted(String value, int steps) {
+        return ACCESS_TYPES.getShifted(value, steps);
     }
 }
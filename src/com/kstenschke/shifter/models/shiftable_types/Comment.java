@@ -23,6 +23,7 @@ import com.kstenschke.shifter.models.ActionContainer;
 import com.kstenschke.shifter.resources.StaticTexts;
 import com.kstenschke.shifter.utils.UtilsFile;
 import com.kstenschke.shifter.utils.UtilsTextual;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -119,13 +120,22 @@ public class Comment {
     }
 
     public static String getShifted(ActionContainer actionContainer) {
-        if (null != actionContainer.filename && UtilsFile.isPhpFile(actionContainer.filename) && isPhpBlockComment(actionContainer.selectedText)) {
+        return getShifted(actionContainer.selectedText, actionContainer.filename);
+    }
+
+    /**
+     * @param  str      Comment to be shifted
+     * @param  filename Name of the edited file
+     * @return String   Comment converted among single-line and block-comment style
+     */
+    public static String getShifted(String str, @Nullable String filename) {
+        if (null != filename && UtilsFile.isPhpFile(filename) && isPhpBlockComment(str)) {
             // PHP Block-comment inside PHP or PHTML: convert to HTML comment
-            return "<!-- " + actionContainer.selectedText.substring(8, actionContainer.selectedText.length() - 5).trim() + " -->";
+            return "<!-- " + str.substring(8, str.length() - 5).trim() + " -->";
         }
 
         // Default comment shifting: toggle among single-line and block-comment style
-        String str = actionContainer.selectedText.trim();
+        str = str.trim();
 
         if (str.startsWith("//")) {
             if (!str.endsWith(" ")) {
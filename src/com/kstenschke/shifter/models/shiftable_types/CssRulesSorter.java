@@ -0,0 +1,352 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.models.comparators.CssAttributesStyleLineComparator.Declaration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sorts the declarations of all rules of a stylesheet in a single pass: every rule's declarations are sorted among each other,
+ * nested rules (SCSS / LESS, at-rules), comments and formatting remain in place. The result is emitted into one buffer.
+ */
+class CssRulesSorter {
+
+    private final String css;
+    private final StringBuilder sorted;
+
+    /**
+     * Statement within a rule body (or the top-level of the stylesheet)
+     */
+    private static class Segment {
+        // Offsets of the whole segment, incl. leading whitespace / comments and a trailing same-line comment
+        final int start;
+        final int end;
+
+        // Declaration: offsets of declaration (incl. ";" if there is one), -1 if segment is no declaration
+        int declarationStart = -1;
+        int declarationEnd;
+        // Parsed for sorting, only within rule bodies
+        Declaration declaration;
+
+        // Nested rule: offsets of body (after "{", at closing "}"), -1 if segment is no rule
+        int bodyStart = -1;
+        int bodyEnd;
+
+        Segment(int start, int end) {
+            this.start = start;
+            this.end   = end;
+        }
+
+        boolean isDeclaration() {
+            return declarationStart >= 0;
+        }
+
+        boolean isRule() {
+            return bodyStart >= 0;
+        }
+    }
+
+    private CssRulesSorter(String css) {
+        this.css = css;
+        sorted   = new StringBuilder(css.length() + 16);
+    }
+
+    /**
+     * @param  css      Stylesheet, may contain nested rules and comments
+     * @return String   Stylesheet w/ the declarations of every rule sorted
+     */
+    static String sort(String css) {
+        CssRulesSorter sorter = new CssRulesSorter(css);
+        sorter.appendBody(0, css.length(), false);
+
+        return sorter.sorted.toString();
+    }
+
+    /**
+     * Append given body w/ its declarations sorted and nested rules appended recursively
+     *
+     * @param start         Offset of body start
+     * @param end           Offset of body end (closing "}" or end of stylesheet)
+     * @param isRuleBody    Sort the declarations? (no sorting at the top-level of a stylesheet)
+     */
+    private void appendBody(int start, int end, boolean isRuleBody) {
+        List<Segment> segments = getSegments(start, end);
+
+        List<Segment> declarations = new ArrayList<>();
+        if (isRuleBody) {
+            for (Segment segment : segments) {
+                if (segment.isDeclaration()) {
+                    segment.declaration = new Declaration(css.substring(segment.declarationStart, segment.declarationEnd));
+                    declarations.add(segment);
+                }
+            }
+            declarations.sort((segment1, segment2) -> segment1.declaration.compareTo(segment2.declaration));
+        }
+
+        int indexDeclaration = 0;
+        for (Segment segment : segments) {
+            if (isRuleBody && segment.isDeclaration()) {
+                appendDeclaration(segment, declarations.get(indexDeclaration));
+                indexDeclaration++;
+            } else if (segment.isRule()) {
+                sorted.append(css, segment.start, segment.bodyStart);
+                appendBody(segment.bodyStart, segment.bodyEnd, true);
+                sorted.append(css, segment.bodyEnd, segment.end);
+            } else {
+                sorted.append(css, segment.start, segment.end);
+            }
+        }
+    }
+
+    /**
+     * @param slot          Declaration segment whose position is filled, its leading whitespace (indentation) is kept
+     * @param declaration   Declaration segment sorted into that position, w/ its comments
+     */
+    private void appendDeclaration(Segment slot, Segment declaration) {
+        sorted.append(css, slot.start, getLeadingWhitespaceEnd(slot))
+              .append(css, getLeadingWhitespaceEnd(declaration), declaration.declarationEnd);
+        if (';' != css.charAt(declaration.declarationEnd - 1)) {
+            // Last declaration of a rule may lack its semicolon, add it (ahead of any trailing comment) as it may be sorted ahead
+            sorted.append(';');
+        }
+        sorted.append(css, declaration.declarationEnd, declaration.end);
+    }
+
+    private int getLeadingWhitespaceEnd(Segment segment) {
+        int offset = segment.start;
+        while (offset < segment.declarationStart && Character.isWhitespace(css.charAt(offset))) {
+            offset++;
+        }
+
+        return offset;
+    }
+
+    /**
+     * @param  start
+     * @param  end
+     * @return List<Segment>    Declarations, nested rules and remaining whitespace / comments of the given body
+     */
+    private List<Segment> getSegments(int start, int end) {
+        List<Segment> segments = new ArrayList<>();
+        int offset = start;
+        while (offset < end) {
+            int segmentStart   = offset;
+            int statementStart = skipWhitespaceAndComments(offset, end);
+            if (statementStart >= end) {
+                segments.add(new Segment(segmentStart, end));
+                break;
+            }
+
+            int statementEnd = getStatementEnd(statementStart, end);
+            if (statementEnd < end && '{' == css.charAt(statementEnd)) {
+                // Nested rule
+                int bodyEnd = getBlockEnd(statementEnd + 1, end);
+                Segment rule = new Segment(segmentStart, bodyEnd < end ? bodyEnd + 1 : end);
+                rule.bodyStart = statementEnd + 1;
+                rule.bodyEnd   = bodyEnd;
+                segments.add(rule);
+                offset = rule.end;
+                continue;
+            }
+
+            int declarationEnd;
+            int segmentEnd;
+            if (statementEnd < end) {
+                // Declaration ends w/ ";", followed maybe by a comment on the same line
+                declarationEnd = statementEnd + 1;
+                segmentEnd     = getTrailingCommentEnd(declarationEnd, end);
+            } else {
+                // Last declaration w/o ";", maybe followed by a comment
+                declarationEnd = statementStart;
+                segmentEnd     = statementStart;
+                int depthParentheses = 0;
+                int i = statementStart;
+                while (i < end) {
+                    if (isCommentStart(i, end, depthParentheses)) {
+                        i = skipComment(i, end);
+                        segmentEnd = i;
+                        continue;
+                    }
+                    if ('"' == css.charAt(i) || '\'' == css.charAt(i)) {
+                        i = skipString(i, end);
+                        declarationEnd = i;
+                        segmentEnd     = i;
+                        continue;
+                    }
+                    char c = css.charAt(i);
+                    if ('(' == c) {
+                        depthParentheses++;
+                    } else if (')' == c && depthParentheses > 0) {
+                        depthParentheses--;
+                    }
+                    if (!Character.isWhitespace(c)) {
+                        declarationEnd = i + 1;
+                        segmentEnd     = i + 1;
+                    }
+                    i++;
+                }
+            }
+            Segment declaration = new Segment(segmentStart, segmentEnd);
+            declaration.declarationStart = statementStart;
+            declaration.declarationEnd   = declarationEnd;
+            segments.add(declaration);
+            offset = segmentEnd;
+        }
+
+        return segments;
+    }
+
+    /**
+     * @return int  Offset of ";" or "{" ending the statement starting at the given offset, or end
+     */
+    private int getStatementEnd(int offset, int end) {
+        int depthParentheses = 0;
+        while (offset < end) {
+            char c = css.charAt(offset);
+            if ('"' == c || '\'' == c) {
+                offset = skipString(offset, end);
+                continue;
+            }
+            if (isCommentStart(offset, end, depthParentheses)) {
+                offset = skipComment(offset, end);
+                continue;
+            }
+            if ('(' == c) {
+                depthParentheses++;
+            } else if (')' == c && depthParentheses > 0) {
+                depthParentheses--;
+            } else if (0 == depthParentheses) {
+                if ('{' == c && offset > 0 && '#' == css.charAt(offset - 1)) {
+                    // SCSS interpolation, e.g. "#{$var}"
+                    offset = getBlockEnd(offset + 1, end) + 1;
+                    continue;
+                }
+                if (';' == c || '{' == c) {
+                    return offset;
+                }
+            }
+            offset++;
+        }
+
+        return end;
+    }
+
+    /**
+     * @return int  Offset of "}" closing the block whose body starts at the given offset, or end if it isn't closed
+     */
+    private int getBlockEnd(int offset, int end) {
+        int depth = 1;
+        int depthParentheses = 0;
+        while (offset < end) {
+            char c = css.charAt(offset);
+            if ('"' == c || '\'' == c) {
+                offset = skipString(offset, end);
+                continue;
+            }
+            if (isCommentStart(offset, end, depthParentheses)) {
+                offset = skipComment(offset, end);
+                continue;
+            }
+            if ('(' == c) {
+                depthParentheses++;
+            } else if (')' == c && depthParentheses > 0) {
+                depthParentheses--;
+            } else if ('{' == c) {
+                depth++;
+            } else if ('}' == c && 0 == --depth) {
+                return offset;
+            }
+            offset++;
+        }
+
+        return end;
+    }
+
+    private int skipWhitespaceAndComments(int offset, int end) {
+        while (offset < end) {
+            if (isCommentStart(offset, end, 0)) {
+                offset = skipComment(offset, end);
+            } else if (Character.isWhitespace(css.charAt(offset))) {
+                offset++;
+            } else {
+                break;
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * @return int  Offset after a comment following the given offset on the same line, or the given offset if there is none
+     */
+    private int getTrailingCommentEnd(int offset, int end) {
+        int offsetComment = offset;
+        while (offsetComment < end && (' ' == css.charAt(offsetComment) || '\t' == css.charAt(offsetComment))) {
+            offsetComment++;
+        }
+
+        return isCommentStart(offsetComment, end, 0) ? skipComment(offsetComment, end) : offset;
+    }
+
+    /**
+     * @param  depthParentheses Inside parentheses "//" doesn't start a comment, e.g. "url(//example.com)"
+     */
+    private boolean isCommentStart(int offset, int end, int depthParentheses) {
+        if (offset + 1 >= end || '/' != css.charAt(offset)) {
+            return false;
+        }
+        char next = css.charAt(offset + 1);
+
+        return '*' == next || ('/' == next && 0 == depthParentheses);
+    }
+
+    /**
+     * @return int  Offset after "/* ... *" + "/" comment, or before the line break ending a "//" comment
+     */
+    private int skipComment(int offset, int end) {
+        if ('*' == css.charAt(offset + 1)) {
+            int commentEnd = css.indexOf("*/", offset + 2);
+
+            return -1 == commentEnd || commentEnd + 2 > end ? end : commentEnd + 2;
+        }
+        int lineEnd = css.indexOf('\n', offset);
+
+        return -1 == lineEnd || lineEnd > end ? end : lineEnd;
+    }
+
+    /**
+     * @return int  Offset after the closing quote of the string starting at the given offset
+     */
+    private int skipString(int offset, int end) {
+        char quote = css.charAt(offset);
+        offset++;
+        while (offset < end) {
+            char c = css.charAt(offset);
+            if ('\\' == c) {
+                offset += 2;
+                continue;
+            }
+            offset++;
+            if (quote == c) {
+                break;
+            }
+        }
+
+        return Math.min(offset, end);
+    }
+}
@@ -15,8 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsMap;
-import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
@@ -41,16 +41,20 @@ public class CssUnit {
     private static final String UNIT_VMIN = "vmin";
     private static final String UNIT_VW   = "vw";
 
+    private static final String[] UNITS = {
+            UNIT_CM, UNIT_EM, UNIT_IN, UNIT_MM, UNIT_PC, UNIT_PT, UNIT_PX, UNIT_REM, UNIT_VW, UNIT_VH, UNIT_VMIN, UNIT_VMAX
+    };
+
     /**
      * @param  str      String to be checked
      * @return boolean  Does the given string represents a CSS length value?
      */
     public static boolean isCssUnitValue(String str) {
-        return str.matches("[0-9]*(%|cm|em|in|pt|px|rem|vw|vh|vmin|vmax)");
+        return StaticPatterns.CSS_UNIT_VALUE.matcher(str).matches();
     }
 
     public static boolean isCssUnit(String str) {
-        return str.matches("(%|cm|em|in|pt|px|rem|vw|vh|vmin|vmax)");
+        return StaticPatterns.CSS_UNIT.matcher(str).matches();
     }
 
     /**
@@ -101,25 +105,42 @@ public class CssUnit {
     }
 
     /**
+     * Count units followed by ";" in a single pass over the given stylesheet, w/o copying it
+     *
      * @param  stylesheet   CSS content
      * @return String       most prominently used unit of given stylesheet, 'px' if none used yet
      */
-    public static String determineMostProminentUnit(String stylesheet) {
+    public static String determineMostProminentUnit(CharSequence stylesheet) {
         HashMap<String, Integer> map = new HashMap<>();
+        for (String unit : UNITS) {
+            map.put(unit, 0);
+        }
 
-        map.put(UNIT_CM,   StringUtils.countMatches(stylesheet,UNIT_CM + ";"));
-        map.put(UNIT_EM,   StringUtils.countMatches(stylesheet,UNIT_EM + ";"));
-        map.put(UNIT_IN,   StringUtils.countMatches(stylesheet,UNIT_IN + ";"));
-        map.put(UNIT_MM,   StringUtils.countMatches(stylesheet,UNIT_MM + ";"));
-        map.put(UNIT_PC,   StringUtils.countMatches(stylesheet,UNIT_PC + ";"));
-        map.put(UNIT_PT,   StringUtils.countMatches(stylesheet,UNIT_PT + ";"));
-        map.put(UNIT_PX,   StringUtils.countMatches(stylesheet,UNIT_PX + ";"));
-        map.put(UNIT_REM,  StringUtils.countMatches(stylesheet,UNIT_REM + ";"));
-        map.put(UNIT_VW,   StringUtils.countMatches(stylesheet,UNIT_VW + ";"));
-        map.put(UNIT_VH,   StringUtils.countMatches(stylesheet,UNIT_VH + ";"));
-        map.put(UNIT_VMIN, StringUtils.countMatches(stylesheet,UNIT_VMIN + ";"));
-        map.put(UNIT_VMAX, StringUtils.countMatches(stylesheet,UNIT_VMAX + ";"));
+        int length = stylesheet.length();
+        for (int offset = 0; offset < length; offset++) {
+            if (';' == stylesheet.charAt(offset)) {
+                for (String unit : UNITS) {
+                    if (isUnitEndingAt(stylesheet, unit, offset)) {
+                        map.merge(unit, 1, Integer::sum);
+                    }
+                }
+            }
+        }
 
         return UtilsMap.getSumOfValues(map) == 0 ? "px" : UtilsMap.getKeyOfHighestValue(map);
     }
+
+    private static boolean isUnitEndingAt(CharSequence str, String unit, int offsetEnd) {
+        int offsetStart = offsetEnd - unit.length();
+        if (offsetStart < 0) {
+            return false;
+        }
+        for (int i = 0; i < unit.length(); i++) {
+            if (str.charAt(offsetStart + i) != unit.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 }
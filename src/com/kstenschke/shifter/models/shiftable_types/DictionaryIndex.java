@@ -0,0 +1,250 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import com.kstenschke.shifter.resources.StaticPatterns;
+import com.kstenschke.shifter.utils.UtilsArray;
+import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.utils.UtilsTextual;
+import org.apache.commons.lang.StringUtils;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+/**
+ * Parsed, immutable index of the shifter dictionary: terms => terms-list containing them.
+ * Built once per dictionary revision, held by the ShifterSettings snapshot of that dictionary.
+ */
+public class DictionaryIndex {
+
+    // Global lookup: term => first list containing it, case-sensitive and w/ lower-cased keys and lists
+    private final Map<String, Entry> entries      = new HashMap<>();
+    private final Map<String, Entry> entriesLower = new HashMap<>();
+
+    // Extension specific lookup: file extension => (term => first list containing it), case-sensitive and w/ lower-cased keys
+    private final Map<String, Map<String, Entry>> entriesByExtension      = new HashMap<>();
+    private final Map<String, Map<String, Entry>> entriesByExtensionLower = new HashMap<>();
+
+    // Automata matching all terms: global and per file extension, built on first use
+    private volatile DictionaryMatcher matcher;
+    private final Map<String, DictionaryMatcher> matchersByExtension = new ConcurrentHashMap<>();
+
+    /**
+     * Terms-list of the dictionary, and position of the indexed term within it
+     */
+    static class Entry {
+        final String[] terms;
+        final int position;
+
+        Entry(String[] terms, int position) {
+            this.terms    = terms;
+            this.position = position;
+        }
+
+        /**
+         * @param  word     Word to be shifted
+         * @param  isUp     Shifting up or down?
+         * @return String   Neighbouring term of the given word, or the word if it is not contained in the list
+         */
+        String getShifted(String word, boolean isUp) {
+            int offset = -1 != position && terms[position].equals(word)
+                    ? position
+                    : UtilsArray.getOffset(terms, word);
+            if (-1 == offset) {
+                return word;
+            }
+            int amountTerms = terms.length;
+
+            return isUp
+                    ? terms[(offset + 1) % amountTerms]
+                    : terms[(offset - 1 + amountTerms) % amountTerms];
+        }
+    }
+
+    DictionaryIndex(String dictionary) {
+        List<String> blockStarts = new ArrayList<>();
+        Matcher m = StaticPatterns.DICTIONARY_BLOCK_START.matcher(dictionary);
+        while (m.find()) {
+            blockStarts.add(m.group());
+        }
+
+        indexExtensionsBlocks(dictionary, blockStarts);
+        indexAllTerms(dictionary, blockStarts);
+    }
+
+    /**
+     * @param  dictionary       Dictionary contents, empty = default dictionary
+     * @return DictionaryIndex
+     */
+    public static DictionaryIndex of(@Nullable String dictionary) {
+        return new DictionaryIndex(null == dictionary || dictionary.isEmpty() ? getDefaultDictionary() : dictionary);
+    }
+
+    /**
+     * @return String   Contents of the dictionary bundled w/ the plugin
+     */
+    public static String getDefaultDictionary() {
+        //@note for the .txt resource to be included in the jar, it must be set in compiler resource settings
+        InputStream dictionaryStream = DictionaryIndex.class.getResourceAsStream("/com/kstenschke/shifter/resources/ui/dictionary.txt");
+
+        return null == dictionaryStream ? "" : UtilsFile.getFileStreamAsString(dictionaryStream);
+    }
+
+    /**
+     * @param  term     Term to be looked up in any terms-block
+     * @return Entry    First terms-list containing the term, case-sensitive match preferred. Null if not found
+     */
+    @Nullable
+    Entry getEntry(String term) {
+        Entry entry = entries.get(term);
+
+        return null == entry ? entriesLower.get(term.toLowerCase()) : entry;
+    }
+
+    /**
+     * @param  term             Term to be looked up
+     * @param  fileExtension    Extension of edited file, terms-blocks are limited to those of that extension
+     * @return Entry            First terms-list containing the term, case-sensitive match preferred. Null if not found
+     */
+    @Nullable
+    Entry getEntry(String term, String fileExtension) {
+        Map<String, Entry> extensionEntries = entriesByExtension.get(fileExtension);
+        if (null == extensionEntries) {
+            return null;
+        }
+        Entry entry = extensionEntries.get(term);
+
+        return null == entry ? entriesByExtensionLower.get(fileExtension).get(term.toLowerCase()) : entry;
+    }
+
+    /**
+     * @return DictionaryMatcher    Automaton finding terms of any terms-block
+     */
+    public DictionaryMatcher getMatcher() {
+        DictionaryMatcher result = matcher;
+        if (null == result) {
+            Set<String> terms = new HashSet<>(entries.keySet());
+            terms.addAll(entriesLower.keySet());
+            result  = new DictionaryMatcher(terms);
+            matcher = result;
+        }
+
+        return result;
+    }
+
+    /**
+     * @param  fileExtension        Extension of edited file
+     * @return DictionaryMatcher    Automaton finding terms of the blocks having assigned the given extension
+     */
+    public DictionaryMatcher getMatcher(String fileExtension) {
+        return matchersByExtension.computeIfAbsent(fileExtension, extension -> {
+            Map<String, Entry> extensionEntries = entriesByExtension.get(extension);
+
+            return new DictionaryMatcher(null == extensionEntries ? new HashSet<>() : extensionEntries.keySet());
+        });
+    }
+
+    /**
+     * Index terms of each block into the lookups of all extensions in the block's start, e.g. "(|js|php|) {"
+     */
+    private void indexExtensionsBlocks(String dictionary, List<String> blockStarts) {
+        for (String blockStart : blockStarts) {
+            String block = StringUtils.substringBetween(dictionary, blockStart, "}");
+            if (null == block) {
+                continue;
+            }
+            for (String fileExtension : getPipedItems(blockStart)) {
+                Map<String, Entry> extensionEntries      = entriesByExtension.computeIfAbsent(fileExtension, k -> new HashMap<>());
+                Map<String, Entry> extensionEntriesLower = entriesByExtensionLower.computeIfAbsent(fileExtension, k -> new HashMap<>());
+                for (String line : block.split("\n")) {
+                    line = trimTermsLine(line);
+                    if (!line.isEmpty()) {
+                        String[] terms = splitTermsLine(line);
+                        for (String term : getPipedItems(line)) {
+                            Entry entry = new Entry(terms, UtilsArray.getOffset(terms, term));
+                            extensionEntries.putIfAbsent(term, entry);
+                            extensionEntriesLower.putIfAbsent(term.toLowerCase(), entry);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Index terms of all blocks merged, both case-sensitive and lower-cased
+     */
+    private void indexAllTerms(String dictionary, List<String> blockStarts) {
+        for (String blockStart : blockStarts) {
+            dictionary = dictionary.replace(blockStart, "");
+        }
+
+        for (String line : dictionary.split("\n")) {
+            line = trimTermsLine(line);
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] terms = splitTermsLine(line);
+            for (String term : getPipedItems(line)) {
+                entries.putIfAbsent(term, new Entry(terms, UtilsArray.getOffset(terms, term)));
+            }
+
+            String lineLower = line.toLowerCase();
+            String[] termsLower = splitTermsLine(lineLower);
+            for (String term : getPipedItems(lineLower)) {
+                entriesLower.putIfAbsent(term, new Entry(termsLower, UtilsArray.getOffset(termsLower, term)));
+            }
+        }
+    }
+
+    /**
+     * @param  line     e.g. "|public|private|protected|"
+     * @return List     Items enclosed in "|", e.g. ["public", "private", "protected"]
+     */
+    private static List<String> getPipedItems(String line) {
+        List<String> items = new ArrayList<>();
+
+        int offsetPipe = line.indexOf('|');
+        while (-1 != offsetPipe) {
+            int offsetNextPipe = line.indexOf('|', offsetPipe + 1);
+            if (-1 == offsetNextPipe) {
+                break;
+            }
+            items.add(line.substring(offsetPipe + 1, offsetNextPipe));
+            offsetPipe = offsetNextPipe;
+        }
+
+        return items;
+    }
+
+    private static String trimTermsLine(String line) {
+        return StringUtils.remove(StringUtils.remove(line, '{'), '}').trim();
+    }
+
+    private static String[] splitTermsLine(String line) {
+        String shiftTerms = StringUtils.replaceOnce(line, "|", "");
+
+        return UtilsTextual.replaceLast(shiftTerms, "|", "").split("\\|");
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.models.shiftable_types;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Aho-Corasick automaton over dictionary terms: finds all terms contained in a line in one pass over its characters.
+ * Matching is case-insensitive, like the lookup of terms in the DictionaryIndex.
+ */
+public class DictionaryMatcher {
+
+    // Per state: character => following state. State 0 is the root
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+
+    // Per state: longest proper suffix that is also a state
+    private int[] failures;
+
+    // Per state: length of the term ending in it (-1 = none), and nearest state reached via failures that ends a term (-1 = none)
+    private final List<Integer> termLengths = new ArrayList<>();
+    private int[] outputs;
+
+    /**
+     * @param terms Dictionary terms to be matched
+     */
+    DictionaryMatcher(Collection<String> terms) {
+        addState();
+        for (String term : terms) {
+            if (!term.isEmpty()) {
+                addTerm(term);
+            }
+        }
+        initFailures();
+    }
+
+    /**
+     * @param  c    Character to be matched
+     * @return char Character as compared by the matcher
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * @param  word     Word to be compared w/ results of findWords()
+     * @return String   Word as compared by the matcher
+     */
+    public static String fold(String word) {
+        char[] chars = word.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(chars[i]);
+        }
+
+        return new String(chars);
+    }
+
+    private int addState() {
+        transitions.add(new HashMap<>());
+        termLengths.add(-1);
+
+        return transitions.size() - 1;
+    }
+
+    private void addTerm(String term) {
+        int state = 0;
+        for (int i = 0; i < term.length(); i++) {
+            char c = fold(term.charAt(i));
+            Integer next = transitions.get(state).get(c);
+            if (null == next) {
+                next = addState();
+                transitions.get(state).put(c, next);
+            }
+            state = next;
+        }
+        termLengths.set(state, term.length());
+    }
+
+    /**
+     * Compute failure and output links breadth-first, so the links of shorter prefixes are known before they're followed
+     */
+    private void initFailures() {
+        int amountStates = transitions.size();
+        failures = new int[amountStates];
+        outputs  = new int[amountStates];
+        outputs[0] = -1;
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitions.get(0).values()) {
+            outputs[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (Map.Entry<Character, Integer> transition : transitions.get(state).entrySet()) {
+                int child   = transition.getValue();
+                int failure = getNextState(failures[state], transition.getKey());
+                failures[child] = failure;
+                outputs[child]  = -1 == termLengths.get(failure) ? outputs[failure] : failure;
+                queue.add(child);
+            }
+        }
+    }
+
+    private int getNextState(int state, char c) {
+        while (true) {
+            Integer next = transitions.get(state).get(c);
+            if (null != next) {
+                return next;
+            }
+            if (0 == state) {
+                return 0;
+            }
+            state = failures[state];
+        }
+    }
+
+    /**
+     * Find terms that are whole words of the given line, that is: preceded by whitespace or "#" (or the line start),
+     * followed by whitespace (or the line end)
+     *
+     * @param  line     Line to be scanned
+     * @return Set      Contained terms, folded (see fold())
+     */
+    public Set<String> findWords(CharSequence line) {
+        Set<String> words = new HashSet<>();
+        int length = line.length();
+        int state  = 0;
+        for (int end = 1; end <= length; end++) {
+            state = getNextState(state, fold(line.charAt(end - 1)));
+            if (end < length && !isWhitespace(line.charAt(end))) {
+                continue;
+            }
+            for (int output = -1 == termLengths.get(state) ? outputs[state] : state; -1 != output; output = outputs[output]) {
+                int start = end - termLengths.get(output);
+                if (0 == start || isWhitespace(line.charAt(start - 1)) || '#' == line.charAt(start - 1)) {
+                    words.add(fold(line.subSequence(start, end).toString()));
+                }
+            }
+        }
+
+        return words;
+    }
+
+    // Whitespace, and other characters trimmed from the line when splitting it into words
+    private static boolean isWhitespace(char c) {
+        return c <= ' ';
+    }
+}
@@ -15,67 +15,58 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.ShifterPreferences;
-import com.kstenschke.shifter.utils.UtilsTextual;
-import com.kstenschke.shifter.resources.ui.PluginConfiguration;
-import org.apache.commons.lang.StringUtils;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import org.jetbrains.annotations.Nullable;
 
 public class DictionaryTerm {
 
-    // Set during extension specific detection of dictionary term
-    private String fileExtension;
-
     // Terms-list containing the term to be shifted, set during detection
-    private String relevantTermsList;
+    private DictionaryIndex.Entry relevantTermsList;
 
-    // The complete dictionary
-    private final String dictionaryContents;
+    // The parsed dictionary
+    private final DictionaryIndex dictionaryIndex;
 
-    public DictionaryTerm() {
-        String contents = ShifterPreferences.getDictionary();
-        if (contents.isEmpty()) {
-            contents = new PluginConfiguration().getDefaultDictionary();
-        }
+    /**
+     * @param dictionaryIndex   Parsed dictionary, see ShifterSettings.getDictionaryIndex()
+     */
+    public DictionaryTerm(DictionaryIndex dictionaryIndex) {
+        this.dictionaryIndex = dictionaryIndex;
+    }
 
-        dictionaryContents = contents;
+    private DictionaryTerm(DictionaryIndex dictionaryIndex, DictionaryIndex.Entry relevantTermsList) {
+        this.dictionaryIndex   = dictionaryIndex;
+        this.relevantTermsList = relevantTermsList;
+    }
+
+    /**
+     * Look up the given term w/o creating an instance unless it is found
+     *
+     * @param  term            String to be looked for in shifter dictionary
+     * @param  fileExtension   Extension of edited file, null = global dictionary check, NOT file extension specific
+     * @param  dictionaryIndex Parsed dictionary, see ShifterSettings.getDictionaryIndex()
+     * @return DictionaryTerm  Term bound to the first matching list containing it, null if the term is not in the dictionary
+     */
+    @Nullable
+    public static DictionaryTerm findInDictionary(String term, @Nullable String fileExtension, DictionaryIndex dictionaryIndex) {
+        DictionaryIndex.Entry entry = null == fileExtension
+                ? dictionaryIndex.getEntry(term)
+                : dictionaryIndex.getEntry(term, fileExtension);
+
+        return null == entry ? null : new DictionaryTerm(dictionaryIndex, entry);
     }
 
     /**
      * Check whether the given term exists in any section of shift-lists of the dictionary
-     * + Stores matching line containing the term for use in shifting later
+     * + Stores matching list containing the term for use in shifting later
      * Note: this is a global dictionary check, and NOT file extension specific
      *
      * @param  term        String to be looked for in shifter dictionary
      * @return boolean
      */
     public boolean isTermInDictionary(String term) {
-        if (dictionaryContents.contains("|" + fileExtension + "|")) {
-            // Merge all terms-blocks
-            String dictionaryTerms = dictionaryContents;
-            Object[] dictionaryExtensionsBlocks = getAllFileExtensionsBlockStarts();
-
-            for (Object dictionaryExtensionsBlock : dictionaryExtensionsBlocks) {
-                String currentExtensionsList = dictionaryExtensionsBlock.toString();
-                dictionaryTerms = dictionaryTerms.replace(currentExtensionsList, "");
-            }
-
-            // Term is contained? store list of shifting neighbours
-            if (dictionaryTerms.contains("|" + term + "|")) {
-                relevantTermsList = extractFirstMatchingTermsLine(dictionaryTerms, term);
-                return true;
-            }
-            // Not found case-sensitive, try insensitive
-            String dictionaryTermsLower = dictionaryTerms.toLowerCase();
-            String termLower = term.toLowerCase();
-            if (dictionaryTermsLower.contains("|" + termLower + "|")) {
-                relevantTermsList = extractFirstMatchingTermsLine(dictionaryTermsLower, termLower);
-                return true;
-            }
+        DictionaryIndex.Entry entry = dictionaryIndex.getEntry(term);
+        if (null != entry) {
+            relevantTermsList = entry;
+            return true;
         }
 
         return false;
@@ -84,96 +75,24 @@ public class DictionaryTerm {
     /**
      * Check whether the given term exists in any section of shift-lists of the dictionary,
      * looking only at lists in blocks having assigned the given extension
-     * + Stores first matching line containing the term for use in shifting later
+     * + Stores first matching list containing the term for use in shifting later
      *
      * @param  term            String to be looked for in shifter dictionary
      * @param  fileExtension   Extension of edited file
      * @return boolean
      */
     public boolean isTermInDictionary(String term, String fileExtension) {
-        if (null != fileExtension && dictionaryContents.contains("|" + fileExtension + "|")) {
-            this.fileExtension = fileExtension;
-
-            // Reduce to first term-list of terms-block(s) of the given file extension, containing the given term
-            Object[] blocksOfExtension = getAllFileExtensionsBlockStarts(fileExtension);
-
-            // Go over all blocks of lists of shift-terms, fetch first one containing the term
-            for (Object aBlocksOfExtension : blocksOfExtension) {
-                String curExtensionsList = aBlocksOfExtension.toString();
-                String curShiftTermsBlock = StringUtils.substringBetween(dictionaryContents, curExtensionsList, "}");
-
-                // Term is contained? store list of shifting neighbours
-                if (UtilsTextual.containsCaseInSensitive(curShiftTermsBlock, "|" + term + "|")) {
-                    relevantTermsList = extractFirstMatchingTermsLine(curShiftTermsBlock, term);
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
-    /**
-     * @param  termsLines   Terms lines from dictionary
-     * @param  term         Word to be shifted
-     * @return String       First matching term lLine
-     */
-    private static String extractFirstMatchingTermsLine(String termsLines, String term) {
-        String sword = "|" + term + "|";
-        String[] allLines = termsLines.split("\n");
-        int amountLines = allLines.length;
-
-        String curLine;
-        int i = 0;
-        while (i < amountLines) {
-            curLine = allLines[i];
-            curLine = curLine.replaceAll("\\{*", "").replaceAll("}*", "").trim();
-
-            if (!curLine.isEmpty() && curLine.contains(sword)) {
-                return curLine;
-            }
-
-            i++;
+        if (null == fileExtension) {
+            return false;
         }
 
-        return null;
-    }
-
-    /**
-     * Get all starting lines of term-blocks (extensions) from dictionary
-     *
-     * @return Object[]    e.g. [0 => "('js') {", 1 => "('html') {", 2 => ...]
-     */
-    private Object[] getAllFileExtensionsBlockStarts() {
-        List<String> allMatches = new ArrayList<>();
-
-        String pattern = "\\(\\|([a-z|*]+\\|)*\\)(\\s)*\\{";
-        Matcher m = Pattern.compile(pattern).matcher(dictionaryContents);
-        while (m.find()) {
-            allMatches.add(m.group());
+        DictionaryIndex.Entry entry = dictionaryIndex.getEntry(term, fileExtension);
+        if (null != entry) {
+            relevantTermsList = entry;
+            return true;
         }
 
-        return allMatches.toArray();
-    }
-
-    /**
-     * Get all starting lines of term-blocks (extensions) from dictionary,
-     * limited to those containing the given file extension
-     *
-     * @return Object[]
-     */
-    private Object[] getAllFileExtensionsBlockStarts(String fileExtension) {
-        List<String> allMatches = new ArrayList<>();
-        Object[] dictionaryExtensionsBlocks = getAllFileExtensionsBlockStarts();
-
-        for (Object dictionaryExtensionsBlock : dictionaryExtensionsBlocks) {
-            String curBlock = dictionaryExtensionsBlock.toString();
-            if (curBlock.contains("|" + fileExtension + "|")) {
-                allMatches.add(curBlock);
-            }
-        }
-
-        return allMatches.toArray();
+        return false;
     }
 
     /**
@@ -188,19 +107,10 @@ public class DictionaryTerm {
             return word;
         }
 
-        String shiftTerms = relevantTermsList.replaceFirst("\\|", "");
-        shiftTerms = UtilsTextual.replaceLast(shiftTerms, "|", "");
-
-        String[] termsList = shiftTerms.split("\\|");
-        if (termsList.length == 0) {
-            return word;
-        }
-
-        StaticWordType wordType = new StaticWordType(termsList);
-        String shiftedWord = wordType.getShifted(word, isUp);
+        String shiftedWord = relevantTermsList.getShifted(word, isUp);
 
         return shiftedWord.equals(word)
-                ? wordType.getShifted(word.toLowerCase(), isUp)
+                ? relevantTermsList.getShifted(word.toLowerCase(), isUp)
                 : shiftedWord;
     }
 }
@@ -17,76 +17,55 @@ package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.utils.UtilsFile;
 
-import java.util.Arrays;
-import java.util.List;
-
 /**
  * DocCommentType class
  */
 class DocCommentDataType {
 
-    private final String[] typesJavaScript;
-    private final String[] typesJava;
-    private final String[] typesPHP;
-    private final String[] typesObjectiveC;
-
-    DocCommentDataType() {
-        typesJavaScript = new String[]{ "array", "boolean", "element", "event", "function", "number", "null", "object", "string", "undefined" };
-        typesJava       = new String[]{ "boolean", "byte", "char", "double", "float", "int", "long", "short", "string" };
-        typesPHP        = new String[]{ "array", "bool", "float", "int", "null", "object", "resource", "string" };
-        typesObjectiveC = new String[]{ "int", "char", "float", "double", "id", "BOOL", "long", "short", "signed", "unsigned" };
-    }
+    private static final StaticWordType TYPES_JAVASCRIPT  = new StaticWordType("array", "boolean", "element", "event", "function", "number", "null", "object", "string", "undefined");
+    private static final StaticWordType TYPES_JAVA        = new StaticWordType("boolean", "byte", "char", "double", "float", "int", "long", "short", "string");
+    private static final StaticWordType TYPES_PHP         = new StaticWordType("array", "bool", "float", "int", "null", "object", "resource", "string");
+    private static final StaticWordType TYPES_OBJECTIVE_C = new StaticWordType("int", "char", "float", "double", "id", "BOOL", "long", "short", "signed", "unsigned");
 
     /**
      * @param  word        String to be shifted
      * @param  filename    Filename of the edited file
      * @param  isUp        Shifting up or down?
-     * @return String      Shifting result
+     * @return String      Shifting result, first data type of the language if the word is none of them
      */
-    public String getShifted(String word, String filename, boolean isUp) {
-        String[] dataTypes   = getDataTypesByFilename(filename);
-        int amountTypes      = dataTypes.length;
-        String wordLower     = word.toLowerCase();
-
-        if (0 == amountTypes) {
-            return wordLower;
-        }
-
-        List<String> dataTypesList = Arrays.asList(dataTypes);
-        int curIndex               = dataTypesList.indexOf(wordLower);
-        curIndex                   = NumericValue.moduloShiftInteger(curIndex, amountTypes, isUp);
-
-        if (curIndex < 0) {
-            curIndex = 0;
-        }
+    static String getShifted(String word, String filename, boolean isUp) {
+        StaticWordType dataTypes = getDataTypesByFilename(filename);
+        String wordLower         = word.toLowerCase();
 
-        return dataTypesList.get(curIndex);
+        return dataTypes.hasWord(wordLower)
+                ? dataTypes.getShifted(wordLower, isUp)
+                : dataTypes.getKeyword(0);
     }
 
     /**
      * Return array of data shiftable_types of detected language of edited file
      *
      * @param  filename    Filename of edited file
-     * @return String[]
+     * @return StaticWordType
      */
-    private String[] getDataTypesByFilename(String filename) {
+    private static StaticWordType getDataTypesByFilename(String filename) {
         if (null != filename) {
             String filenameLower = filename.toLowerCase();
 
             if (UtilsFile.isJavaScriptFile(filenameLower, true)) {
                 // JavaScript data shiftable_types
-                return typesJavaScript;
+                return TYPES_JAVASCRIPT;
             }
             if (filenameLower.endsWith(".java")) {
                 // Java primitive data shiftable_types
-                return typesJava;
+                return TYPES_JAVA;
             }
             if (filenameLower.endsWith(".m")) {
                 // Objective-C "method" file
-                return typesObjectiveC;
+                return TYPES_OBJECTIVE_C;
             }
         }
 
-        return typesPHP;
+        return TYPES_PHP;
     }
 }
@@ -15,103 +15,110 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.models.ActionContainer;
+import com.kstenschke.shifter.models.ShiftContext;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsArray;
 import com.kstenschke.shifter.utils.UtilsFile;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * DocCommentType class
  */
 public class DocCommentTag {
 
-    private final String[] tagsJavaScript;
+    private static final String[] tagsJavaScript = new String[]{"author", "class", "constructor", "deprecated", "exception", "method", "module", "namespace", "param", "private", "property", "returns", "see", "this", "throws", "type", "version"};
+    private static final String[] tagsJava       = new String[]{"author", "version", "param", "return", "exception", "throws", "see", "since", "serial", "deprecated"};
+    private static final String[] tagsPHP        = new String[]{"abstract", "access", "author", "constant", "deprecated", "final", "global", "magic", "module", "param", "package", "return", "see", "static", "subpackage", "throws", "todo", "var", "version"};
 
-    private final String[] tagsJava;
+    // Tags of all languages, merged once
+    private static final String[] TAGS_ALL = UtilsArray.mergeArrays(tagsJavaScript, tagsJava, tagsPHP);
 
-    private final String[] tagsPHP;
-
-    public DocCommentTag() {
-        tagsJavaScript = new String[]{"author", "class", "constructor", "deprecated", "exception", "method", "module", "namespace", "param", "private", "property", "returns", "see", "this", "throws", "type", "version"};
-        tagsJava       = new String[]{"author", "version", "param", "return", "exception", "throws", "see", "since", "serial", "deprecated"};
-        tagsPHP        = new String[]{"abstract", "access", "author", "constant", "deprecated", "final", "global", "magic", "module", "param", "package", "return", "see", "static", "subpackage", "throws", "todo", "var", "version"};
-    }
-
-    /**
-     * @return Array    String array w/ all recognized doc comment tags
-     */
-    private String[] getAllTags() {
-        return UtilsArray.mergeArrays(tagsJavaScript, tagsJava, tagsPHP);
-    }
+    private static final StaticWordType TAGS_JAVASCRIPT = new StaticWordType(tagsJavaScript);
+    private static final StaticWordType TAGS_JAVA       = new StaticWordType(tagsJava);
+    private static final StaticWordType TAGS_PHP        = new StaticWordType(tagsPHP);
 
     /**
-     * @return String   Pipe-separated list (as string) w/ all recognized doc comment tags
+     * @param  prefixChar Prefix character
+     * @param  line       Whole line containing the word
+     * @return boolean    Does the given String represent a data type (number / integer / string /...) from a doc comment (param / return /...)?
      */
-    String getAllTagsPiped() {
-        String[] allTags = getAllTags();
-
-        return UtilsArray.implode(allTags, "|");
+    public boolean isDocCommentTag(String prefixChar, String line) {
+        return "@".equals(prefixChar) && isDocCommentLine(line);
     }
 
     /**
-     * Check whether given String looks like a doc comment line
+     * Check whether given line looks like a doc comment line: containing "*", followed by whitespace and a known tag, e.g. " * @param"
+     * The line is scanned once w/o copying it, tags are compared case-insensitive
      *
      * @param  line     Line the caret is at
      * @return boolean
      */
-    private boolean isDocCommentLineContext(String line) {
-        String allTagsPiped     = getAllTagsPiped();
-        String regExPatternLine = "\\s*\\*\\s+@(" + allTagsPiped + ")";
-
-        Matcher m = Pattern.compile(regExPatternLine).matcher(line.toLowerCase());
+    public static boolean isDocCommentLine(CharSequence line) {
+        int length = line.length();
+        for (int offset = 0; offset < length; offset++) {
+            if ('*' != line.charAt(offset)) {
+                continue;
+            }
+            int offsetAt = offset + 1;
+            while (offsetAt < length && isWhitespace(line.charAt(offsetAt))) {
+                offsetAt++;
+            }
+            if (offsetAt > offset + 1 && offsetAt < length && '@' == line.charAt(offsetAt) && startsWithTag(line, offsetAt + 1)) {
+                return true;
+            }
+        }
 
-        return m.find();
+        return false;
     }
 
     /**
-     * @param  prefixChar Prefix character
-     * @param  line       Whole line containing the word
-     * @return boolean    Does the given String represent a data type (number / integer / string /...) from a doc comment (param / return /...)?
+     * @param  line     Line to be checked
+     * @param  offset   Offset after "@"
+     * @return boolean  Does any known tag begin at the given offset?
      */
-    public boolean isDocCommentTag(String prefixChar, String line) {
-        return "@".equals(prefixChar) && isDocCommentLineContext(line);
+    private static boolean startsWithTag(CharSequence line, int offset) {
+        for (String tag : TAGS_ALL) {
+            int tagLength = tag.length();
+            if (offset + tagLength > line.length()) {
+                continue;
+            }
+            int i = 0;
+            while (i < tagLength && Character.toLowerCase(line.charAt(offset + i)) == tag.charAt(i)) {
+                i++;
+            }
+            if (i == tagLength) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
-    public static boolean isDocCommentLine(String line) {
-        DocCommentTag docCommentTag = new DocCommentTag();
-        return docCommentTag.isDocCommentLineContext(line);
+    // Whitespace as of "\s" in regular expressions
+    private static boolean isWhitespace(char c) {
+        return ' ' == c || '\t' == c || '\n' == c || '\u000B' == c || '\f' == c || '\r' == c;
     }
 
     /**
      * @param  word             String to be shifted
-     * @param  actionContainer
+     * @param  shiftContext
      * @param  textAfterCaret   Document text after the caret
      * @return Shifting result
      */
-    public String getShifted(String word, ActionContainer actionContainer, String textAfterCaret) {
-        String[] commentTags = getTagsByFilename(actionContainer.filename);
-        int amountTags = commentTags.length;
-        if (amountTags > 0) {
-            String wordLower = word.toLowerCase();
-            List<String> commentTagsList = Arrays.asList(commentTags);
-            int curIndex = commentTagsList.indexOf(wordLower);
-            if (curIndex > -1) {
-                curIndex           = NumericValue.moduloShiftInteger(curIndex, amountTags, actionContainer.isShiftUp);
-                String shiftedWord = commentTagsList.get(curIndex);
-                if ("method".equals(shiftedWord)) {
-                    shiftedWord = shiftedWord + parseNextMethod(textAfterCaret);
-                }
-
-                return shiftedWord;
-            }
+    public String getShifted(String word, ShiftContext shiftContext, CharSequence textAfterCaret) {
+        StaticWordType commentTags = getTagsByFilename(shiftContext.filename);
+        int offset = commentTags.getOffsetIgnoreCase(word);
+        if (-1 == offset) {
+            return word;
         }
 
-        return word;
+        String shiftedWord = commentTags.getKeyword(shiftContext.isShiftUp ? offset + 1 : offset - 1);
+        if ("method".equals(shiftedWord)) {
+            shiftedWord = shiftedWord + parseNextMethod(textAfterCaret);
+        }
+
+        return shiftedWord;
     }
 
     /**
@@ -120,42 +127,34 @@ public class DocCommentTag {
      * @param  jsCode JavaScript source code to be analyzed
      * @return String JavaScript method name
      */
-    private String parseNextMethod(String jsCode) {
-        List<String> allMatches = new ArrayList<>();
-
-        String regExPattern = "[a-zA-Z_$][0-9a-zA-Z_$]*\\s*:\\s*function";
-        Matcher m           = Pattern.compile(regExPattern).matcher(jsCode);
-        while (m.find()) {
-            if (!allMatches.contains(m.group())) {
-                allMatches.add(m.group());
-            }
-        }
+    private String parseNextMethod(CharSequence jsCode) {
+        Matcher m = StaticPatterns.JS_OBJECT_METHOD.matcher(jsCode);
 
-        return allMatches.isEmpty()
-                ? ""
-                : "\t" + (allMatches.get(0).replace("function", "").replace(":", "").trim());
+        return m.find()
+                ? "\t" + (m.group().replace("function", "").replace(":", "").trim())
+                : "";
     }
 
     /**
-     * Return array of data shiftable_types of detected language of edited file
+     * Return doc comment tags of detected language of edited file
      *
-     * @param  filename Filename of edited file
-     * @return String[]
+     * @param  filename         Filename of edited file
+     * @return StaticWordType
      */
-    private String[] getTagsByFilename(String filename) {
+    private static StaticWordType getTagsByFilename(String filename) {
         if (null != filename) {
             String filenameLower = filename.toLowerCase();
 
             if (UtilsFile.isJavaScriptFile(filenameLower, true)) {
                 // JavaScript comment shiftable_types
-                return tagsJavaScript;
+                return TAGS_JAVASCRIPT;
             }
             if (filenameLower.endsWith(".java")) {
                 // Java comment tags in the recommended order
-                return tagsJava;
+                return TAGS_JAVA;
             }
         }
 
-        return tagsPHP;
+        return TAGS_PHP;
     }
 }
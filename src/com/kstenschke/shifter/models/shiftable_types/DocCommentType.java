@@ -15,10 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.models.ActionContainer;
+import com.kstenschke.shifter.models.ShiftContext;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * DOC comment type class
@@ -32,12 +30,7 @@ public class DocCommentType {
      * @return boolean.
      */
     public static boolean isDocCommentTypeLineContext(String line) {
-        String allTags = new DocCommentTag().getAllTagsPiped();
-        String regExPatternLine = "\\s*\\*\\s+@(" + allTags + ")\\s*";
-
-        Matcher m = Pattern.compile(regExPatternLine).matcher(line.toLowerCase());
-
-        return m.find();
+        return DocCommentTag.isDocCommentLine(line);
     }
 
     /**
@@ -54,10 +47,10 @@ public class DocCommentType {
 
     /**
      * @param  word     String to be shifted
-     * @param  actionContainer
+     * @param  shiftContext
      * @return Shifting result
      */
-    public String getShifted(String word, ActionContainer actionContainer) {
-        return new DocCommentDataType().getShifted(word, actionContainer.filename, actionContainer.isShiftUp);
+    public String getShifted(String word, ShiftContext shiftContext) {
+        return DocCommentDataType.getShifted(word, shiftContext.filename, shiftContext.isShiftUp);
     }
 }
@@ -16,6 +16,7 @@
 package com.kstenschke.shifter.models.shiftable_types;
 
 import org.apache.commons.lang.StringEscapeUtils;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * HTML encoded/encode-able (=containing char(s) that be be encoded) String.
@@ -24,19 +25,108 @@ public class HtmlEncodable {
 
     public static final String ACTION_TEXT = "Shift HTML Entities";
 
+    /**
+     * Shifting direction: decoding is preferred if the string contains any entity reference
+     */
+    public enum Direction {
+        ENCODE,
+        DECODE
+    }
+
     /**
      * Check whether given character can be encoded to an HTML special char / or is already HTML encoded
      *
      * @param  str      String to be shifted currently
      * @return boolean
      */
-    public static boolean isHtmlEncodable(String str) {
-        Integer strLenOriginal = str.length();
+    public static boolean isHtmlEncodable(CharSequence str) {
+        return null != getDirection(str);
+    }
 
-        String encoded = StringEscapeUtils.escapeHtml(str);
-        String decoded = StringEscapeUtils.unescapeHtml(str);
+    /**
+     * Scan given string once w/o copying it, for entity references (to be decoded) or characters to be encoded
+     *
+     * @param  str          String to be shifted currently
+     * @return Direction    Null if the string contains neither
+     */
+    @Nullable
+    public static Direction getDirection(CharSequence str) {
+        boolean containsEncodable = false;
+        int length = str.length();
+        for (int i = 0; i < length; i++) {
+            char c = str.charAt(i);
+            if ('&' == c) {
+                if (isDecodableEntityReference(str, i)) {
+                    return Direction.DECODE;
+                }
+                containsEncodable = true;
+            } else if (c > 0x7F || '"' == c || '<' == c || '>' == c) {
+                containsEncodable = true;
+            }
+        }
 
-        return !strLenOriginal.equals(encoded.length()) || !strLenOriginal.equals(decoded.length());
+        return containsEncodable ? Direction.ENCODE : null;
+    }
+
+    /**
+     * @param  str      String containing "&" at the given offset
+     * @param  offset   Offset of "&"
+     * @return boolean  Does a reference to a named or numeric entity begin at the given offset, e.g. "&amp;" or "&#38;"?
+     */
+    private static boolean isDecodableEntityReference(CharSequence str, int offset) {
+        int end = getEndOfEntityReference(str, offset);
+        if (-1 == end) {
+            return false;
+        }
+        String reference = str.subSequence(offset, end).toString();
+
+        return StringEscapeUtils.unescapeHtml(reference).length() != reference.length();
+    }
+
+    /**
+     * @param  str      String containing "&" at the given offset
+     * @param  offset   Offset of "&"
+     * @return int      Offset after the ";" ending the entity reference beginning at the given offset, -1 if there is none
+     */
+    private static int getEndOfEntityReference(CharSequence str, int offset) {
+        int length = str.length();
+        for (int i = offset + 1; i < length; i++) {
+            char c = str.charAt(i);
+            if (';' == c) {
+                return i + 1;
+            }
+            if ('&' == c || c <= ' ') {
+                // Entity names and numbers contain no whitespace, a following "&" begins another reference
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Decode entity references in one pass, copying the text between them unchanged
+     *
+     * @param  str      String containing entity references
+     * @return String   Decoded string
+     */
+    private static String decode(String str) {
+        StringBuilder decoded = new StringBuilder(str.length());
+        int offsetCopied = 0;
+        for (int offset = str.indexOf('&'); -1 != offset; offset = str.indexOf('&', offset + 1)) {
+            int end = getEndOfEntityReference(str, offset);
+            if (-1 != end) {
+                String reference = str.substring(offset, end);
+                String character = StringEscapeUtils.unescapeHtml(reference);
+                if (character.length() != reference.length()) {
+                    decoded.append(str, offsetCopied, offset).append(character);
+                    offsetCopied = end;
+                    offset = end - 1;
+                }
+            }
+        }
+
+        return decoded.append(str, offsetCopied, str.length()).toString();
     }
 
     /**
@@ -46,18 +136,21 @@ public class HtmlEncodable {
      * @return String
      */
     public static String getShifted(String word) {
-        Integer strLenOriginal = word.length();
-
-        String decoded = StringEscapeUtils.unescapeHtml(word);
-        Integer strLenDecoded = decoded.length();
+        return getShifted(word, getDirection(word));
+    }
 
-        if (!strLenOriginal.equals(strLenDecoded)) {
-            return decoded;
+    /**
+     * @param  word         word to be shifted
+     * @param  direction    Direction detected before, null = not shiftable
+     * @return String       HTML encoded/decoded variant of given string
+     */
+    public static String getShifted(String word, @Nullable Direction direction) {
+        if (null == direction) {
+            return word;
         }
 
-        String encoded = StringEscapeUtils.escapeHtml(word);
-        Integer strLenEncoded = encoded.length();
-
-        return !strLenOriginal.equals(strLenEncoded) ? encoded : word;
+        return Direction.DECODE == direction
+                ? decode(word)
+                : StringEscapeUtils.escapeHtml(word);
     }
 }
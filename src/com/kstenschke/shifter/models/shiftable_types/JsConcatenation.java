@@ -15,6 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
+
 /**
  * JavaScript concatenation in TypeScript file: shift into interpolation
  */
@@ -26,7 +28,7 @@ public class JsConcatenation {
     private int amountStrings = 0;
 
     public static Boolean isJsConcatenation(String str) {
-        if (!str.contains("+") || str.replaceAll("[\\s|\\d]", "").length() < 3) {
+        if (!str.contains("+") || StaticPatterns.JS_CONCATENATION_NON_OPERAND.matcher(str).replaceAll("").length() < 3) {
             return false;
         }
 
@@ -16,10 +16,11 @@
 package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.models.ActionContainer;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsEnvironment;
 import com.kstenschke.shifter.utils.UtilsPhp;
 import com.kstenschke.shifter.utils.UtilsTextual;
-import org.jetbrains.annotations.NonNls;
+import org.apache.commons.lang.StringUtils;
 
 import static org.apache.commons.lang.StringUtils.trim;
 
@@ -30,10 +31,10 @@ public class JsDoc {
 
     private static final String ACTION_TEXT = "Shift JsDoc";
 
-    @NonNls
-    private static final String REGEX_DATA_TYPES_NATIVE = "(array|boolean|date|event|function|null|number|object|string|undefined|\\*)";
-    @NonNls
-    private static final String REGEX_DATA_TYPES_ALIEN = "(bool|float|int|integer|void)";
+    // Native and "alien" (valid e.g. in Java) data types
+    private static final StaticWordType DATA_TYPES = new StaticWordType(
+            "array", "boolean", "date", "event", "function", "null", "number", "object", "string", "undefined", "*",
+            "bool", "float", "int", "integer", "void");
 
     public static boolean isJsDocBlock(String str) {
         str = trim(str);
@@ -82,14 +83,14 @@ public class JsDoc {
     public static boolean isDataType(String str) {
         str = trim(str.toLowerCase());
 
-        return str.matches(REGEX_DATA_TYPES_NATIVE) || str.matches(REGEX_DATA_TYPES_ALIEN);
+        return DATA_TYPES.hasWord(str);
     }
 
     public static boolean isWordRightOfAtKeyword(String word, String line) {
         String[] keywords = new String[]{"@param", "@return", "@type"};
         for (String keyword : keywords) {
             if (line.contains(keyword)) {
-                line = trim(line.split(keyword)[1]);
+                line = trim(StringUtils.substringBefore(StringUtils.substringAfter(line, keyword), keyword));
                 return line.startsWith(word);
             }
         }
@@ -144,9 +145,7 @@ public class JsDoc {
      * @return
      */
     private static String addCompoundsToDataType(String line, String docCommentType) {
-        line = line.replaceAll("(?i)(" + docCommentType + "\\s*)" + REGEX_DATA_TYPES_NATIVE, "$1{$2}");
-
-        return line.replaceAll("(?i)(" + docCommentType + "\\s*)" + REGEX_DATA_TYPES_ALIEN, "$1{$2}");
+        return StaticPatterns.JS_DOC_KEYWORD_DATA_TYPE.get(docCommentType).matcher(line).replaceAll("$1{$2}");
     }
 
     public static void correctInvalidReturnsCommentInDocument(ActionContainer actionContainer) {
@@ -164,8 +163,7 @@ public class JsDoc {
      * @return
      */
     public static boolean correctDocBlockInDocument(final ActionContainer actionContainer) {
-        String documentText = actionContainer.document.getText();
-        String docBlock = documentText.substring(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd);
+        String docBlock = actionContainer.editorText.subSequence(actionContainer.offsetSelectionStart, actionContainer.offsetSelectionEnd).toString();
         String[] lines = docBlock.split("\n");
 
         StringBuilder docBlockCorrected = new StringBuilder();
@@ -244,7 +242,7 @@ public class JsDoc {
         boolean wasPreviousEmpty = false;
         int index = 0;
         for (String line : lines) {
-            boolean isEmpty = 0 == index || (trim(trim(line).replaceAll("\\*", "")).isEmpty());
+            boolean isEmpty = 0 == index || (trim(trim(line).replace("*", "")).isEmpty());
 
             if (0 == index || !(isEmpty && wasPreviousEmpty)) {
                 blockCleaned.append(index > 0 ? "\n" : "").append(line);
@@ -258,13 +256,13 @@ public class JsDoc {
 
     private static String addDataType(String line) {
         String parameterName =
-                trim(trim(line.replaceAll("\\*", ""))
+                trim(trim(line.replace("*", ""))
                 .replace("@param", "")
                 .replace("@returns", "")
                 .replace("@type", ""));
 
         if (parameterName.contains(" ")) {
-            parameterName = parameterName.split("\\s")[0];
+            parameterName = StaticPatterns.WHITESPACE.split(parameterName)[0];
         }
 
         if (parameterName.isEmpty()) {
@@ -287,23 +285,23 @@ public class JsDoc {
         String[] camelWords = UtilsTextual.splitCamelCaseIntoWords(parameterName, true);
         String lastWord = camelWords[camelWords.length - 1];
 
-        if (parameterName.startsWith("$") || parameterName.matches("(?i)(\\w*elem)")) {
+        if (parameterName.startsWith("$") || StaticPatterns.JS_DOC_PARAMETER_ELEMENT.matcher(parameterName).matches()) {
             return "*";
         }
-        if (parameterName.matches("(?i)(\\w*date\\w*)")) {
+        if (StaticPatterns.JS_DOC_PARAMETER_DATE.matcher(parameterName).matches()) {
             return "Date";
         }
         if ("e".equals(parameterName)) {
             return "Event";
         }
-        if (lastWord.matches("func|function|callback")) {
+        if (StaticPatterns.JS_DOC_PARAMETER_FUNCTION.matcher(lastWord).matches()) {
             return "Function";
         }
         if (parameterName.length() == 1) {
             // e.g. x, y, i, etc.
             return "number";
         }
-        if ("params".equals(parameterName) || parameterName.matches("(?i)(\\w*obj\\w*)")) {
+        if ("params".equals(parameterName) || StaticPatterns.JS_DOC_PARAMETER_OBJECT.matcher(parameterName).matches()) {
             return "Object";
         }
         if ("useragent".equals(parameterNameLower)) {
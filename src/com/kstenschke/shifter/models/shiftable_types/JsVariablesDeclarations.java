@@ -15,6 +15,7 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -105,7 +106,7 @@ public class JsVariablesDeclarations {
 
         if (StringUtils.countMatches(line, "//") == 1) {
             // Handle line ending w/ comment intact
-            String[] parts = line.split("//");
+            String[] parts = StaticPatterns.TRAILING_COMMENT_DELIMITER.split(line);
             parts[0] = parts[0].trim();
             return parts[0].substring(0, parts[0].length() - 1) + ", //" + parts[1];
         }
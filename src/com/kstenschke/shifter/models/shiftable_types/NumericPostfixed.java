@@ -15,6 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
+
 /**
  * String w/ numeric postfix
  */
@@ -25,7 +27,7 @@ public class NumericPostfixed {
      * @return boolean
      */
     public static boolean hasNumericPostfix(String word) {
-        return word.matches("^.+?\\d$");
+        return StaticPatterns.NUMERIC_POSTFIXED.matcher(word).matches();
     }
 
     /**
@@ -40,15 +42,13 @@ public class NumericPostfixed {
             indexLastNumericChar;
 
         for (indexLastNumericChar = word.length() - 1; indexLastNumericChar >= 0; indexLastNumericChar--) {
-            String curChar = word.substring(indexLastNumericChar, indexLastNumericChar + 1);
-            if (curChar.matches("\\d")) {
+            if (isDigit(word.charAt(indexLastNumericChar))) {
                 // Found last numeric character
                 break;
             }
         }
         for (indexFirstNumericChar = indexLastNumericChar - 1; indexFirstNumericChar >= 0; indexFirstNumericChar--) {
-            String curChar = word.substring(indexFirstNumericChar, indexFirstNumericChar + 1);
-            if (!curChar.matches("\\d")) {
+            if (!isDigit(word.charAt(indexFirstNumericChar))) {
                 // Found non-numeric character
                 indexFirstNumericChar += 1;
                 break;
@@ -62,4 +62,8 @@ public class NumericPostfixed {
 
         return leadPart + shiftedNumber;
     }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 }
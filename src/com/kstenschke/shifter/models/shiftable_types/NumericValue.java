@@ -15,19 +15,12 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.ui.popup.Balloon;
-import com.intellij.openapi.ui.popup.BalloonBuilder;
-import com.intellij.openapi.ui.popup.JBPopupFactory;
-import com.intellij.ui.JBColor;
-import com.intellij.ui.awt.RelativePoint;
 import com.kstenschke.shifter.ShifterPreferences;
-import com.kstenschke.shifter.models.ActionContainer;
-import com.kstenschke.shifter.utils.UtilsFile;
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.ShiftContext;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsTextual;
-import org.jetbrains.annotations.Nullable;
 
-import java.awt.*;
 import java.util.Date;
 
 /**
@@ -40,65 +33,44 @@ public class NumericValue {
 
     private static final int SECONDS_PER_DAY = 86400;
 
-    /**
-     * Shift timestamps day-wise as seconds (or milliseconds: 1000)
-     */
-    private final int timestampShiftMode;
-
-    public NumericValue() {
-        timestampShiftMode = ShifterPreferences.getShiftingModeOfTimestamps();
-    }
-
     /**
      * @param str String to be checked
      * @return boolean     Does the given string represent a CSS length value?
      */
     public static boolean isNumericValue(String str) {
-        return str.matches("[0-9]+");
+        return StaticPatterns.DIGITS.matcher(str).matches();
     }
 
     /**
      * @param value String representing a numeric value
-     * @param actionContainer
+     * @param shiftContext
      * @return String      Value shifted up or down by one
      */
-    public String getShifted(String value, ActionContainer actionContainer) {
+    public String getShifted(String value, ShiftContext shiftContext) {
         int strLen = value.length();
 
         return strLen <= 7
             // Integer
-            ? Integer.toString(Integer.parseInt(value) + (actionContainer.isShiftUp ? 1 : -1))
+            ? Integer.toString(Integer.parseInt(value) + (shiftContext.isShiftUp ? 1 : -1))
             // Guessing that it is a UNIX or milliseconds timestamp
-            : getShiftedUnixTimestamp(value, actionContainer.isShiftUp, actionContainer.editor, actionContainer.filename);
+            : getShiftedUnixTimestamp(value, shiftContext);
     }
 
     /**
      * @param value
-     * @param isUp
-     * @param editor Needed to gather position of info balloon (not shown if editor == null)
+     * @param shiftContext  Shows human-readable date of the shifted timestamp
      * @return String      UNIX timestamp shifted plus/minus one day
      */
-    private String getShiftedUnixTimestamp(String value, boolean isUp, @Nullable Editor editor, String filename) {
+    private String getShiftedUnixTimestamp(String value, ShiftContext shiftContext) {
         int strLenOriginal = value.length();
         long shiftedTimestamp;
 
-        int multiplier = getTimestampMultiplier(filename);
-        shiftedTimestamp = Long.parseLong(value) + ((isUp ? SECONDS_PER_DAY : -SECONDS_PER_DAY) * multiplier);
+        int multiplier = getTimestampMultiplier(shiftContext.filename, shiftContext.settings);
+        shiftedTimestamp = Long.parseLong(value) + ((shiftContext.isShiftUp ? SECONDS_PER_DAY : -SECONDS_PER_DAY) * multiplier);
 
-        if (null != editor) {
-            // Create and show balloon w/ human-readable date
-            Balloon.Position pos = Balloon.Position.above;
-            String balloonText =
-                    "UNIX Time: " + new Date(shiftedTimestamp * 1000).toString()
-                            + "\nMilliseconds: " + new Date(shiftedTimestamp).toString();
-            BalloonBuilder builder = JBPopupFactory.getInstance().createHtmlTextBalloonBuilder(balloonText, null, new JBColor(new Color(255, 255, 231), new Color(255, 255, 231)), null);
-            Balloon balloon = builder.createBalloon();
-
-            Point caretPos = editor.visualPositionToXY(editor.getCaretModel().getVisualPosition());
-            RelativePoint balloonPosition = new RelativePoint(editor.getContentComponent(), caretPos);
-
-            balloon.show(balloonPosition, pos);
-        }
+        shiftContext.showInfo(
+                "UNIX Time: " + new Date(shiftedTimestamp * 1000).toString()
+                        + "\nMilliseconds: " + new Date(shiftedTimestamp).toString());
 
         String valueShifted = Long.toString(shiftedTimestamp);
 
@@ -108,20 +80,16 @@ public class NumericValue {
             : valueShifted;
     }
 
-    private int getTimestampMultiplier(String filename) {
-        String fileEnding = UtilsFile.extractFileExtension(filename, true);
-        String fileEndingsSeconds = ("," + ShifterPreferences.getSecondsFileEndings() + ",").toLowerCase();
-
-        if (fileEndingsSeconds.contains("," + fileEnding + ",")) {
+    private int getTimestampMultiplier(String filename, ShifterSettings settings) {
+        if (settings.isSecondsFile(filename)) {
             return 1;
         }
-
-        String fileEndingsMilliSeconds = ("," + ShifterPreferences.getMillisecondsFileEndings() + ",").toLowerCase();
-        if (fileEndingsMilliSeconds.contains("," + fileEnding + ",")) {
+        if (settings.isMillisecondsFile(filename)) {
             return 1000;
         }
 
-        return ShifterPreferences.SHIFTING_MODE_TIMESTAMP_SECONDS == timestampShiftMode ? 1 : 1000;
+        // Shift timestamps day-wise as seconds (or milliseconds: 1000)
+        return ShifterPreferences.SHIFTING_MODE_TIMESTAMP_SECONDS == settings.shiftingModeOfTimestamps ? 1 : 1000;
     }
 
     /**
@@ -17,7 +17,7 @@ package com.kstenschke.shifter.models.shiftable_types;
 
 import static org.apache.commons.lang.StringUtils.trim;
 
-class PhpDocComment {
+public class PhpDocComment {
 
     /**
      * Check whether given String is a PHP doc comment block
@@ -25,14 +25,14 @@ class PhpDocComment {
      * @param  str
      * @return boolean
      */
-    static boolean isPhpDocComment(String str) {
+    public static boolean isPhpDocComment(String str) {
         str = trim(str);
         String[] lines = str.split("\n");
 
         return lines.length > 2 && str.startsWith("/**") && str.endsWith("*/") && str.contains(" * ");
     }
 
-    static boolean containsAtParam(String str) {
+    public static boolean containsAtParam(String str) {
         return str.contains("@param ");
     }
 
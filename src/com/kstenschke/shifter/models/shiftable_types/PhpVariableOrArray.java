@@ -15,77 +15,44 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.ShifterPreferences;
-import com.kstenschke.shifter.models.ActionContainer;
-import com.kstenschke.shifter.utils.UtilsPhp;
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.ShiftContext;
+import com.kstenschke.shifter.models.indexes.PhpVariablesIndex;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsTextual;
-import org.jetbrains.annotations.NotNull;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import org.apache.commons.lang.StringUtils;
 
 /**
  * PHP Variable (word w/ $ prefix), includes array definition (toggle long versus shorthand syntax)
  */
 public class PhpVariableOrArray {
 
-    // Detected array definition? Shifts among long and shorthand than: array(...) <=> [...]
-    private boolean isShiftableArray = false;
-
-    // Shorthand (since PHP5.4) or long syntax array?
-    private boolean isConventionalArray = false;
-
-    public void init(String str) {
-        isPhpVariableOrArray(str);
-    }
-
     /**
-     * Check whether given string represents a PHP variable
+     * Check whether given string represents a PHP variable, or an array definition to be shifted among long and shorthand syntax
      *
-     * @param  str     String to be checked
+     * @param  str         String to be checked
+     * @param  settings    Selects the array syntax conversions to be detected
      * @return boolean
      */
-    public boolean isPhpVariableOrArray(String str) {
-        boolean isVariable = false;
-        if (str.startsWith("$")) {
-            String identifier = str.substring(1);
-            // Must contain a-z,A-Z or 0-9, _
-            isVariable = identifier.toLowerCase().matches("[a-zA-Z0-9_]+");
-        }
-
-        if (!isVariable) {
-            // Detect array definition
-            isShiftableArray = isShiftablePhpArray(str);
-        }
-
-        return isVariable || isShiftableArray;
+    public boolean isPhpVariableOrArray(String str, ShifterSettings settings) {
+        return isPhpVariable(str) || isStaticShiftablePhpArray(str, settings);
     }
 
-    private boolean isShiftablePhpArray(String str) {
-        boolean isActiveConvertLongToShort = ShifterPreferences.getIsActiveConvertPhpArrayLongToShort();
-        boolean isActiveConvertShortToLong = ShifterPreferences.getIsActiveConvertPhpArrayShortToLong();
-
-        if (!isActiveConvertLongToShort && !isActiveConvertShortToLong) {
-            return false;
-        }
-
-        isConventionalArray = str.matches("(array\\s*\\()((.|\\n|\\r|\\s)*)(\\)(;)*)");
-        boolean isShorthandArray = !isConventionalArray && str.matches("(\\[)((.|\\n|\\r|\\s)*)(])(;)*");
-
-        return (isActiveConvertLongToShort && isConventionalArray) || (isActiveConvertShortToLong && isShorthandArray);
+    private static boolean isPhpVariable(String str) {
+        // Must contain a-z,A-Z or 0-9, _
+        return str.startsWith("$") && StaticPatterns.PHP_IDENTIFIER.matcher(str.substring(1).toLowerCase()).matches();
     }
 
-    public static boolean isStaticShiftablePhpArray(String str) {
-        boolean isActiveConvertLongToShort = ShifterPreferences.getIsActiveConvertPhpArrayLongToShort();
-        boolean isActiveConvertShortToLong = ShifterPreferences.getIsActiveConvertPhpArrayShortToLong();
+    public static boolean isStaticShiftablePhpArray(String str, ShifterSettings settings) {
+        boolean isActiveConvertLongToShort = settings.isActiveConvertPhpArrayLongToShort;
+        boolean isActiveConvertShortToLong = settings.isActiveConvertPhpArrayShortToLong;
 
         if (!isActiveConvertLongToShort && !isActiveConvertShortToLong) {
             return false;
         }
 
-        boolean isConventionalArray = str.matches("(array\\s*\\()((.|\\n|\\r|\\s)*)(\\)(;)*)");
-        boolean isShorthandArray = !isConventionalArray && str.matches("(\\[)((.|\\n|\\r|\\s)*)(])(;)*");
+        boolean isConventionalArray = StaticPatterns.PHP_ARRAY_CONVENTIONAL.matcher(str).matches();
+        boolean isShorthandArray = !isConventionalArray && StaticPatterns.PHP_ARRAY_SHORTHAND.matcher(str).matches();
 
         return (isActiveConvertLongToShort && isConventionalArray) || (isActiveConvertShortToLong && isShorthandArray);
     }
@@ -94,91 +61,38 @@ public class PhpVariableOrArray {
      * Shift PX value up/down by 16px
      *
      * @param  variable     Variable name string
-     * @param  actionContainer
+     * @param  shiftContext
      * @param  moreCount    Current "more" count, starting w/ 1. If non-more shift: null
      * @return String
      */
-    public String getShifted(String variable, ActionContainer actionContainer, Integer moreCount) {
-        if (isShiftableArray) {
+    public String getShifted(String variable, ShiftContext shiftContext, Integer moreCount) {
+        if (!isPhpVariable(variable)) {
+            // Detected array definition: shift among long and shorthand syntax: array(...) <=> [...]
             return getShiftedArray(variable);
         }
 
-        // Extract array of all PHP var names
-        String text = actionContainer.editorText.toString();
-        List<String> phpVariables = UtilsPhp.extractPhpVariables(text);
-
-        // Sort var names alphabetically
-        Collections.sort(phpVariables);
-        List<String> allLeadChars = null;
-        if (null != moreCount && 1 == moreCount) {
-            // During "shift more": iterate over variables reduced to first per every lead-character
-            phpVariables = reducePhpVarsToFirstPerLeadChar(phpVariables);
-            allLeadChars = getLeadChars(phpVariables);
-        }
-
-        int amountVars = phpVariables.size();
-
-        // Find position of given variable
-        int curIndex = getVariableIndex(variable, moreCount, phpVariables, allLeadChars);
-        if (-1 == curIndex || 0 == amountVars) {
+        if (null != moreCount && moreCount > 1) {
+            // Variables are shifted only once during iterations of "shift more"
             return variable;
         }
 
-        // Find next/previous variable name (only once during iterations of "shift more")
-        if (null == moreCount || 1 == moreCount) {
-            curIndex = NumericValue.moduloShiftInteger(curIndex, amountVars, actionContainer.isShiftUp);
-        }
-
-        return phpVariables.get(curIndex);
-    }
-
-    @NotNull
-    private Integer getVariableIndex(String variable, Integer moreCount, List<String> phpVariables, List<String> allLeadChars) {
-        if (null == moreCount || moreCount > 1) {
-            return phpVariables.indexOf(variable);
-        }
-
-        return null == allLeadChars
-            ? -1
-            : allLeadChars.indexOf(variable.substring(1, 2));
-    }
-
-    private List<String> reducePhpVarsToFirstPerLeadChar(List<String> allMatches) {
-        List<String> reducedMatches = new ArrayList<>();
-        String leadCharPrev = "";
-        String leadCharCur;
-        for (String currentMatch : allMatches) {
-            leadCharCur = currentMatch.substring(1,2);
-            if (!leadCharCur.matches(leadCharPrev)) {
-                reducedMatches.add(currentMatch);
-            }
-            leadCharPrev = leadCharCur;
-        }
-
-        return reducedMatches;
-    }
-
-    /**
-     * @param  matches
-     * @return List of first letters of given matches
-     */
-    private List<String> getLeadChars(List<String> matches) {
-        List<String> leadChars = new ArrayList<>();
-
-        for (String currentMatch : matches) {
-            leadChars.add(currentMatch.substring(1,2));
-        }
+        PhpVariablesIndex phpVariables = shiftContext.getPhpVariablesIndex();
+        String shiftedVariable = null == moreCount
+            ? phpVariables.getNeighbour(variable, shiftContext.isShiftUp)
+            // During "shift more": iterate over variables reduced to first per every lead-character
+            : phpVariables.getNeighbourByLeadChar(variable, shiftContext.isShiftUp);
 
-        return leadChars;
+        return null == shiftedVariable ? variable : shiftedVariable;
     }
 
     /**
      * @param  variable
      * @return String   converted array(...) <=> [...]
      */
-    public String getShiftedArray(String variable) {
-        return isConventionalArray
-            ? UtilsTextual.replaceLast(variable.replaceFirst("array", "[").replaceFirst("\\(", ""), ")", "]")
-            : UtilsTextual.replaceLast(variable.replaceFirst("\\[", "array("), "]", ")");
+    public static String getShiftedArray(String variable) {
+        // Shorthand (since PHP5.4) or long syntax array?
+        return StaticPatterns.PHP_ARRAY_CONVENTIONAL.matcher(variable).matches()
+            ? UtilsTextual.replaceLast(StringUtils.replaceOnce(StringUtils.replaceOnce(variable, "array", "["), "(", ""), ")", "]")
+            : UtilsTextual.replaceLast(StringUtils.replaceOnce(variable, "[", "array("), "]", ")");
     }
 }
@@ -15,23 +15,23 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.ShifterPreferences;
-import com.kstenschke.shifter.models.ActionContainer;
-import com.kstenschke.shifter.utils.UtilsTextual;
-
-import java.util.Collections;
-import java.util.List;
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.ShiftContext;
+import com.kstenschke.shifter.models.indexes.QuotedStringsIndex;
 
 /**
  * Quoted String.
  */
 public class QuotedString {
 
-    private String quoteChar;
-
-    public static boolean containsShiftableQuotes(String str) {
-        return (ShifterPreferences.getIsActiveConvertSingleQuotes() && str.contains("'"))
-            || (ShifterPreferences.getIsActiveConvertDoubleQuotes() && str.contains("\""));
+    /**
+     * @param  str
+     * @param  settings    Selects the quote characters to be converted
+     * @return boolean
+     */
+    public static boolean containsShiftableQuotes(String str, ShifterSettings settings) {
+        return (settings.isActiveConvertSingleQuotes && str.contains("'"))
+            || (settings.isActiveConvertDoubleQuotes && str.contains("\""));
     }
 
     public static boolean containsEscapedQuotes(String str) {
@@ -46,8 +46,6 @@ public class QuotedString {
      * @return boolean
      */
     public boolean isQuotedString(String prefixChar, String postfixChar) {
-        quoteChar = prefixChar;
-
         // Must begin be wrapped in single-, double quotes, or backticks
 
         return  // Word is wrapped in single quotes
@@ -62,22 +60,15 @@ public class QuotedString {
      * Shift to previous/next quoted string
      *
      * @param  word       Quoted word to be shifted
-     * @param  actionContainer
+     * @param  quoteChar  Quote character wrapping the word
+     * @param  shiftContext
      * @return String
      */
-    public String getShifted(String word, ActionContainer actionContainer) {
-        // Get array of all strings wrapped in current quoting sign
-        String text = actionContainer.editorText.toString();
-        List<String> allMatches = UtilsTextual.extractQuotedStrings(text, quoteChar);
-
-        // Sort var names alphabetically
-        Collections.sort(allMatches);
-        int amountVars = allMatches.size();
-
-        // Find position of given variable, return next/previous variable name
-        int curIndex = allMatches.indexOf(word);
-        curIndex     = NumericValue.moduloShiftInteger(curIndex, amountVars, actionContainer.isShiftUp);
+    public String getShifted(String word, String quoteChar, ShiftContext shiftContext) {
+        // Next/previous of all strings wrapped in current quoting sign, sorted alphabetically
+        QuotedStringsIndex quotedStrings = shiftContext.getQuotedStringsIndex(quoteChar);
+        String shifted = quotedStrings.getNeighbour(word, shiftContext.isShiftUp);
 
-        return allMatches.get(curIndex);
+        return null == shifted ? word : shifted;
     }
 }
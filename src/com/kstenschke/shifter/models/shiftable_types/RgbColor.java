@@ -15,6 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
+
 import java.awt.*;
 
 /**
@@ -32,7 +34,7 @@ public class RgbColor {
      * @return boolean
      */
     public static boolean isRgbColorString(String str, String prefixChar) {
-        return !(!"#".equals(prefixChar) || !(str.matches("[0-9a-fA-F]{3}") || str.matches("[0-9a-fA-F]{6}")));
+        return !(!"#".equals(prefixChar) || !StaticPatterns.RGB_COLOR.matcher(str).matches());
     }
 
     /**
@@ -24,7 +24,6 @@ import org.apache.commons.lang.StringUtils;
 import javax.swing.*;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -35,7 +34,7 @@ public class SeparatedList {
     public static boolean isSeparatedList(String str, String delimiter) {
         if (!str.contains(delimiter)
             || str.trim().length() == delimiter.length()
-            || str.replaceAll(Pattern.quote(delimiter), "").length() == 0
+            || StringUtils.remove(str, delimiter).length() == 0
         ) {
             return false;
         }
@@ -62,18 +61,17 @@ public class SeparatedList {
      * @param  sortAscending
      * @return Given delimiter separated list, sorted (natural) alphabetically ascending / descending
      */
-    public static String getShifted(String selectedText, String delimiterSplitPattern, String delimiterGlue,
+    public static String getShifted(String selectedText, Pattern delimiterSplitPattern, String delimiterGlue,
                                     boolean sortAscending) {
-        String[] items = selectedText.split(delimiterSplitPattern);
+        String[] items = delimiterSplitPattern.split(selectedText);
 
         if (items.length == 2) {
             // Only 2 items: treat as tupel - always toggle order
             return items[1] + delimiterGlue + items[0];
         }
 
-        List itemsList = Arrays.asList(items);
-        // @note sorting itemsList, does also update items
-        itemsList.sort(new AlphanumComparator());
+        // @note sorting the list view, does also update items
+        AlphanumComparator.sort(Arrays.asList(items));
 
         if (UtilsArray.hasDuplicateItems(items) && JOptionPane.showConfirmDialog(
                 null,
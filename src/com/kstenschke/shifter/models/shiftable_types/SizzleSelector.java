@@ -15,7 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.models.ActionContainer;
+import com.kstenschke.shifter.models.ShiftContext;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsTextual;
 
 /**
@@ -42,9 +43,9 @@ public class SizzleSelector {
      * @return String
      * TODO    extend: duplicate line around selection, from 1st of the 2 resulting lines: strip all non-selector strings (making it a declaration as is already when shifting just the selector)
      */
-    public static String getShifted(String selector, ActionContainer actionContainer) {
-        StringBuilder varName = new StringBuilder(selector.replaceAll("\\$|\\.|'|\"|\\)|#|\\[|\\(|>|<|]|=|_|\\s", "-"));
-        varName = new StringBuilder(varName.toString().replaceAll("--", "-"));
+    public static String getShifted(String selector, ShiftContext shiftContext) {
+        StringBuilder varName = new StringBuilder(StaticPatterns.SIZZLE_SELECTOR_SPECIAL_CHAR.matcher(selector).replaceAll("-"));
+        varName = new StringBuilder(varName.toString().replace("--", "-"));
 
         String[] words = varName.toString().split("-");
         varName = new StringBuilder();
@@ -54,7 +55,7 @@ public class SizzleSelector {
             index++;
         }
 
-        return (actionContainer.filename.endsWith("ts") ? "var" : "let")
+        return (shiftContext.filename.endsWith("ts") ? "var" : "let")
                 + " $" + UtilsTextual.toLcFirst(varName.toString()) + " = " + selector + ";";
     }
 }
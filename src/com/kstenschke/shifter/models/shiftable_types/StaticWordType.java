@@ -15,21 +15,30 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import com.kstenschke.shifter.utils.UtilsArray;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
- * Shifter general word type class
+ * Shifter general word type class: ring of keywords, shifting wraps around at its ends.
+ * Immutable, positions of keywords are indexed once, so instances are built once and shared.
  */
 class StaticWordType {
 
     private final String[] keywords;
     private final int amountKeywords;
-    private final String regExPattern;
 
-    public StaticWordType(String[] keywords) {
-        this.keywords  = keywords;
+    // Keyword => offset in ring, case-sensitive and w/ lower-cased keys. First occurrence of duplicate keywords is used
+    private final Map<String, Integer> offsets      = new HashMap<>();
+    private final Map<String, Integer> offsetsLower = new HashMap<>();
+
+    public StaticWordType(String... keywords) {
+        this.keywords  = keywords.clone();
         amountKeywords = keywords.length;
-        regExPattern   = UtilsArray.implode(keywords, "|");
+
+        for (int offset = 0; offset < amountKeywords; offset++) {
+            offsets.putIfAbsent(this.keywords[offset], offset);
+            offsetsLower.putIfAbsent(this.keywords[offset].toLowerCase(), offset);
+        }
     }
 
     /**
@@ -39,32 +48,58 @@ class StaticWordType {
      * @return boolean
      */
     public boolean hasWord(String word) {
-        return (word).matches(regExPattern);
+        return offsets.containsKey(word);
     }
 
     /**
-     * @param  word     Word to be shifted
-     * @param  isUp     Shifting up or down?
-     * @return String   Shifting result
+     * @param  word     Keyword to be looked up
+     * @return int      Offset of the keyword in the ring, -1 if not contained
      */
-    public String getShifted(String word, boolean isUp) {
-        int wordOffset = UtilsArray.getOffset(keywords, word);
-        if (-1 == wordOffset) {
-            return word;
+    int getOffset(String word) {
+        Integer offset = offsets.get(word);
+
+        return null == offset ? -1 : offset;
+    }
+
+    /**
+     * @param  word     Keyword to be looked up, case-sensitive match preferred
+     * @return int      Offset of the keyword in the ring, -1 if not contained
+     */
+    int getOffsetIgnoreCase(String word) {
+        int offset = getOffset(word);
+        if (-1 != offset) {
+            return offset;
         }
+        Integer offsetLower = offsetsLower.get(word.toLowerCase());
 
-        return isUp ? getShiftedUp(wordOffset) : getShiftedDown(wordOffset);
+        return null == offsetLower ? -1 : offsetLower;
     }
 
-    private String getShiftedUp(int wordOffset) {
-        wordOffset++;
+    /**
+     * @param  offset   Offset in the ring, wrapping around at its ends (negative: counting from the end)
+     * @return String   Keyword at the given offset
+     */
+    String getKeyword(int offset) {
+        return keywords[Math.floorMod(offset, amountKeywords)];
+    }
 
-        return wordOffset >= amountKeywords ? keywords[0] : keywords[wordOffset];
+    /**
+     * @param  word     Word to be shifted
+     * @param  isUp     Shifting up or down?
+     * @return String   Shifting result
+     */
+    public String getShifted(String word, boolean isUp) {
+        return getShifted(word, isUp ? 1 : -1);
     }
 
-    private String getShiftedDown(int wordOffset) {
-        wordOffset -= 1;
+    /**
+     * @param  word     Word to be shifted
+     * @param  steps    Amount of keywords to shift by: positive = up, negative = down
+     * @return String   Keyword the given amount of steps away (wrapping around), or the word if it is no keyword
+     */
+    String getShifted(String word, int steps) {
+        int offset = getOffset(word);
 
-        return wordOffset < 0 ? keywords[amountKeywords - 1] : keywords[wordOffset];
+        return -1 == offset ? word : getKeyword(offset + steps);
     }
 }
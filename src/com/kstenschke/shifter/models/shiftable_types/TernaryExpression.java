@@ -15,8 +15,7 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import com.kstenschke.shifter.resources.StaticPatterns;
 
 /**
  * Ternary Expression
@@ -62,9 +61,7 @@ public class TernaryExpression {
             str = str.substring(1);
         }
 
-        Pattern pattern = Pattern.compile("\n[ |\t]*:");
-        Matcher matcher = pattern.matcher(str);
-        boolean isElseOnNewLine = matcher.find();
+        boolean isElseOnNewLine = StaticPatterns.TERNARY_ELSE_ON_NEW_LINE.matcher(str).find();
 
         String partThan = str.substring(0, offsetElse - 1);
         String partElse = endsWithSemicolon ? str.substring(offsetElse, str.length() - 1) : str.substring(offsetElse);
@@ -15,6 +15,8 @@
  */
 package com.kstenschke.shifter.models.shiftable_types;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
+
 /**
  * Trailing (to line of code) comment - shifting = move comment to new empty caretLine above
  */
@@ -36,13 +38,13 @@ public class TrailingComment {
             return false;
         }
 
-        String[] parts = word.split("//");
+        String[] parts = StaticPatterns.TRAILING_COMMENT_DELIMITER.split(word);
 
         return parts.length == 2 && parts[0].length() > 0 && parts[1].length() > 0;
     }
 
     public static String getShifted(String selection, String leadingWhiteSpace) {
-        String[] parts = selection.split("//");
+        String[] parts = StaticPatterns.TRAILING_COMMENT_DELIMITER.split(selection);
 
         return leadingWhiteSpace + "//" + parts[1] + "\n" + parts[0];
     }
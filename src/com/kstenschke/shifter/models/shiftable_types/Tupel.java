@@ -16,11 +16,14 @@
 package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.models.ActionContainer;
+import com.kstenschke.shifter.models.ShiftContext;
 import com.kstenschke.shifter.models.ShiftableSelectionWithPopup;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -31,16 +34,16 @@ public class Tupel {
 
     public static final String ACTION_TEXT = "Shift Tupel";
 
-    private final ActionContainer actionContainer;
+    private final ShiftContext shiftContext;
 
     // Defined during detection of being a tupel
     private String delimiter;
 
     /**
-     * @param actionContainer
+     * @param shiftContext  Context of the shifting, offering to shift selected dictionary terms via popup if it is an ActionContainer
      */
-    public Tupel(@Nullable ActionContainer actionContainer) {
-        this.actionContainer = actionContainer;
+    public Tupel(@Nullable ShiftContext shiftContext) {
+        this.shiftContext = shiftContext;
     }
 
     /**
@@ -50,35 +53,27 @@ public class Tupel {
      * @return boolean
      */
     public boolean isWordsTupel(String str) {
-        if (null == str) return false;
+        delimiter = getDelimiter(str);
 
-        String[] glues = new String[]{
-                ",",
-
-                // Multi-character delimiters containing singe-character delimiters must precede those
-                "!==", "!=",
-                "===", "==",
-                "<=", ">=",
-                "&&", "||",
-
-                ".", ":",
-                "+", "-", "*", "/", "%", "=",
-                "&", "|",
-                "<", ">",
+        return null != delimiter;
+    }
 
-                // Space must be last to not be prematurely detected around other delimiter
-                " ",
-        };
+    /**
+     * @param  str
+     * @return String   Delimiter of the given tupel, null if the given string is no tupel
+     */
+    @Nullable
+    public static String getDelimiter(String str) {
+        if (null == str) return null;
 
-        for (String glue : glues) {
-            String[] parts = str.split("\\s*" + Pattern.quote(glue) + "\\s*");
+        for (Map.Entry<String, Pattern> glue : StaticPatterns.TUPEL_DELIMITERS.entrySet()) {
+            String[] parts = glue.getValue().split(str);
             if (parts.length == 2 && !parts[0].isEmpty() && !parts[1].isEmpty()) {
-                delimiter = glue;
-                return true;
+                return glue.getKey();
             }
         }
 
-        return false;
+        return null;
     }
 
     /**
@@ -91,14 +86,15 @@ public class Tupel {
     public String getShifted(String str, boolean disableIntentionPopup) {
         if (!disableIntentionPopup &&
             " ".equals(delimiter) &&
-            actionContainer != null &&
-            !actionContainer.selectedText.isEmpty() &&
-            UtilsTextual.subStringCount(str, " ") == 1
+            shiftContext != null &&
+            !shiftContext.selectedText.isEmpty() &&
+            UtilsTextual.subStringCount(str, " ") == 1 &&
+            shiftContext instanceof ActionContainer
         ) {
-            DictionaryTerm dictionaryTerm = new DictionaryTerm();
+            DictionaryTerm dictionaryTerm = new DictionaryTerm(shiftContext.settings.getDictionaryIndex());
             if (dictionaryTerm.isTermInDictionary(str)) {
                 // Shifted string is a selected tupel, and a two-words term from the dictionary
-                new ShiftableSelectionWithPopup(actionContainer)
+                new ShiftableSelectionWithPopup((ActionContainer) shiftContext)
                         .shiftDictionaryTermOrToggleTupelOrder();
 
                 return "";
@@ -119,12 +115,11 @@ public class Tupel {
         }
 
         // Split into tupel
-        String splitPattern = "\\s*" + Pattern.quote(delimiter) + "\\s*";
-        String[] parts      = str.split(splitPattern);
+        Pattern splitPattern = StaticPatterns.TUPEL_DELIMITERS.get(delimiter);
+        String[] parts       = splitPattern.split(str);
 
         // Retain variable whitespace around delimiters
-        Pattern partsPattern = Pattern.compile(splitPattern);
-        Matcher matcher      = partsPattern.matcher(str);
+        Matcher matcher = splitPattern.matcher(str);
         if (matcher.find()) {
             String glueWithWhitespace = matcher.group(0);
             // Swap parts
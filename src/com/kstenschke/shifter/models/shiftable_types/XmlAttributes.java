@@ -17,6 +17,7 @@ package com.kstenschke.shifter.models.shiftable_types;
 
 import com.kstenschke.shifter.models.ActionContainer;
 import com.kstenschke.shifter.models.comparators.AlphanumComparator;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import com.kstenschke.shifter.utils.UtilsArray;
 import com.kstenschke.shifter.utils.UtilsTextual;
 import org.jetbrains.annotations.NotNull;
@@ -48,7 +49,7 @@ public class XmlAttributes {
      * @return boolean
      */
     public boolean isXmlAttributes(String str) {
-        return str.matches("([A-Za-z-_0-9]*[ ]*=[ ]*[\"'][A-Za-z-_0-9]*[\"'][ ]*){2,99}");
+        return StaticPatterns.XML_ATTRIBUTES.matcher(str).matches();
     }
 
     /**
@@ -67,11 +68,16 @@ public class XmlAttributes {
             }
         }
 
-        return getShiftedXmlAttributesReplacement(str);
+        return getSorted(str, actionContainer.isShiftUp);
     }
 
+    /**
+     * @param  str      Multiple xml attributes within one line
+     * @param  isShiftUp
+     * @return String   Attribute-value pairs sorted by attribute name
+     */
     @NotNull
-    private String getShiftedXmlAttributesReplacement(String str) {
+    public static String getSorted(String str, boolean isShiftUp) {
         while (str.contains(" =") || str.contains("= ")) {
             str = str.replace(" =", "=").replace("= ", "=");
         }
@@ -83,19 +89,19 @@ public class XmlAttributes {
         String quote = UtilsTextual.subStringCount(str, "=\"") > 1 ? "\"" : "'";
 
         // Split into attribute-value pairs
-        String[] attributeValuePairs = str.split("\" ");
+        String[] attributeValuePairs = StaticPatterns.XML_ATTRIBUTES_DELIMITER.split(str);
 
         // Sort attribute-value pairs alphabetically by attribute name
-        List pairsList = Arrays.asList(attributeValuePairs);
+        List<String> pairsList = Arrays.asList(attributeValuePairs);
         // @note sorting itemsList, does also update items
-        pairsList.sort(new AlphanumComparator());
+        AlphanumComparator.sort(pairsList);
 
-        if (!actionContainer.isShiftUp) {
+        if (!isShiftUp) {
             //noinspection ArraysAsListWithZeroOrOneArgument
             Collections.reverse(Arrays.asList(pairsList));
         }
 
-        attributeValuePairs = (String[]) pairsList.toArray();
+        attributeValuePairs = pairsList.toArray(new String[0]);
         int index = 0;
         for (String attributeValuePair : attributeValuePairs) {
             if (!attributeValuePair.endsWith(quote)) {
@@ -0,0 +1,161 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.resources;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Pre-compiled regular expressions of all shiftable types and utilities.
+ * Patterns must not be compiled anywhere else (e.g. via String.matches(), replaceAll(), split(regEx)).
+ */
+public class StaticPatterns {
+
+    // Generic
+    public static final Pattern WHITESPACE  = Pattern.compile("\\s");
+    public static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    public static final Pattern TRIM_RIGHT  = Pattern.compile("\\s+$");
+    public static final Pattern DIGITS      = Pattern.compile("[0-9]+");
+    public static final Pattern NUMERIC_POSTFIXED = Pattern.compile("^.+?\\d$");
+    public static final Pattern ALPHANUMERIC_AND_MINUS = Pattern.compile("[a-zA-z0-9\\-]+");
+
+    // Camel case
+    public static final Pattern UPPER_CAMEL_CASE = Pattern.compile("[A-Z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+    public static final Pattern LOWER_CAMEL_CASE = Pattern.compile("[a-z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+    public static final Pattern CAMEL_CASE_WORDS_BOUNDARY = Pattern.compile("(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])");
+
+    // Start of dictionary terms-block, e.g. "(|js|php|) {"
+    public static final Pattern DICTIONARY_BLOCK_START = Pattern.compile("\\(\\|([a-z|*]+\\|)*\\)(\\s)*\\{");
+
+    // File extensions
+    public static final Pattern FILE_EXTENSION_PHP = Pattern.compile("(php|phtml)");
+    public static final Pattern FILE_EXTENSION_CSS = Pattern.compile("(css|scss|sass|less|styl)");
+    public static final Pattern FILE_EXTENSION_MARKUP = Pattern.compile("(htm|html|svg|xhtml|xml)");
+    public static final Pattern FILE_EXTENSION_LINE_COMMENTS = Pattern.compile("(cc|cpp|cs|go|java|js|kt|scala|swift|ts)");
+
+    // Lists and tupels
+    public static final Pattern LIST_DELIMITER_COMMA = Pattern.compile(",(\\s)*");
+    public static final Pattern LIST_DELIMITER_PIPE  = Pattern.compile("\\|(\\s)*");
+    public static final Pattern LOGICAL_OR  = Pattern.compile("\\|\\|");
+    public static final Pattern LOGICAL_AND = Pattern.compile("&&");
+
+    /**
+     * Words-tupel delimiters => pattern matching them w/ surrounding whitespace.
+     * Multi-character delimiters containing singe-character delimiters must precede those,
+     * space must be last to not be prematurely detected around other delimiter
+     */
+    public static final Map<String, Pattern> TUPEL_DELIMITERS = getWhitespaceWrappedPatterns(
+            ",",
+            "!==", "!=",
+            "===", "==",
+            "<=", ">=",
+            "&&", "||",
+            ".", ":",
+            "+", "-", "*", "/", "%", "=",
+            "&", "|",
+            "<", ">",
+            " ");
+
+    // Comments
+    public static final Pattern TRAILING_COMMENT_DELIMITER = Pattern.compile("//");
+
+    // CSS
+    public static final Pattern CSS_UNIT       = Pattern.compile("(%|cm|em|in|pt|px|rem|vw|vh|vmin|vmax)");
+    public static final Pattern CSS_UNIT_VALUE = Pattern.compile("[0-9]*(%|cm|em|in|pt|px|rem|vw|vh|vmin|vmax)");
+    public static final Pattern CSS_VENDOR_STYLE = Pattern.compile("^-[a-z].*$");
+
+    // HTML, XML, JavaScript
+    public static final Pattern RGB_COLOR = Pattern.compile("[0-9a-fA-F]{3}|[0-9a-fA-F]{6}");
+    public static final Pattern XML_ATTRIBUTES = Pattern.compile("([A-Za-z-_0-9]*[ ]*=[ ]*[\"'][A-Za-z-_0-9]*[\"'][ ]*){2,99}");
+    public static final Pattern XML_ATTRIBUTES_DELIMITER = Pattern.compile("\" ");
+    public static final Pattern SIZZLE_SELECTOR_SPECIAL_CHAR = Pattern.compile("\\$|\\.|'|\"|\\)|#|\\[|\\(|>|<|]|=|_|\\s");
+    public static final Pattern TERNARY_ELSE_ON_NEW_LINE = Pattern.compile("\n[ |\t]*:");
+    public static final Pattern JS_CONCATENATION_NON_OPERAND = Pattern.compile("[\\s|\\d]");
+    public static final Pattern JS_OBJECT_METHOD = Pattern.compile("[a-zA-Z_$][0-9a-zA-Z_$]*\\s*:\\s*function");
+
+    // JsDoc
+    private static final String JS_DOC_DATA_TYPES_NATIVE = "(array|boolean|date|event|function|null|number|object|string|undefined|\\*)";
+    private static final String JS_DOC_DATA_TYPES_ALIEN  = "(bool|float|int|integer|void)";
+
+    /**
+     * JsDoc keywords => pattern matching the keyword followed by an uncompounded data type
+     */
+    public static final Map<String, Pattern> JS_DOC_KEYWORD_DATA_TYPE = getJsDocKeywordDataTypePatterns("@param", "@returns", "@type");
+
+    public static final Pattern JS_DOC_PARAMETER_ELEMENT  = Pattern.compile("(?i)(\\w*elem)");
+    public static final Pattern JS_DOC_PARAMETER_DATE     = Pattern.compile("(?i)(\\w*date\\w*)");
+    public static final Pattern JS_DOC_PARAMETER_FUNCTION = Pattern.compile("func|function|callback");
+    public static final Pattern JS_DOC_PARAMETER_OBJECT   = Pattern.compile("(?i)(\\w*obj\\w*)");
+
+    // PHP
+    public static final Pattern PHP_VARIABLE   = Pattern.compile("\\$[a-zA-Z0-9_]+");
+    public static final Pattern PHP_IDENTIFIER = Pattern.compile("[a-zA-Z0-9_]+");
+    public static final Pattern PHP_ARRAY_CONVENTIONAL = Pattern.compile("(array\\s*\\()((.|\\n|\\r|\\s)*)(\\)(;)*)");
+    public static final Pattern PHP_ARRAY_SHORTHAND    = Pattern.compile("(\\[)((.|\\n|\\r|\\s)*)(])(;)*");
+
+    public static final Pattern PHP_PARAMETER_STRING = Pattern.compile("(\\w*delim(iter)*|\\w*dir(ectory)*|\\w*domain|description|expr|filename\\w*|\\w*identifier|\\w*key|\\w*link|\\w*name|\\w*path\\w*|\\w*prefix|\\w*suffix|charlist|comment|\\w*file(name)*|format|glue|haystack|html|intput|locale|message|name|needle|output|platform|replace(ment)*|salt|separator|str(ing)*|\\w*title|\\w*url)\\d*");
+    public static final Pattern PHP_PARAMETER_INT    = Pattern.compile("(\\w*day|\\w*end|\\w*expire|\\w*handle|\\w*height|\\w*hour(s)*|\\w*id|\\w*index|\\w*len(gth)*|\\w*mask|\\w*pointer|\\w*quality|\\w*s(e)*ize|\\w*start|\\w*step(s)*|tick|\\w*year\\w*|ascii|base|blue|ch|chunklen|fp|green|len|limit|\\w*max|\\w*min|\\w*mode|month|\\w*multiplier|now|num|offset|\\w*op(eration)*|\\w*pos(ition)*|red|\\w*time(stamp)*|week|\\w*wid(th)*|x|y)\\d*");
+    public static final Pattern PHP_PARAMETER_FLOAT  = Pattern.compile("(\\w*gamma|percent)\\d*");
+    public static final Pattern PHP_PARAMETER_OBJECT = Pattern.compile("(\\wmodel|\\w*obj(ect)*)\\d*");
+    public static final Pattern PHP_PARAMETER_ARRAY  = Pattern.compile("((\\w*s)\\d*|\\w*arr(ay)*|\\w*param(eter)*s|\\w*val(ue)*s)");
+
+    // Alphanumeric words wrapped in quotes
+    private static final Pattern SINGLE_QUOTED_WORD = getQuotedWordPattern("'");
+    private static final Pattern DOUBLE_QUOTED_WORD = getQuotedWordPattern("\"");
+    private static final Pattern BACKTICK_QUOTED_WORD = getQuotedWordPattern("`");
+
+    /**
+     * @param  quoteCharacter   "'", "\"" or "`"
+     * @return Pattern          Matching alphanumeric words wrapped in the given quote character
+     */
+    public static Pattern getQuotedWord(String quoteCharacter) {
+        switch (quoteCharacter) {
+            case "'":
+                return SINGLE_QUOTED_WORD;
+            case "\"":
+                return DOUBLE_QUOTED_WORD;
+            case "`":
+                return BACKTICK_QUOTED_WORD;
+            default:
+                return getQuotedWordPattern(quoteCharacter);
+        }
+    }
+
+    private static Pattern getQuotedWordPattern(String quoteCharacter) {
+        return Pattern.compile("(?<=" + quoteCharacter + ")[a-zA-Z0-9_]+(?=" + quoteCharacter + ")");
+    }
+
+    private static Map<String, Pattern> getWhitespaceWrappedPatterns(String... delimiters) {
+        Map<String, Pattern> patterns = new LinkedHashMap<>();
+        for (String delimiter : delimiters) {
+            patterns.put(delimiter, Pattern.compile("\\s*" + Pattern.quote(delimiter) + "\\s*"));
+        }
+
+        return Collections.unmodifiableMap(patterns);
+    }
+
+    private static Map<String, Pattern> getJsDocKeywordDataTypePatterns(String... keywords) {
+        Map<String, Pattern> patterns = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            patterns.put(keyword, Pattern.compile(
+                    "(?i)(" + keyword + "\\s*)(" + JS_DOC_DATA_TYPES_NATIVE + "|" + JS_DOC_DATA_TYPES_ALIEN + ")"));
+        }
+
+        return Collections.unmodifiableMap(patterns);
+    }
+}
@@ -28,6 +28,18 @@ public class StaticTexts {
     public static final String ACTION_LABEL_SHIFT_DOWN_MORE = "Shift-Down More";
     @NonNls
     public static final String TITLE_NUMERIC_BLOCK_OPTIONS  = "Shift Numeric Block Selection";
+    @NonNls
+    public static final String TITLE_SHIFT_FILES            = "Shift Files";
+    @NonNls
+    public static final String TITLE_SHIFT_FILES_PREVIEW    = "Shift Files: Preview Changes";
+    @NonNls
+    public static final String MESSAGE_SHIFT_FILES_NO_CHANGES = "None of the files is changed by the selected transformations.";
+    @NonNls
+    public static final String TITLE_SHIFT_METRICS            = "Shifter Metrics";
+    @NonNls
+    public static final String MESSAGE_SHIFT_METRICS_COPIED   = "Metrics of shifting have been copied to the clipboard as JSON.";
+    @NonNls
+    public static final String MESSAGE_SHIFT_METRICS_DISABLED = "Metrics are disabled. To record them, add the VM option -Dshifter.metrics=true and restart the IDE.";
 
     @NonNls
     public static final String TITLE_REDUCE_DUPLICATE_LINES    = "Reduce duplicate lines?";
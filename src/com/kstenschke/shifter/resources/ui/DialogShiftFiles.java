@@ -0,0 +1,117 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.resources.ui;
+
+import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.models.BatchShifter.Transformation;
+
+import javax.swing.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.*;
+
+/**
+ * Selection of the transformations to be applied when shifting files, preset to the last selection
+ */
+public class DialogShiftFiles extends JDialog {
+
+    private JPanel contentPane;
+    private JButton buttonOK;
+    private JButton buttonCancel;
+    private JCheckBox checkBoxSortCss;
+    private JCheckBox checkBoxSortXmlAttributes;
+    private JCheckBox checkBoxPhpDocParamTypes;
+    private JCheckBox checkBoxLineComments;
+
+    private final Map<Transformation, JCheckBox> checkBoxes = new EnumMap<>(Transformation.class);
+
+    private boolean wasCancelled = false;
+
+    public DialogShiftFiles() {
+        setContentPane(contentPane);
+        setModal(true);
+        getRootPane().setDefaultButton(buttonOK);
+
+        checkBoxes.put(Transformation.SORT_CSS, checkBoxSortCss);
+        checkBoxes.put(Transformation.SORT_XML_ATTRIBUTES, checkBoxSortXmlAttributes);
+        checkBoxes.put(Transformation.PHP_DOC_PARAM_TYPES, checkBoxPhpDocParamTypes);
+        checkBoxes.put(Transformation.LINE_COMMENTS, checkBoxLineComments);
+
+        List<String> lastTransformations = Arrays.asList(ShifterPreferences.getShiftFilesTransformations().split(","));
+        for (Map.Entry<Transformation, JCheckBox> entry : checkBoxes.entrySet()) {
+            JCheckBox checkBox = entry.getValue();
+            checkBox.setText(entry.getKey().getLabel());
+            checkBox.setSelected(lastTransformations.contains(entry.getKey().name()));
+            checkBox.addActionListener(e -> updateButtonOK());
+        }
+        updateButtonOK();
+
+        buttonOK.addActionListener(e -> onOK());
+        buttonCancel.addActionListener(e -> onCancel());
+
+        // Call onCancel() when cross is clicked
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            public void windowClosing(WindowEvent e) {
+                onCancel();
+            }
+        });
+
+        // Call onCancel() on ESCAPE
+        contentPane.registerKeyboardAction(e -> onCancel(), KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT);
+    }
+
+    private void updateButtonOK() {
+        buttonOK.setEnabled(!getTransformations().isEmpty());
+    }
+
+    private void saveSelectedTransformations() {
+        StringBuilder transformations = new StringBuilder();
+        for (Transformation transformation : getTransformations()) {
+            if (transformations.length() > 0) {
+                transformations.append(',');
+            }
+            transformations.append(transformation.name());
+        }
+        ShifterPreferences.saveShiftFilesTransformations(transformations.toString());
+    }
+
+    private void onOK() {
+        saveSelectedTransformations();
+        dispose();
+    }
+
+    private void onCancel() {
+        wasCancelled = true;
+        dispose();
+    }
+
+    public boolean wasCancelled() {
+        return wasCancelled;
+    }
+
+    public Set<Transformation> getTransformations() {
+        Set<Transformation> transformations = EnumSet.noneOf(Transformation.class);
+        for (Map.Entry<Transformation, JCheckBox> entry : checkBoxes.entrySet()) {
+            if (entry.getValue().isSelected()) {
+                transformations.add(entry.getKey());
+            }
+        }
+
+        return transformations;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.resources.ui;
+
+import com.kstenschke.shifter.models.BatchShifter.ShiftedFile;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Preview of the files to be changed when shifting files: list of files, each of which can be deselected,
+ * and the diff of the highlighted one
+ */
+public class DialogShiftFilesPreview extends JDialog {
+
+    private static final int COLUMN_IS_SELECTED = 0;
+
+    private JPanel contentPane;
+    private JButton buttonOK;
+    private JButton buttonCancel;
+    private JTable tableFiles;
+    private JTextArea textAreaDiff;
+
+    private final List<ShiftedFile> shiftedFiles;
+    private final DefaultTableModel tableModel;
+
+    private boolean wasCancelled = false;
+
+    public DialogShiftFilesPreview(List<ShiftedFile> shiftedFiles) {
+        this.shiftedFiles = shiftedFiles;
+
+        setContentPane(contentPane);
+        setModal(true);
+        getRootPane().setDefaultButton(buttonOK);
+
+        tableModel = new DefaultTableModel(new Object[]{"", "File"}, 0) {
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return COLUMN_IS_SELECTED == column ? Boolean.class : String.class;
+            }
+
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return COLUMN_IS_SELECTED == column;
+            }
+        };
+        for (ShiftedFile shiftedFile : shiftedFiles) {
+            tableModel.addRow(new Object[]{Boolean.TRUE, shiftedFile.path});
+        }
+        tableModel.addTableModelListener(e -> updateButtonOK());
+
+        tableFiles.setModel(tableModel);
+        tableFiles.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tableFiles.getColumnModel().getColumn(COLUMN_IS_SELECTED).setMaxWidth(30);
+        tableFiles.getSelectionModel().addListSelectionListener(e -> {
+            int row = tableFiles.getSelectedRow();
+            textAreaDiff.setText(-1 == row ? "" : shiftedFiles.get(row).getDiff());
+            textAreaDiff.setCaretPosition(0);
+        });
+        tableFiles.setRowSelectionInterval(0, 0);
+        updateButtonOK();
+
+        buttonOK.addActionListener(e -> dispose());
+        buttonCancel.addActionListener(e -> onCancel());
+
+        // Call onCancel() when cross is clicked
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            public void windowClosing(WindowEvent e) {
+                onCancel();
+            }
+        });
+
+        // Call onCancel() on ESCAPE
+        contentPane.registerKeyboardAction(e -> onCancel(), KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), JComponent.WHEN_ANCESTOR_OF_FOCUSED_COMPONENT);
+    }
+
+    private void updateButtonOK() {
+        int amountSelected = getSelectedShiftedFiles().size();
+        buttonOK.setText("Apply to " + amountSelected + " files");
+        buttonOK.setEnabled(amountSelected > 0);
+    }
+
+    private void onCancel() {
+        wasCancelled = true;
+        dispose();
+    }
+
+    public boolean wasCancelled() {
+        return wasCancelled;
+    }
+
+    /**
+     * @return List<ShiftedFile>    Files that remained selected to be changed
+     */
+    public List<ShiftedFile> getSelectedShiftedFiles() {
+        List<ShiftedFile> selectedShiftedFiles = new ArrayList<>();
+        for (int row = 0; row < shiftedFiles.size(); row++) {
+            if (Boolean.TRUE.equals(tableModel.getValueAt(row, COLUMN_IS_SELECTED))) {
+                selectedShiftedFiles.add(shiftedFiles.get(row));
+            }
+        }
+
+        return selectedShiftedFiles;
+    }
+}
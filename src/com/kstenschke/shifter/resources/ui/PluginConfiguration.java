@@ -18,12 +18,12 @@ package com.kstenschke.shifter.resources.ui;
 
 import com.intellij.util.ui.UIUtil;
 import com.kstenschke.shifter.ShifterPreferences;
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.shiftable_types.DictionaryIndex;
 import com.kstenschke.shifter.resources.ShifterIcons;
-import com.kstenschke.shifter.utils.UtilsFile;
 
 import javax.swing.*;
 import java.awt.*;
-import java.io.InputStream;
 
 public class PluginConfiguration {
 
@@ -84,7 +84,7 @@ public class PluginConfiguration {
 
         String termsDictionary   = ShifterPreferences.getDictionary();
         if (null == termsDictionary || termsDictionary.isEmpty())  {
-            termsDictionary = getDefaultDictionary();
+            termsDictionary = DictionaryIndex.getDefaultDictionary();
         }
         textAreaDictionaryTerms.setText(termsDictionary);
     }
@@ -97,13 +97,6 @@ public class PluginConfiguration {
         restoreSettings.addMouseListener(listenerRestoreSettings);
     }
 
-    public String getDefaultDictionary() {
-        //@note for the .txt resource to be included in the jar, it must be set in compiler resource settings
-        InputStream dictionaryStream= getClass().getResourceAsStream("dictionary.txt");
-
-        return null == dictionaryStream ? "" : UtilsFile.getFileStreamAsString(dictionaryStream);
-    }
-
     /**
      * Reset default settings
      */
@@ -122,7 +115,7 @@ public class PluginConfiguration {
         inputMillisecondsEndings.setText(ShifterPreferences.DEFAULT_FILE_ENDINGS_MILLISECONDS);
         inputSecondsEndings.setText(ShifterPreferences.DEFAULT_FILE_ENDINGS_SECONDS);
 
-        textAreaDictionaryTerms.setText(getDefaultDictionary());
+        textAreaDictionaryTerms.setText(DictionaryIndex.getDefaultDictionary());
     }
 
     /**
@@ -191,5 +184,8 @@ public class PluginConfiguration {
         if (null != dictionary) {
             ShifterPreferences.saveDictionary(dictionary);
         }
+
+        // Replace settings snapshot as a whole, after all preferences are stored
+        ShifterSettings.reload();
     }
 }
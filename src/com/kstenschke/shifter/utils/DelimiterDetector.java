@@ -29,7 +29,7 @@ class DelimiterDetector {
     /**
      * @param lines
      */
-    DelimiterDetector(List<String> lines) {
+    DelimiterDetector(List<? extends CharSequence> lines) {
         commonDelimiter = ' ';
 
         int amountLines = lines.size();
@@ -38,16 +38,12 @@ class DelimiterDetector {
             return;
         }
 
-        int lineLength;
-
         findingDelimiterFailed = false;
         int lineNumber = 0;
-        for (String line : lines) {
-            line = line.trim();
-            lineLength = line.length();
-
-            if (lineLength > 0) {
-                char currentDelimiter = line.charAt(lineLength - 1);
+        for (CharSequence line : lines) {
+            int offsetLastChar = getOffsetLastNonWhitespace(line);
+            if (offsetLastChar >= 0) {
+                char currentDelimiter = line.charAt(offsetLastChar);
                 if (0 == lineNumber) {
                     commonDelimiter = currentDelimiter;
                 } else {
@@ -60,8 +56,22 @@ class DelimiterDetector {
             lineNumber++;
         }
 
-        String lastLine = lines.get(amountLines - 1).trim();
-        isDelimitedLastLine = lastLine.endsWith(String.valueOf(commonDelimiter));
+        CharSequence lastLine = lines.get(amountLines - 1);
+        int offsetLastChar = getOffsetLastNonWhitespace(lastLine);
+        isDelimitedLastLine = offsetLastChar >= 0 && commonDelimiter == lastLine.charAt(offsetLastChar);
+    }
+
+    /**
+     * @param  line
+     * @return int      Offset of last character that isn't trimmed, -1 if there is none
+     */
+    private static int getOffsetLastNonWhitespace(CharSequence line) {
+        int offset = line.length() - 1;
+        while (offset >= 0 && line.charAt(offset) <= ' ') {
+            offset--;
+        }
+
+        return offset;
     }
 
     /**
@@ -0,0 +1,263 @@
+/*
+ * Copyright Kay Stenschke
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.kstenschke.shifter.utils;
+
+import com.intellij.openapi.editor.Document;
+import com.kstenschke.shifter.models.comparators.AlphanumComparator;
+
+import java.nio.CharBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Natural sorting of lines: lines are compared as regions of the given text (straight from a document's line table),
+ * sorting is done on an array of line indices. Strings are created only when joining the sorted lines.
+ * Maintains a common delimiter of the lines (ex: comma-separated values).
+ */
+public class LineSorter {
+
+    private static final AlphanumComparator COMPARATOR = new AlphanumComparator();
+
+    private final CharSequence text;
+
+    // Offsets of start and end (excluding the line separator) of every line, in original order
+    private final int[] lineStarts;
+    private final int[] lineEnds;
+
+    // Indices of lines, in sorted order after sort()
+    private int[] order;
+
+    // Lines in sorted order w/ maintained delimiter, joined: created on first use after sort()
+    private String sortedText;
+
+    /**
+     * @param document
+     * @param startLine Number of first line to be sorted
+     * @param endLine   Number of last line to be sorted
+     */
+    public LineSorter(Document document, int startLine, int endLine) {
+        text = document.getImmutableCharSequence();
+
+        int amountLines = endLine - startLine + 1;
+        lineStarts = new int[amountLines];
+        lineEnds   = new int[amountLines];
+        for (int lineNumber = startLine; lineNumber <= endLine; lineNumber++) {
+            lineStarts[lineNumber - startLine] = document.getLineStartOffset(lineNumber);
+            lineEnds[lineNumber - startLine]   = document.getLineEndOffset(lineNumber);
+        }
+        order = getIdentityOrder(amountLines);
+    }
+
+    /**
+     * @param text  Lines separated by "\n"
+     */
+    LineSorter(CharSequence text) {
+        this.text = text;
+
+        int length = text.length();
+        int amountLines = 0;
+        for (int offset = 0; offset < length; offset++) {
+            if ('\n' == text.charAt(offset) || offset + 1 == length) {
+                amountLines++;
+            }
+        }
+
+        lineStarts = new int[amountLines];
+        lineEnds   = new int[amountLines];
+        int offsetLineStart = 0;
+        int index = 0;
+        for (int offset = 0; offset < length; offset++) {
+            if ('\n' == text.charAt(offset)) {
+                lineStarts[index] = offsetLineStart;
+                lineEnds[index++] = offset;
+                offsetLineStart = offset + 1;
+            }
+        }
+        if (offsetLineStart < length) {
+            lineStarts[index] = offsetLineStart;
+            lineEnds[index]   = length;
+        }
+        order = getIdentityOrder(amountLines);
+    }
+
+    private static int[] getIdentityOrder(int amountLines) {
+        int[] order = new int[amountLines];
+        for (int i = 0; i < amountLines; i++) {
+            order[i] = i;
+        }
+
+        return order;
+    }
+
+    public int size() {
+        return lineStarts.length;
+    }
+
+    /**
+     * @param reverse   Sort descending?
+     */
+    public void sort(boolean reverse) {
+        order = mergeSort(order, new int[order.length], 0, order.length);
+        if (reverse) {
+            for (int i = 0, j = order.length - 1; i < j; i++, j--) {
+                int index = order[i];
+                order[i] = order[j];
+                order[j] = index;
+            }
+        }
+        sortedText = null;
+    }
+
+    private int compareLines(int index1, int index2) {
+        return COMPARATOR.compare(text, lineStarts[index1], lineEnds[index1], lineStarts[index2], lineEnds[index2]);
+    }
+
+    /**
+     * Stable sort of the given range of line indices
+     *
+     * @param  indices
+     * @param  buffer   Array of same size as indices
+     * @param  from
+     * @param  to
+     * @return int[]    Sorted indices, in either of the given arrays
+     */
+    private int[] mergeSort(int[] indices, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return indices;
+        }
+        int middle = (from + to) >>> 1;
+        int[] left  = mergeSort(indices, buffer, from, middle);
+        int[] right = mergeSort(indices, buffer, middle, to);
+        if (left != right) {
+            // Halves ended up in different arrays: align them
+            System.arraycopy(right, middle, left, middle, to - middle);
+        }
+        int[] target = left == indices ? buffer : indices;
+
+        int i = from;
+        int j = middle;
+        for (int k = from; k < to; k++) {
+            target[k] = j >= to || (i < middle && compareLines(left[i], left[j]) <= 0)
+                    ? left[i++]
+                    : left[j++];
+        }
+
+        return target;
+    }
+
+    /**
+     * @return String   Lines in current order, w/ detected common delimiter maintained (last line is not being delimited), joined and trimmed
+     */
+    private String getSortedText() {
+        if (null != sortedText) {
+            return sortedText;
+        }
+        DelimiterDetector delimiterDetector = new DelimiterDetector(new AbstractList<CharSequence>() {
+            @Override
+            public CharSequence get(int index) {
+                return CharBuffer.wrap(text, lineStarts[index], lineEnds[index]);
+            }
+
+            @Override
+            public int size() {
+                return lineStarts.length;
+            }
+        });
+
+        List<String> sortedLines = new ArrayList<>(order.length);
+        int length = 0;
+        for (int index : order) {
+            sortedLines.add(text.subSequence(lineStarts[index], lineEnds[index]) + "\n");
+            length += lineEnds[index] - lineStarts[index] + 2;
+        }
+        if (delimiterDetector.isFoundDelimiter() && !delimiterDetector.isDelimitedLastLine()) {
+            UtilsTextual.addDelimiter(sortedLines, delimiterDetector.getCommonDelimiter());
+        }
+
+        StringBuilder joined = new StringBuilder(length);
+        for (String line : sortedLines) {
+            joined.append(line);
+        }
+        sortedText = joined.toString().trim();
+
+        return sortedText;
+    }
+
+    /**
+     * @return boolean  Are there any identical consecutive lines (after sorting: any duplicates)?
+     */
+    public boolean hasDuplicateLines() {
+        String text = getSortedText();
+
+        int offsetPreviousLine = -1;
+        int offsetLine = 0;
+        while (offsetLine <= text.length()) {
+            int offsetLineEnd = getOffsetLineEnd(text, offsetLine);
+            if (offsetPreviousLine >= 0 && isSameLine(text, offsetPreviousLine, offsetLine, offsetLineEnd)) {
+                return true;
+            }
+            offsetPreviousLine = offsetLine;
+            offsetLine = offsetLineEnd + 1;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param  reduceDuplicateLines Remove identical consecutive lines?
+     * @return String               Lines in current order, joined and trimmed
+     */
+    public String getSortedText(boolean reduceDuplicateLines) {
+        String text = getSortedText();
+        if (!reduceDuplicateLines) {
+            return text;
+        }
+
+        StringBuilder reducedText = new StringBuilder(text.length());
+        int offsetPreviousLine = -1;
+        int offsetLine = 0;
+        while (offsetLine <= text.length()) {
+            int offsetLineEnd = getOffsetLineEnd(text, offsetLine);
+            if (offsetPreviousLine < 0 || !isSameLine(text, offsetPreviousLine, offsetLine, offsetLineEnd)) {
+                if (offsetPreviousLine >= 0) {
+                    reducedText.append('\n');
+                }
+                reducedText.append(text, offsetLine, offsetLineEnd);
+            }
+            offsetPreviousLine = offsetLine;
+            offsetLine = offsetLineEnd + 1;
+        }
+
+        return reducedText.toString();
+    }
+
+    private static int getOffsetLineEnd(String text, int offsetLine) {
+        int offsetLineEnd = text.indexOf('\n', offsetLine);
+
+        return -1 == offsetLineEnd ? text.length() : offsetLineEnd;
+    }
+
+    /**
+     * @return boolean  Is the line at offsetPreviousLine identical to the one from offsetLine to offsetLineEnd?
+     */
+    private static boolean isSameLine(String text, int offsetPreviousLine, int offsetLine, int offsetLineEnd) {
+        int lineLength = offsetLineEnd - offsetLine;
+
+        return offsetLine - offsetPreviousLine - 1 == lineLength
+            && text.regionMatches(offsetPreviousLine, text, offsetLine, lineLength);
+    }
+}
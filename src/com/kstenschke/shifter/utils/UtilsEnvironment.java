@@ -18,10 +18,15 @@ package com.kstenschke.shifter.utils;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.Balloon;
+import com.intellij.openapi.ui.popup.BalloonBuilder;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.psi.util.PsiUtilBase;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.awt.RelativePoint;
 import com.kstenschke.shifter.ShifterPreferences;
 import com.kstenschke.shifter.models.ActionContainer;
 
@@ -37,7 +42,7 @@ public class UtilsEnvironment {
     }
 
     public static void replaceWordAtCaretInDocument(ActionContainer actionContainer, String charSequence) {
-        String documentText = actionContainer.document.getText();
+        CharSequence documentText = actionContainer.document.getCharsSequence();
         int offsetStart = UtilsTextual.getStartOfWordAtOffset(documentText, actionContainer.caretOffset);
         int offsetEnd   = UtilsTextual.getOffsetEndOfWordAtOffset(documentText, actionContainer.caretOffset);
 
@@ -53,6 +58,20 @@ public class UtilsEnvironment {
         CodeStyleManager.getInstance(project).reformatText( psiFile, offsetStart, offsetEnd);
     }
 
+    /**
+     * @param editor    Editor to show the balloon in, above the caret
+     * @param text
+     */
+    public static void showBalloonAtCaret(Editor editor, String text) {
+        BalloonBuilder builder = JBPopupFactory.getInstance().createHtmlTextBalloonBuilder(text, null, new JBColor(new Color(255, 255, 231), new Color(255, 255, 231)), null);
+        Balloon balloon = builder.createBalloon();
+
+        Point caretPos = editor.visualPositionToXY(editor.getCaretModel().getVisualPosition());
+        RelativePoint balloonPosition = new RelativePoint(editor.getContentComponent(), caretPos);
+
+        balloon.show(balloonPosition, Balloon.Position.above);
+    }
+
     public static void setDialogVisible(Editor editor, String idDialog, JDialog dialog, String title) {
         Point caretLocation = editor.visualPositionToXY(editor.getCaretModel().getVisualPosition());
         SwingUtilities.convertPointToScreen(caretLocation, editor.getComponent());
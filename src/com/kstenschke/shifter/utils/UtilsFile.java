@@ -15,6 +15,7 @@
  */
 package com.kstenschke.shifter.utils;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
 import org.jetbrains.annotations.Nullable;
 
 public class UtilsFile {
@@ -46,7 +47,11 @@ public class UtilsFile {
                 : filename.substring(filename.lastIndexOf('.') + 1);
     }
 
-    private static String getBasename(@Nullable String filename) {
+    /**
+     * @param  filename Name or path of a file
+     * @return String   Filename w/o path, empty if null
+     */
+    public static String getBasename(@Nullable String filename) {
         if (null == filename) {
             return "";
         }
@@ -72,12 +77,26 @@ public class UtilsFile {
 
     public static boolean isPhpFile(@Nullable String filename) {
         filename = getBasename(filename).toLowerCase();
-        return filenameEndsWithExtension(filename) && extractFileExtension(filename).matches("(php|phtml)");
+        return filenameEndsWithExtension(filename) && StaticPatterns.FILE_EXTENSION_PHP.matcher(extractFileExtension(filename)).matches();
     }
 
     public static boolean isCssFile(@Nullable String filename) {
         filename = getBasename(filename).toLowerCase();
-        return filenameEndsWithExtension(filename) && extractFileExtension(filename).matches("(css|scss|sass|less|styl)");
+        return filenameEndsWithExtension(filename) && StaticPatterns.FILE_EXTENSION_CSS.matcher(extractFileExtension(filename)).matches();
+    }
+
+    public static boolean isMarkupFile(@Nullable String filename) {
+        filename = getBasename(filename).toLowerCase();
+        return filenameEndsWithExtension(filename) && StaticPatterns.FILE_EXTENSION_MARKUP.matcher(extractFileExtension(filename)).matches();
+    }
+
+    /**
+     * @param  filename
+     * @return boolean  Is source file of a language w/ "//" line-comments, w/o embedded languages (like HTML, CSS and JavaScript in PHP)?
+     */
+    public static boolean isLineCommentsFile(@Nullable String filename) {
+        filename = getBasename(filename).toLowerCase();
+        return filenameEndsWithExtension(filename) && StaticPatterns.FILE_EXTENSION_LINE_COMMENTS.matcher(extractFileExtension(filename)).matches();
     }
 
     public static boolean isJavaScriptFile(@Nullable String filename, boolean allowTypeScript) {
@@ -86,7 +105,9 @@ public class UtilsFile {
             return false;
         }
 
-        return extractFileExtension(filename).matches(allowTypeScript ? "(js|ts)" : "(js)");
+        String extension = extractFileExtension(filename);
+
+        return "js".equals(extension) || (allowTypeScript && "ts".equals(extension));
     }
 
     /**
@@ -15,6 +15,7 @@
  */
 package com.kstenschke.shifter.utils;
 
+import com.kstenschke.shifter.resources.StaticPatterns;
 import org.jetbrains.annotations.NotNull;
 import java.util.List;
 
@@ -31,7 +32,7 @@ public class UtilsPhp {
      */
     @NotNull
     public static List<String> extractPhpVariables(String str) {
-        return UtilsTextual.getPregMatches(str, "\\$[a-zA-Z0-9_]+");
+        return UtilsTextual.getPregMatches(str, StaticPatterns.PHP_VARIABLE);
     }
 
     /**
@@ -74,19 +75,19 @@ public class UtilsPhp {
 
         str = str.toLowerCase();
 
-        if (str.matches("(\\w*delim(iter)*|\\w*dir(ectory)*|\\w*domain|description|expr|filename\\w*|\\w*identifier|\\w*key|\\w*link|\\w*name|\\w*path\\w*|\\w*prefix|\\w*suffix|charlist|comment|\\w*file(name)*|format|glue|haystack|html|intput|locale|message|name|needle|output|platform|replace(ment)*|salt|separator|str(ing)*|\\w*title|\\w*url)\\d*")) {
+        if (StaticPatterns.PHP_PARAMETER_STRING.matcher(str).matches()) {
             return "string";
         }
 
-        if (str.matches("(\\w*day|\\w*end|\\w*expire|\\w*handle|\\w*height|\\w*hour(s)*|\\w*id|\\w*index|\\w*len(gth)*|\\w*mask|\\w*pointer|\\w*quality|\\w*s(e)*ize|\\w*start|\\w*step(s)*|tick|\\w*year\\w*|ascii|base|blue|ch|chunklen|fp|green|len|limit|\\w*max|\\w*min|\\w*mode|month|\\w*multiplier|now|num|offset|\\w*op(eration)*|\\w*pos(ition)*|red|\\w*time(stamp)*|week|\\w*wid(th)*|x|y)\\d*")) {
+        if (StaticPatterns.PHP_PARAMETER_INT.matcher(str).matches()) {
             return "int";
         }
 
-        if (str.matches("(\\w*gamma|percent)\\d*")) {
+        if (StaticPatterns.PHP_PARAMETER_FLOAT.matcher(str).matches()) {
             return "float";
         }
 
-        if (str.matches("(\\wmodel|\\w*obj(ect)*)\\d*")) {
+        if (StaticPatterns.PHP_PARAMETER_OBJECT.matcher(str).matches()) {
             return "Object";
         }
 
@@ -100,7 +101,7 @@ public class UtilsPhp {
             return "bool";
         }
 
-        if (str.matches("((\\w*s)\\d*|\\w*arr(ay)*|\\w*param(eter)*s|\\w*val(ue)*s)")) {
+        if (StaticPatterns.PHP_PARAMETER_ARRAY.matcher(str).matches()) {
             return "array";
         }
 
@@ -15,10 +15,10 @@
  */
 package com.kstenschke.shifter.utils;
 
-import com.intellij.openapi.editor.Document;
 import com.kstenschke.shifter.models.comparators.AlphanumComparator;
 import com.kstenschke.shifter.models.shiftable_types.DocCommentTag;
 import com.kstenschke.shifter.models.shiftable_types.OperatorSign;
+import com.kstenschke.shifter.resources.StaticPatterns;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -34,12 +34,10 @@ import java.util.regex.Pattern;
  */
 public class UtilsTextual {
 
-    private final static Pattern TRIM_RIGHT = Pattern.compile("\\s+$");
-
     public static String rtrim(String s) {
         return null == s
             ? ""
-            : TRIM_RIGHT.matcher(s).replaceAll("");
+            : StaticPatterns.TRIM_RIGHT.matcher(s).replaceAll("");
     }
 
     /**
@@ -63,7 +61,7 @@ public class UtilsTextual {
         DelimiterDetector delimiterDetector = new DelimiterDetector(lines);
         boolean isDelimitedLastLine = delimiterDetector.isDelimitedLastLine();
 
-        lines.sort(new AlphanumComparator());
+        AlphanumComparator.sort(lines);
         if (reverse) {
             Collections.reverse(lines);
         }
@@ -91,7 +89,19 @@ public class UtilsTextual {
                 null != haystack
                 && null != needle
                 && !"".equals(needle)
-                && Pattern.compile(Pattern.quote(needle), Pattern.CASE_INSENSITIVE).matcher(haystack).find();
+                && indexOfCaseInSensitive(haystack, needle) > -1;
+    }
+
+    private static int indexOfCaseInSensitive(String haystack, String needle) {
+        int needleLength = needle.length();
+        int lastOffset   = haystack.length() - needleLength;
+        for (int offset = 0; offset <= lastOffset; offset++) {
+            if (haystack.regionMatches(true, offset, needle, 0, needleLength)) {
+                return offset;
+            }
+        }
+
+        return -1;
     }
 
     public static boolean containsOnly(@Nullable String str, String[] characters) {
@@ -100,14 +110,14 @@ public class UtilsTextual {
         }
 
         for (String c : characters) {
-            str = str.replaceAll(c, "");
+            str = StringUtils.remove(str, c);
         }
 
         return str.isEmpty();
     }
 
     public static boolean isAlphaNumericAndMinus(@Nullable String str) {
-        return !(null == str || str.isEmpty()) && str.matches("[a-zA-z0-9\\-]+");
+        return !(null == str || str.isEmpty()) && StaticPatterns.ALPHANUMERIC_AND_MINUS.matcher(str).matches();
     }
 
     public static boolean startsAlphabetic(@Nullable String str) {
@@ -240,14 +250,14 @@ public class UtilsTextual {
         return
                 null != str &&
                 !"".equals(str) &&
-                str.matches("[A-Z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+                StaticPatterns.UPPER_CAMEL_CASE.matcher(str).matches();
     }
 
     private static boolean isLowerCamelCase(@Nullable String str) {
         return
                 null != str &&
                 !"".equals(str) &&
-                str.matches("[a-z]([A-Z0-9]*[a-z][a-z0-9]*[A-Z]|[a-z0-9]*[A-Z][A-Z0-9]*[a-z])[A-Za-z0-9]*");
+                StaticPatterns.LOWER_CAMEL_CASE.matcher(str).matches();
     }
 
     public static boolean isCamelCase(@Nullable String str) {
@@ -278,7 +288,7 @@ public class UtilsTextual {
         if (isUcFirst) {
             str = UtilsTextual.toLcFirst(str);
         }
-        String[] parts = str.split("(?<!(^|[A-Z]))(?=[A-Z])|(?<!^)(?=[A-Z][a-z])");
+        String[] parts = StaticPatterns.CAMEL_CASE_WORDS_BOUNDARY.split(str);
 
         if (toLower) {
             return toLower(parts);
@@ -309,35 +319,15 @@ public class UtilsTextual {
      * @return Null|String
      */
     public static String getOperatorAtOffset(CharSequence str, int offset) {
-        int textLength = str.length();
-        if (0 == textLength || offset >= textLength || str.toString().trim().isEmpty()) {
-            return null;
-        }
-
-        String lineAroundOffset = getLineAtOffset(str.toString(), offset);
-        if (DocCommentTag.isDocCommentLine(lineAroundOffset)) {
+        Integer offsetOperator = getStartOfOperatorAtOffset(str, offset);
+        if (null == offsetOperator
             // Prevent mistaking the beginning of a DOC comment line (e.g. " * @param ") for an asterisk operator
+            || DocCommentTag.isDocCommentLine(getLineAtOffset(str, offset))
+        ) {
             return null;
         }
 
-        String operatorOnLHS = offset > 2
-                ? str.subSequence(offset - 2, offset + 1).toString()
-                : null;
-
-        if (null != operatorOnLHS && OperatorSign.isWhitespaceWrappedOperator(operatorOnLHS)) {
-             return operatorOnLHS.trim();
-        }
-
-        String operatorToTheRight =
-            offset < textLength - 2
-            && offset > 0 && Character.isWhitespace(str.charAt(offset-1))
-                ? str.subSequence(offset - 1, offset + 2).toString()
-                : null;
-
-        return (null != operatorToTheRight && OperatorSign.isWhitespaceWrappedOperator(operatorToTheRight))
-                ? operatorToTheRight.trim()
-                // No operator found
-                : null;
+        return String.valueOf(str.charAt(offsetOperator));
     }
 
     public static Integer getStartOfOperatorAtOffset(CharSequence str, int offset) {
@@ -519,44 +509,7 @@ public class UtilsTextual {
         return start;
     }
 
-    /**
-     * @param  doc          Document
-     * @param  startLine    Number of first line to be extracted
-     * @param  endLine      Number of last line of extract
-     * @return List<String> Extracted list of lines
-     */
-    public static List<String> extractLines(Document doc, int startLine, int endLine) {
-        List<String> lines = new ArrayList<>(endLine - startLine);
-
-        for (int i = startLine; i <= endLine; i++) {
-            String line = UtilsTextual.getLine(doc, i);
-
-            lines.add(line);
-        }
-
-        return lines;
-    }
-
-    /**
-     * @param  doc           Document to extract the line from
-     * @param  lineNumber    Number of line to be extracted
-     * @return String        The extracted line
-     */
-    private static String getLine(Document doc, int lineNumber) {
-        int lineSeparatorLength = doc.getLineSeparatorLength(lineNumber);
-
-        int startOffset = doc.getLineStartOffset(lineNumber);
-        int endOffset   = doc.getLineEndOffset(lineNumber) + lineSeparatorLength;
-
-        String line = doc.getCharsSequence().subSequence(startOffset, endOffset).toString();
-
-        // If last line has no \n, add it one
-        // This causes adding a \n at the end of file when sort is applied on whole file and the file does not end
-        // w/ \n... This is fixed after.
-        return line + (0 == lineSeparatorLength ? "\n" : "");
-    }
-
-    private static String getLineAtOffset(String str, int offset) {
+    private static String getLineAtOffset(CharSequence str, int offset) {
         int lenText      = str.length();
 
         int offsetStart = offset;
@@ -569,7 +522,7 @@ public class UtilsTextual {
             offsetEnd++;
         }
 
-        return str.substring(offsetStart, offsetEnd).trim();
+        return str.subSequence(offsetStart, offsetEnd).toString().trim();
     }
 
     /**
@@ -587,7 +540,7 @@ public class UtilsTextual {
     }
 
     public static String removeLineBreaks(String str) {
-        return str.replaceAll("\n", "").replaceAll("\r", "");
+        return str.replace("\n", "").replace("\r", "");
     }
 
     /**
@@ -620,52 +573,6 @@ public class UtilsTextual {
         return numberStringBuilder.toString();
     }
 
-    /**
-     * Check given (alphabetically sorted) lines for any line(s) being duplicated
-     *
-     * @param  lines
-     * @return boolean
-     */
-    public static boolean hasDuplicateLines(String lines) {
-        String[] linesArray = lines.split("\n");
-        String previousLine = "";
-
-        int index = 0;
-        for (String currentLine : linesArray) {
-            if (index > 0 &&
-                currentLine.equals(previousLine)
-            ) {
-                return true;
-            }
-            index++;
-            previousLine = currentLine;
-        }
-
-        return false;
-    }
-
-    public static String reduceDuplicateLines(String lines) {
-        String[] linesArray = lines.split("\n");
-
-        String[] resultLines = new String[linesArray.length];
-        int index = 0;
-        int resultIndex = 0;
-        String previousLine = "";
-
-        for (String currentLine : linesArray) {
-            if (0 == index ||
-                !currentLine.equals(previousLine)
-            ) {
-                resultLines[resultIndex] = currentLine;
-                resultIndex++;
-            }
-            index++;
-            previousLine = currentLine;
-        }
-
-        return StringUtils.join(resultLines, "\n");
-    }
-
     public static String getLeadWhitespace(@Nullable String str) {
         if (null == str) {
             return null;
@@ -683,18 +590,15 @@ public class UtilsTextual {
 
     @NotNull
     public static List<String> extractQuotedStrings(String text, String quoteCharacter) {
-        return getPregMatches(
-                text,
-                "(?<=" + quoteCharacter + ")[a-zA-Z0-9_]+(?=" + quoteCharacter + ")"
-        );
+        return getPregMatches(text, StaticPatterns.getQuotedWord(quoteCharacter));
     }
 
     @NotNull
-    static List<String> getPregMatches(@Nullable String str, String pattern) {
+    static List<String> getPregMatches(@Nullable String str, Pattern pattern) {
         if (null == str) {
             return new ArrayList<>();
         }
-        Matcher m = Pattern.compile(pattern).matcher(str);
+        Matcher m = pattern.matcher(str);
 
         List<String> allMatches = new ArrayList<>();
         while (m.find()) {
@@ -711,7 +615,7 @@ public class UtilsTextual {
      * @param lines         Passed by reference
      * @param delimiter
      */
-    private static void addDelimiter(List<String> lines, String delimiter) {
+    static void addDelimiter(List<String> lines, String delimiter) {
         if (null == delimiter) {
             return;
         }
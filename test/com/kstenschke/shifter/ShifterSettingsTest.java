@@ -0,0 +1,55 @@
+package com.kstenschke.shifter;
+
+import com.kstenschke.shifter.models.shiftable_types.DictionaryTerm;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+public class ShifterSettingsTest {
+
+    @Test
+    public void parseFileEndings() {
+        assertEquals(new HashSet<>(Arrays.asList("java", "js", "py")), ShifterSettings.parseFileEndings("java,JS, py,"));
+        assertTrue(ShifterSettings.parseFileEndings("").isEmpty());
+    }
+
+    @Test
+    public void builder() {
+        ShifterSettings settings = new ShifterSettings.Builder()
+                .setShiftMoreSize(3)
+                .setIsActiveConvertQuotes(true, false)
+                .setMillisecondsFileEndings("ts")
+                .build();
+
+        assertEquals(3, settings.shiftMoreSize);
+        assertTrue(settings.isActiveConvertSingleQuotes);
+        assertFalse(settings.isActiveConvertDoubleQuotes);
+        assertTrue(settings.isMillisecondsFile("app.ts"));
+        assertFalse(settings.isMillisecondsFile("Main.java"));
+        assertTrue(settings.isSecondsFile("index.php"));
+    }
+
+    @Test
+    public void getDefault() {
+        ShifterSettings settings = ShifterSettings.getDefault();
+
+        assertSame(settings, ShifterSettings.getDefault());
+        assertEquals(ShifterPreferences.DEFAULT_SIZE_SHIFT_MORE, settings.shiftMoreSize);
+        assertTrue(settings.isActivePreserveCase);
+        assertNotNull(DictionaryTerm.findInDictionary("public", null, settings.getDictionaryIndex()));
+    }
+
+    @Test
+    public void get() {
+        ShifterSettings settings = ShifterSettings.get();
+
+        assertSame(settings, ShifterSettings.get());
+        assertTrue(settings.isMillisecondsFile("Main.java"));
+        assertTrue(settings.isSecondsFile("index.PHP"));
+        assertFalse(settings.isSecondsFile("style.css"));
+        assertFalse(settings.isSecondsFile("php"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.BackgroundShift.CaretEdit;
+import com.kstenschke.shifter.models.BackgroundShift.DocumentSnapshot;
+import com.kstenschke.shifter.models.BackgroundShift.PendingShifts;
+import com.kstenschke.shifter.models.BackgroundShift.ShiftRequest;
+import com.kstenschke.shifter.models.indexes.PhpVariablesIndex;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BackgroundShiftTest {
+
+    private static ShiftContext getShiftContext(String text, int caretOffset, String filename) {
+        return new ShiftContext(text, caretOffset, caretOffset, caretOffset, filename, true, false, ShifterSettings.getDefault());
+    }
+
+    private static CaretEdit getCaretEdit(String text, int caretOffset, String filename) {
+        return BackgroundShift.getCaretEdit(getShiftContext(text, caretOffset, filename), null);
+    }
+
+    @Test
+    public void getCaretEdit() {
+        CaretEdit caretEdit = getCaretEdit("return true;", 8, "app.js");
+        assertNotNull(caretEdit);
+        assertTrue(caretEdit.isWord);
+        assertEquals(new ShiftEdit(7, 11, "false"), caretEdit.edit);
+
+        caretEdit = getCaretEdit("<?php\n * @param $count\n", 10, "index.php");
+        assertNotNull(caretEdit);
+        assertFalse(caretEdit.isWord);
+        assertEquals(new ShiftEdit(6, 22, " * @param int $count"), caretEdit.edit);
+
+        assertNull(getCaretEdit("qwertz", 1, "notes.txt"));
+    }
+
+    @Test
+    public void getCaretEditMore() {
+        CaretEdit caretEdit = BackgroundShift.getCaretEditMore(getShiftContext("width: 10px;", 8, "style.css"), 10);
+        assertNotNull(caretEdit);
+        assertTrue(caretEdit.isWord);
+        assertEquals(new ShiftEdit(7, 11, "20px"), caretEdit.edit);
+
+        // Not stepwise shiftable: shifted step by step, each step on the result of the previous one
+        caretEdit = BackgroundShift.getCaretEditMore(getShiftContext("a = 'x';\nb = 'y';\nc = 'z';", 14, "app.js"), 2);
+        assertNotNull(caretEdit);
+        assertFalse(caretEdit.isWord);
+        assertEquals(new ShiftEdit(14, 15, "x"), caretEdit.edit);
+
+        assertNull(BackgroundShift.getCaretEditMore(getShiftContext("qwertz", 1, "notes.txt"), 10));
+    }
+
+    @Test
+    public void documentSnapshotReadsDocumentIndexes() {
+        PhpVariablesIndex documentPhpVariables = PhpVariablesIndex.of("$bar $zed");
+        DocumentSnapshot snapshot = new DocumentSnapshot(
+                "$foo = $bar;", 8, "index.php", true, false, ShifterSettings.getDefault(), documentPhpVariables, null, null);
+
+        assertSame(documentPhpVariables, snapshot.getPhpVariablesIndex());
+        assertEquals(new ShiftEdit(7, 11, "$zed"), BackgroundShift.getCaretEdit(snapshot, null).edit);
+    }
+
+    @Test
+    public void pendingShifts() {
+        PendingShifts pendingShifts = new PendingShifts();
+        assertTrue(pendingShifts.request(new ShiftRequest(true, null)));
+
+        // Keypresses while the first shift is computed are queued, not dropped
+        assertFalse(pendingShifts.request(new ShiftRequest(false, null)));
+        assertFalse(pendingShifts.request(new ShiftRequest(true, 10)));
+        assertFalse(pendingShifts.next().isShiftUp);
+        assertFalse(pendingShifts.request(new ShiftRequest(false, null)));
+        ShiftRequest shiftRequest = pendingShifts.next();
+        assertTrue(shiftRequest.isShiftUp);
+        assertEquals(Integer.valueOf(10), shiftRequest.moreSize);
+        assertFalse(pendingShifts.next().isShiftUp);
+        assertNull(pendingShifts.next());
+
+        assertTrue(pendingShifts.request(new ShiftRequest(true, null)));
+        assertFalse(pendingShifts.request(new ShiftRequest(true, null)));
+        pendingShifts.clear();
+        assertNull(pendingShifts.next());
+        assertTrue(pendingShifts.request(new ShiftRequest(false, null)));
+    }
+}
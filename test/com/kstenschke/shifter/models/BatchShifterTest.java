@@ -0,0 +1,109 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.models.BatchShifter.ShiftedFile;
+import com.kstenschke.shifter.models.BatchShifter.Transformation;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BatchShifterTest {
+
+    // Sorting XML attributes requires PSI, see XmlAttributesSorterTest
+    private static final Set<Transformation> ALL = EnumSet.complementOf(EnumSet.of(Transformation.SORT_XML_ATTRIBUTES));
+
+    @Test
+    public void getShifted() {
+        assertEquals(
+                ".a {\n  color: red;\n  width: 1px;\n}",
+                BatchShifter.getShifted(".a {\n  width: 1px;\n  color: red;\n}", "style.css", ALL));
+        assertEquals(
+                "width: 1px;\ncolor: red;",
+                BatchShifter.getShifted("width: 1px;\ncolor: red;", "style.css", ALL));
+
+        // Markup is shifted by no textual transformation
+        assertEquals(
+                "<x b=\"1\" a=\"2\" data-x='q' hidden>\n</x>",
+                BatchShifter.getShifted("<x b=\"1\" a=\"2\" data-x='q' hidden>\n</x>", "index.html", ALL));
+
+        assertEquals(
+                "<?php\n/**\n * @param int $count\n */\nfunction a($count) {}",
+                BatchShifter.getShifted("<?php\n/**\n * @param $count\n */\nfunction a($count) {}", "a.php", ALL));
+
+        assertEquals(
+                "  // foo\r\n/** doc */\nx = 1; /* bar */\n//baz",
+                BatchShifter.getShifted("  /* foo */\r\n/** doc */\nx = 1; /* bar */\n/*baz*/", "app.js", ALL));
+
+        // Comment delimiters inside literals are no comments
+        assertEquals(
+                "s = `\n/* hide */\n${ {a: '/*'}.a }\n`;\n// x",
+                BatchShifter.getShifted("s = `\n/* hide */\n${ {a: '/*'}.a }\n`;\n/* x */", "app.js", ALL));
+        assertEquals(
+                "r = /[/*]/;\n// x\nd = a / b; /* c */",
+                BatchShifter.getShifted("r = /[/*]/;\n/* x */\nd = a / b; /* c */", "app.ts", ALL));
+        assertEquals(
+                "s = \"\"\"\n  /* hide */\n  \"\"\";\n// x",
+                BatchShifter.getShifted("s = \"\"\"\n  /* hide */\n  \"\"\";\n/* x */", "A.java", ALL));
+        assertEquals(
+                "s = `\n/* hide */\n`\n// x",
+                BatchShifter.getShifted("s = `\n/* hide */\n`\n/* x */", "main.go", ALL));
+        assertEquals(
+                "s = @\"a\"\"\n/* hide */\n\";\n// x",
+                BatchShifter.getShifted("s = @\"a\"\"\n/* hide */\n\";\n/* x */", "A.cs", ALL));
+        assertEquals(
+                "s = R\"x(\n/* hide */\n)x\";\n// x",
+                BatchShifter.getShifted("s = R\"x(\n/* hide */\n)x\";\n/* x */", "a.cpp", ALL));
+
+        // Files w/ embedded languages are not converted, e.g. CSS in PHP or HTML
+        assertEquals(
+                "<style>\n/* hide */\n</style>\n<?php\n/* x */",
+                BatchShifter.getShifted("<style>\n/* hide */\n</style>\n<?php\n/* x */", "a.php", ALL));
+        assertEquals(
+                "<style>\n/* hide */\n</style>",
+                BatchShifter.getShifted("<style>\n/* hide */\n</style>", "index.html", ALL));
+
+        // Transformations are applied to applicable files only
+        assertEquals("/* foo */", BatchShifter.getShifted("/* foo */", "style.css", ALL));
+        assertEquals("/* foo */", BatchShifter.getShifted("/* foo */", "app.js", EnumSet.of(Transformation.SORT_CSS)));
+    }
+
+    @Test
+    public void shiftFiles() {
+        Map<String, String> contentsByPath = new LinkedHashMap<>();
+        for (int i = 0; i < 200; i++) {
+            contentsByPath.put("src/" + i + ".js", 0 == i % 2 ? "/* " + i + " */" : "// " + i);
+        }
+        contentsByPath.put("README", "/* readme */");
+
+        contentsByPath.put("src/unreadable.js", null);
+        List<String> paths = new ArrayList<>(contentsByPath.keySet());
+
+        int[] amountShifted = new int[1];
+        List<ShiftedFile> shiftedFiles = BatchShifter.shiftFiles(paths, contentsByPath::get, ALL, () -> false, amount -> {
+            synchronized (amountShifted) {
+                amountShifted[0] = Math.max(amountShifted[0], amount);
+            }
+        });
+
+        assertEquals(202, amountShifted[0]);
+        assertEquals(100, shiftedFiles.size());
+        assertEquals("src/0.js", shiftedFiles.get(0).path);
+        assertEquals("// 0", shiftedFiles.get(0).shifted);
+        assertEquals("src/198.js", shiftedFiles.get(99).path);
+
+        assertTrue(BatchShifter.shiftFiles(paths, contentsByPath::get, ALL, () -> true, null).isEmpty());
+    }
+
+    @Test
+    public void getDiff() {
+        ShiftedFile shiftedFile = new ShiftedFile("a.css", "a\nc\nb\nd", "a\nb\nc\nd");
+
+        assertEquals("@@ line 2 @@\n-c\n-b\n+b\n+c\n", shiftedFile.getDiff());
+    }
+}
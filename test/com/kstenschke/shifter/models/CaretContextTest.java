@@ -0,0 +1,52 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CaretContextTest {
+
+    private static final String TEXT = "$a = 1;\n$b = $c + $d;\n * @param foo";
+
+    @Test
+    public void operator() {
+        int offsetPlus = TEXT.indexOf('+');
+        CaretContext caretContext = new CaretContext(TEXT, offsetPlus, false);
+
+        assertEquals(TEXT.indexOf("$b"), caretContext.offsetLineStart);
+        assertEquals(TEXT.indexOf(";\n *") + 1, caretContext.offsetLineEnd);
+        assertNotNull(caretContext.operator);
+        assertEquals("+", caretContext.operator.text);
+        assertEquals(offsetPlus, caretContext.operator.offsetStart);
+        assertEquals(" ", caretContext.operator.prefixChar);
+        assertSame(caretContext.operator, caretContext.getOperatorOrWord());
+
+        // Caret right after the operator
+        caretContext = new CaretContext(TEXT, offsetPlus + 1, false);
+        assertNotNull(caretContext.operator);
+        assertEquals(offsetPlus, caretContext.operator.offsetStart);
+
+        // Asterisk beginning a DOC comment line is no operator
+        assertNull(new CaretContext(TEXT, TEXT.indexOf('*'), false).operator);
+    }
+
+    @Test
+    public void word() {
+        CaretContext caretContext = new CaretContext(TEXT, TEXT.indexOf("foo") + 1, false);
+        assertNull(caretContext.operator);
+        assertNotNull(caretContext.word);
+        assertEquals("foo", caretContext.word.text);
+        assertEquals(TEXT.indexOf("foo"), caretContext.word.offsetStart);
+        assertEquals(" ", caretContext.word.prefixChar);
+        assertEquals("", caretContext.word.postfixChar);
+        assertEquals(TEXT.length(), caretContext.offsetLineEnd);
+
+        caretContext = new CaretContext("margin-top: 0", 2, true);
+        assertNotNull(caretContext.word);
+        assertEquals("margin-top", caretContext.word.text);
+        assertEquals(":", caretContext.word.postfixChar);
+
+        assertNull(new CaretContext("a  b", 2, false).getOperatorOrWord());
+        assertNull(new CaretContext("", 0, false).getOperatorOrWord());
+    }
+}
@@ -0,0 +1,202 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.ShifterSettings;
+import com.kstenschke.shifter.models.shiftable_types.*;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
+import static org.junit.Assert.*;
+
+/**
+ * Parity of character profile and detectors: whenever a detector matches, the profile must not have ruled out its type
+ */
+public class CharacterProfileTest {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+
+    private static final String[] WORDS = {
+            "", " ", "a", "A", "-", "+", "<", ">", "*", "/", "%", "&&", "||", "!", "?",
+            "0", "1", "007", "100", "1234567", "1500000000", "1500000000000",
+            "1px", "0px", "12em", "3rem", "50%", "10vmin", "10vmax", "5cm", "5in", "5pt", "px",
+            "fff", "FFF", "000000", "a1b2c3", "ffg", "abcdef",
+            "I", "IV", "MMXIX", "iv", "MIX",
+            "aaa", "AaA", "---", "___", "ßß", "Ää",
+            "foo1", "foo12", "1foo", "v1.2",
+            "public", "private", "protected", "Public", "publics",
+            "$foo", "$foo_bar", "$1", "array(1, 2)", "array (1, 2);", "[1, 2]", "[1, 2];",
+            "(foo)", " [foo] ", "{foo}", "$('#foo')", " $(\".bar\") ",
+            "click(", ".click(", "submit(", "foo(",
+            "? a : b", "?a:b", "a ? b : c", "a : b",
+            "fooBar", "FooBar", "fooBarBaz", "FOOBar", "foo2Bar", "fooBAR",
+            "foo-bar", "foo_bar", "foo-bar-baz", "a-b", "-foo-",
+            "foo,bar", "foo.bar", "foo bar", "foo=bar", "foo !== bar", "foo||bar", "foo && bar",
+            "a < b", "a&b", "&amp;", "&lt;", "&#39;", "\"", "é",
+            "var a = 1;\nvar b = 2;", "let a = 1;\nlet b = 2;", "const a = 1;\nconst b = 2;",
+            "$foo = 1; // comment", "foo // bar", "//", "http://foo",
+    };
+
+    private static final String[] PREFIX_CHARS  = {"", " ", "#", "@", "?", "-", "$", "'", "\"", "`"};
+    private static final String[] POSTFIX_CHARS = {"", " ", "\n", "'", "\"", "`"};
+
+    @Test
+    public void canBe() throws IOException {
+        for (String word : getFixtureWords()) {
+            assertParity(word);
+            for (String prefixChar : PREFIX_CHARS) {
+                for (String postfixChar : POSTFIX_CHARS) {
+                    assertParity(word, prefixChar, postfixChar);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void canBeRulesOut() {
+        CharacterProfile profile = new CharacterProfile("fooBar", "", "");
+        assertTrue(profile.canBe(CAMEL_CASED));
+        assertFalse(profile.canBe(NUMERIC_VALUE));
+        assertFalse(profile.canBe(RGB_COLOR));
+        assertFalse(profile.canBe(ROMAN_NUMERAL));
+        assertFalse(profile.canBe(SEPARATED_PATH));
+        assertFalse(profile.canBe(HTML_ENCODABLE));
+
+        profile = new CharacterProfile("123", "#", "");
+        assertTrue(profile.canBe(NUMERIC_VALUE));
+        assertTrue(profile.canBe(RGB_COLOR));
+        assertFalse(profile.canBe(CAMEL_CASED));
+        assertFalse(profile.canBe(OPERATOR_SIGN));
+    }
+
+    /**
+     * Parity of types detected by prefix / postfix character
+     */
+    private static void assertParity(String word, String prefixChar, String postfixChar) {
+        CharacterProfile profile = new CharacterProfile(word, prefixChar, postfixChar);
+        String message = "\"" + word + "\" prefix: \"" + prefixChar + "\" postfix: \"" + postfixChar + "\"";
+
+        if (TrailingComment.isTrailingComment(word, postfixChar, true)) {
+            assertTrue(message, profile.canBe(TRAILING_COMMENT));
+        }
+        if (TernaryExpression.isTernaryExpression(word, prefixChar)) {
+            assertTrue(message, profile.canBe(TERNARY_EXPRESSION));
+        }
+        if (new QuotedString().isQuotedString(prefixChar, postfixChar)) {
+            assertTrue(message, profile.canBe(QUOTED_STRING));
+        }
+        if (RgbColor.isRgbColorString(word, prefixChar)) {
+            assertTrue(message, profile.canBe(RGB_COLOR));
+        }
+    }
+
+    /**
+     * Parity of types detected by the word alone
+     */
+    private static void assertParity(String word) {
+        CharacterProfile profile = new CharacterProfile(word, "", "");
+        String message = "\"" + word + "\"";
+
+        if (!word.isEmpty() && new PhpVariableOrArray().isPhpVariableOrArray(word, ShifterSettings.getDefault())) {
+            assertTrue(message, profile.canBe(PHP_VARIABLE_OR_ARRAY));
+        }
+        if (Parenthesis.isWrappedInParenthesis(word)) {
+            assertTrue(message, profile.canBe(PARENTHESIS));
+        }
+        if (JsVariablesDeclarations.isJsVariables(word)) {
+            assertTrue(message, profile.canBe(JS_VARIABLES_DECLARATIONS));
+        }
+        if (SizzleSelector.isSelector(word)) {
+            assertTrue(message, profile.canBe(SIZZLE_SELECTOR));
+        }
+        if (new AccessType().isAccessType(word)) {
+            assertTrue(message, profile.canBe(ACCESS_TYPE));
+        }
+        if (JqueryObserver.isJQueryObserver(word)) {
+            assertTrue(message, profile.canBe(JQUERY_OBSERVER));
+        }
+        if (CssUnit.isCssUnitValue(word)) {
+            assertTrue(message, profile.canBe(CSS_UNIT));
+        }
+        if (NumericValue.isNumericValue(word)) {
+            assertTrue(message, profile.canBe(NUMERIC_VALUE));
+        }
+        if (OperatorSign.isOperatorSign(word)) {
+            assertTrue(message, profile.canBe(OPERATOR_SIGN));
+        }
+        if (RomanNumber.isRomanNumber(word)) {
+            assertTrue(message, profile.canBe(ROMAN_NUMERAL));
+        }
+        if (LogicalOperator.isLogicalOperator(word)) {
+            assertTrue(message, profile.canBe(LOGICAL_OPERATOR));
+        }
+        if (!word.isEmpty() && MonoCharacter.isMonoCharacterString(word)) {
+            assertTrue(message, profile.canBe(MONO_CHARACTER));
+        }
+        if (NumericPostfixed.hasNumericPostfix(word)) {
+            assertTrue(message, profile.canBe(NUMERIC_POSTFIXED));
+        }
+        if (new Tupel(null).isWordsTupel(word)) {
+            assertTrue(message, profile.canBe(WORDS_TUPEL));
+        }
+        if (SeparatedPath.isSeparatedPath(word)) {
+            assertTrue(message, profile.canBe(SEPARATED_PATH));
+        }
+        if (CamelCaseString.isCamelCase(word)) {
+            assertTrue(message, profile.canBe(CAMEL_CASED));
+        }
+        if (HtmlEncodable.isHtmlEncodable(word)) {
+            assertTrue(message, profile.canBe(HTML_ENCODABLE));
+        }
+    }
+
+    /**
+     * @return Set  Words above, plus all string literals of the existing tests
+     */
+    private static Set<String> getFixtureWords() throws IOException {
+        Set<String> words = new LinkedHashSet<>(Arrays.asList(WORDS));
+
+        File testsRoot = new File("test");
+        if (testsRoot.isDirectory()) {
+            collectStringLiterals(testsRoot, words);
+        }
+
+        return words;
+    }
+
+    private static void collectStringLiterals(File file, Set<String> words) throws IOException {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (null != children) {
+                for (File child : children) {
+                    collectStringLiterals(child, words);
+                }
+            }
+            return;
+        }
+        if (!file.getName().endsWith("Test.java")) {
+            return;
+        }
+
+        String source = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        Matcher m = STRING_LITERAL.matcher(source);
+        while (m.find()) {
+            String literal = m.group(1)
+                    .replace("\\n", "\n")
+                    .replace("\\t", "\t")
+                    .replace("\\\"", "\"")
+                    .replace("\\'", "'")
+                    .replace("\\\\", "\\");
+            words.add(literal);
+            words.add(literal.trim());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.ShifterSettings;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShiftEngineTest {
+
+    private static List<ShiftEdit> shift(String text, String textAtCaret, String filename, boolean isShiftUp) {
+        return shift(text, textAtCaret, filename, isShiftUp, ShifterSettings.getDefault());
+    }
+
+    private static List<ShiftEdit> shift(String text, String textAtCaret, String filename, boolean isShiftUp, ShifterSettings settings) {
+        int caretOffset = text.indexOf(textAtCaret);
+
+        return ShiftEngine.shift(text, caretOffset, caretOffset, caretOffset, filename, isShiftUp, null, settings);
+    }
+
+    @Test
+    public void shiftWordAtCaret() {
+        assertEquals(Collections.singletonList(new ShiftEdit(7, 11, "11px")), shift("width: 10px;", "10", "style.css", true));
+        assertEquals(Collections.singletonList(new ShiftEdit(7, 11, "false")), shift("return true;", "true", "app.js", true));
+        assertEquals("$foo = $baz + $baz;", ShiftEngine.shift("$foo = $bar + $baz;", 8, "index.php", true));
+        assertEquals("$foo = $foo + $baz;", ShiftEngine.shift("$foo = $bar + $baz;", 8, "index.php", false));
+        assertEquals("a = 'x';\nb = 'x';", ShiftEngine.shift("a = 'x';\nb = 'y';", 14, "app.js", true));
+    }
+
+    @Test
+    public void shiftCaretLine() {
+        String text = "<?php\n * @param $count\n";
+
+        assertEquals(Collections.singletonList(new ShiftEdit(6, 22, " * @param int $count")), shift(text, "@param", "index.php", true));
+        assertEquals("<?php\n * @param int $count\n", ShiftEngine.shift(text, 10, "index.php", true));
+    }
+
+    @Test
+    public void shiftBySettings() {
+        ShifterSettings settings = new ShifterSettings.Builder()
+                .setDictionary("(|txt|) {\n\t|frodo|sam|merry|pippin|\n}")
+                .setIsActivePreserveCase(false)
+                .build();
+
+        assertEquals(Collections.singletonList(new ShiftEdit(3, 6, "merry")), shift("go sam", "sam", "party.txt", true, settings));
+        assertEquals(Collections.singletonList(new ShiftEdit(3, 6, "merry")), shift("go Sam", "Sam", "party.txt", true, settings));
+        assertTrue(shift("go sam", "sam", "party.txt", true, ShifterSettings.getDefault()).isEmpty());
+
+        // Timestamps are shifted day-wise, as seconds or milliseconds by file ending
+        settings = new ShifterSettings.Builder().setSecondsFileEndings("txt").build();
+        assertEquals(Collections.singletonList(new ShiftEdit(0, 10, "1500086400")), shift("1500000000", "1", "time.txt", true, settings));
+    }
+
+    @Test
+    public void shiftNothing() {
+        assertTrue(shift("", "", "app.js", true).isEmpty());
+        assertTrue(shift("qwertz", "w", "notes.txt", true).isEmpty());
+
+        // Selections are shifted only by the IDE actions
+        assertTrue(ShiftEngine.shift("return true;", 7, 11, 11, "app.js", true, null, ShifterSettings.getDefault()).isEmpty());
+    }
+
+    @Test
+    public void applyEdits() {
+        List<ShiftEdit> edits = Arrays.asList(new ShiftEdit(0, 1, "one"), new ShiftEdit(4, 5, "three"), new ShiftEdit(2, 3, "two"));
+
+        assertEquals("one two three", ShiftEdit.apply("1 2 3", edits));
+    }
+
+    @Test
+    public void getDifference() {
+        assertEquals(new ShiftEdit(6, 8, "9"), ShiftEdit.getDifference("width 10px", "width 9px"));
+        assertEquals(new ShiftEdit(3, 3, "a"), ShiftEdit.getDifference("aaa", "aaaa"));
+        assertEquals(new ShiftEdit(0, 3, ""), ShiftEdit.getDifference("abc", ""));
+        assertNull(ShiftEdit.getDifference("abc", "abc"));
+    }
+}
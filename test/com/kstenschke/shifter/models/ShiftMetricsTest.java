@@ -0,0 +1,47 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.models.ShiftMetrics.Histogram;
+import com.kstenschke.shifter.models.ShiftMetrics.Stage;
+import com.kstenschke.shifter.models.ShiftableTypes.Type;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ShiftMetricsTest {
+
+    @After
+    public void tearDown() {
+        ShiftMetrics.setEnabled(false);
+        ShiftMetrics.reset();
+    }
+
+    @Test
+    public void recordWhenEnabledOnly() {
+        ShiftMetrics.reset();
+        ShiftEngine.shift("width: 10px;", 8, "style.css", true);
+        assertEquals(0, ShiftMetrics.getHistogram(Stage.DETECT, Type.CSS_UNIT).getCount());
+
+        ShiftMetrics.setEnabled(true);
+        ShiftEngine.shift("width: 10px;", 8, "style.css", true);
+        assertEquals(1, ShiftMetrics.getHistogram(Stage.DETECT, Type.CSS_UNIT).getCount());
+        assertEquals(1, ShiftMetrics.getHistogram(Stage.SHIFT, Type.CSS_UNIT).getCount());
+        assertTrue(ShiftMetrics.toJson().contains("\"CSS_UNIT\": {\"count\": 1,"));
+    }
+
+    @Test
+    public void histogram() {
+        Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getPercentileNanos(50));
+
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(1000000);
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(1024, histogram.getPercentileNanos(50));
+        assertEquals(1024, histogram.getPercentileNanos(99));
+        assertEquals(1000000, histogram.getPercentileNanos(100));
+    }
+}
@@ -0,0 +1,51 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ShiftableBlockSelectionTest {
+
+    private static final String COLUMN = "id,1\nid,9\nid,x\nid,10";
+
+    private static final int[] STARTS = {3, 8, 13, 18};
+    private static final int[] ENDS   = {4, 9, 14, 20};
+
+    @Test
+    public void getBlockEnumerationEdits() {
+        List<ShiftEdit> edits = ShiftableBlockSelection.getBlockEnumerationEdits(STARTS, ENDS, 7);
+
+        assertEquals(new ShiftEdit(3, 4, "7"), edits.get(0));
+        assertEquals("id,7\nid,8\nid,9\nid,10", ShiftEdit.apply(COLUMN, edits));
+    }
+
+    @Test
+    public void getInOrDecrementedBlockEdits() {
+        assertEquals("id,2\nid,10\nid,1\nid,11", ShiftEdit.apply(COLUMN, ShiftableBlockSelection.getInOrDecrementedBlockEdits(COLUMN, STARTS, ENDS, 1)));
+        assertEquals("id,-1\nid,7\nid,-2\nid,8", ShiftEdit.apply(COLUMN, ShiftableBlockSelection.getInOrDecrementedBlockEdits(COLUMN, STARTS, ENDS, -2)));
+    }
+
+    @Test
+    public void getInOrDecrementedBlockEditsInParallel() {
+        int amountLines = 5000;
+        StringBuilder column = new StringBuilder();
+        int[] starts = new int[amountLines];
+        int[] ends   = new int[amountLines];
+        for (int i = 0; i < amountLines; i++) {
+            starts[i] = column.length();
+            column.append(i);
+            ends[i] = column.length();
+            column.append('\n');
+        }
+
+        List<ShiftEdit> edits = ShiftableBlockSelection.getInOrDecrementedBlockEdits(column, starts, ends, 1);
+
+        assertEquals(amountLines, edits.size());
+        String[] lines = ShiftEdit.apply(column, edits).split("\n");
+        assertEquals(Arrays.asList("1", "2", "3"), Arrays.asList(lines).subList(0, 3));
+        assertEquals(String.valueOf(amountLines), lines[amountLines - 1]);
+    }
+}
@@ -0,0 +1,45 @@
+package com.kstenschke.shifter.models;
+
+import com.kstenschke.shifter.ShifterSettings;
+import org.junit.Test;
+
+import static com.kstenschke.shifter.models.ShiftableTypes.Type.*;
+import static org.junit.Assert.*;
+
+public class ShiftableTypesManagerTest {
+
+    private static final ShiftContext SHIFT_CONTEXT = new ShiftContext("width: 10px; color: #fff;", "style.css", true, ShifterSettings.getDefault());
+
+    private static ShiftableTypeDetection getWordType(String word, String prefixChar, String postfixChar) {
+        return ShiftableTypesManager.getWordType(word, prefixChar, postfixChar, false, SHIFT_CONTEXT);
+    }
+
+    @Test
+    public void getWordType() {
+        assertEquals(CSS_UNIT, getWordType("10px", " ", ";").type);
+        assertEquals(RGB_COLOR, getWordType("fff", "#", ";").type);
+        assertEquals(NUMERIC_VALUE, getWordType("42", " ", " ").type);
+        assertEquals(ACCESS_TYPE, getWordType("private", " ", " ").type);
+        assertEquals(UNKNOWN, getWordType("qwertz", " ", " ").type);
+    }
+
+    @Test
+    public void detectionsWithoutDetailsAreShared() {
+        assertSame(getWordType("42", " ", " "), getWordType("43", " ", " "));
+        assertSame(ShiftableTypeDetection.UNKNOWN, getWordType("qwertz", " ", " "));
+    }
+
+    @Test
+    public void detectionKeepsQuoteChar() {
+        ShiftableTypeDetection detection = getWordType("foo", "'", "'");
+
+        assertEquals(QUOTED_STRING, detection.type);
+        assertEquals("'", detection.quoteChar);
+    }
+
+    @Test
+    public void getShiftedWord() {
+        assertEquals("11px", ShiftableTypesManager.getShiftedWord(SHIFT_CONTEXT, "10px", getWordType("10px", " ", ";"), null));
+        assertEquals("protected", ShiftableTypesManager.getShiftedWord(SHIFT_CONTEXT, "private", getWordType("private", " ", " "), null));
+    }
+}
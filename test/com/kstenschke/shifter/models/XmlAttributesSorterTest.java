@@ -0,0 +1,42 @@
+package com.kstenschke.shifter.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class XmlAttributesSorterTest {
+
+    @Test
+    public void getSorted() {
+        // Attribute offsets as found via PSI: start, end of name, end
+        String text = "<x b=\"1\"  a='2'\n   data-x=\"q\" hidden data=3>\n<y z=\"1\" a=\"2\"/></x>";
+        List<int[][]> attributesPerTag = new ArrayList<>();
+        attributesPerTag.add(new int[][]{
+                getAttribute(text, "b=\"1\"", 1),
+                getAttribute(text, "a='2'", 1),
+                getAttribute(text, "data-x=\"q\"", 6),
+                getAttribute(text, "hidden", 6),
+                getAttribute(text, "data=3", 4)
+        });
+        attributesPerTag.add(new int[][]{
+                getAttribute(text, "z=\"1\"", 1),
+                getAttribute(text, "a=\"2\"", 1)
+        });
+
+        assertEquals(
+                "<x a='2'  b=\"1\"\n   data=3 data-x=\"q\" hidden>\n<y a=\"2\" z=\"1\"/></x>",
+                XmlAttributesSorter.getSorted(text, attributesPerTag));
+
+        assertEquals(text, XmlAttributesSorter.getSorted(text, Collections.emptyList()));
+    }
+
+    private static int[] getAttribute(String text, String attribute, int nameLength) {
+        int offset = text.indexOf(attribute);
+
+        return new int[]{offset, offset + nameLength, offset + attribute.length()};
+    }
+}
@@ -0,0 +1,45 @@
+package com.kstenschke.shifter.models.comparators;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AlphanumComparatorTest {
+
+    private static final AlphanumComparator COMPARATOR = new AlphanumComparator();
+
+    @Test
+    public void compare() {
+        assertTrue(COMPARATOR.compare("file2", "file10") < 0);
+        assertTrue(COMPARATOR.compare("file10", "file2") > 0);
+        assertTrue(COMPARATOR.compare("a", "a1") < 0);
+        assertTrue(COMPARATOR.compare("abc", "abd") < 0);
+        assertTrue(COMPARATOR.compare("-5", "5") < 0);
+
+        assertEquals(0, COMPARATOR.compare("Foo1", "foo1"));
+        assertEquals(0, COMPARATOR.compare("item007", "item7"));
+    }
+
+    @Test
+    public void compareLongNumericChunks() {
+        assertTrue(COMPARATOR.compare("v99999999999", "v100000000000") < 0);
+        assertTrue(COMPARATOR.compare("id000000000001", "id5") < 0);
+        assertTrue(COMPARATOR.compare("12345678901234567890", "12345678901234567891") < 0);
+    }
+
+    @Test
+    public void sort() {
+        List<String> strings = new ArrayList<>(Arrays.asList("x10", "X9", "b", "a100", "A20", "x1"));
+        AlphanumComparator.sort(strings);
+
+        assertEquals(Arrays.asList("A20", "a100", "b", "x1", "X9", "x10"), strings);
+
+        List<String> sortedByComparator = new ArrayList<>(strings);
+        sortedByComparator.sort(COMPARATOR);
+        assertEquals(sortedByComparator, strings);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kstenschke.shifter.models.comparators;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CssAttributesStyleLineComparatorTest {
+
+    @Test
+    public void sort() {
+        List<String> lines = new ArrayList<>(Arrays.asList(
+                "}",
+                "-moz-transition: opacity .3s;",
+                "width: -moz-calc(19.75rem - 1px);",
+                "width: calc(19.75rem - 1px);",
+                "border-top: 0;",
+                "border: 0;",
+                "color: red;"));
+
+        CssAttributesStyleLineComparator.sort(lines);
+
+        assertEquals(Arrays.asList(
+                "border: 0;",
+                "border-top: 0;",
+                "color: red;",
+                "width: calc(19.75rem - 1px);",
+                "width: -moz-calc(19.75rem - 1px);",
+                "-moz-transition: opacity .3s;",
+                "}"), lines);
+    }
+
+    @Test
+    public void compare() {
+        CssAttributesStyleLineComparator comparator = new CssAttributesStyleLineComparator();
+
+        assertEquals(0, comparator.compare("color: red;", "color: red;"));
+        assertTrue(comparator.compare("color: red;", "background: red;") > 0);
+        assertTrue(comparator.compare("::", "color: red;") < 0);
+    }
+}
@@ -0,0 +1,86 @@
+package com.kstenschke.shifter.models.indexes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PhpVariablesIndexTest {
+
+    private static final String CODE =
+              "<?php\n"
+            + "$foo = $bar + $baz;\n"
+            + "$foo .= 'x';\n"
+            + "echo $qux . $abc;\n"
+            + "$ab_1 = $foo;";
+
+    private static PhpVariablesIndex getIndex(String text) {
+        PhpVariablesIndex index = new PhpVariablesIndex();
+        index.addTokens(text, 0, text.length());
+
+        return index;
+    }
+
+    @Test
+    public void getNeighbour() {
+        PhpVariablesIndex index = getIndex(CODE);
+
+        assertEquals(6, index.size());
+        assertEquals("$bar", index.getNeighbour("$abc", true));
+        assertEquals("$baz", index.getNeighbour("$bar", true));
+        assertEquals("$ab_1", index.getNeighbour("$qux", true));
+        assertEquals("$qux", index.getNeighbour("$ab_1", false));
+        assertEquals("$foo", index.getNeighbour("$qux", false));
+        assertNull(index.getNeighbour("$undefined", true));
+    }
+
+    @Test
+    public void getNeighbourByLeadChar() {
+        PhpVariablesIndex index = getIndex(CODE);
+
+        assertEquals("$bar", index.getNeighbourByLeadChar("$abc", true));
+        assertEquals("$ab_1", index.getNeighbourByLeadChar("$baz", false));
+        assertEquals("$foo", index.getNeighbourByLeadChar("$baz", true));
+        assertEquals("$ab_1", index.getNeighbourByLeadChar("$qux", true));
+        assertEquals("$qux", index.getNeighbourByLeadChar("$ab_1", false));
+        assertNull(index.getNeighbourByLeadChar("$zed", true));
+
+        index = getIndex("$foo $fox");
+        assertEquals("$foo", index.getNeighbourByLeadChar("$fox", true));
+        assertEquals("$foo", index.getNeighbourByLeadChar("$fox", false));
+    }
+
+    @Test
+    public void getNeighbourByPrefix() {
+        PhpVariablesIndex index = getIndex("$a $ab1 $ab2 $abc $abd $b $bc");
+
+        assertEquals("$ab1", index.getNeighbourByPrefix("$a", 3, true));
+        assertEquals("$abc", index.getNeighbourByPrefix("$ab2", 4, true));
+        assertEquals("$b", index.getNeighbourByPrefix("$abd", 3, true));
+        assertEquals("$a", index.getNeighbourByPrefix("$bc", 3, true));
+        assertEquals("$ab2", index.getNeighbourByPrefix("$abc", 4, false));
+        assertEquals("$a", index.getNeighbourByPrefix("$abd", 3, false));
+        assertEquals("$bc", index.getNeighbourByPrefix("$a", 3, false));
+        assertEquals("$a", index.getNeighbourByPrefix("$b", 2, true));
+        assertNull(index.getNeighbourByPrefix("$c", 2, true));
+    }
+
+    @Test
+    public void removeTokens() {
+        PhpVariablesIndex index = getIndex(CODE);
+        int offsetLine3 = CODE.indexOf("$foo .=");
+        int offsetLine4 = CODE.indexOf("echo");
+
+        // "$foo" occurs three times, removing one line w/ it must keep it indexed
+        index.removeTokens(CODE, offsetLine3, offsetLine4);
+        assertTrue(index.contains("$foo"));
+
+        index.removeTokens(CODE, offsetLine4, CODE.length());
+        assertTrue(index.contains("$foo"));
+        assertFalse(index.contains("$qux"));
+        assertFalse(index.contains("$ab_1"));
+        assertEquals("$bar", index.getNeighbour("$foo", true));
+
+        index.addTokens(CODE, offsetLine3, CODE.length());
+        assertEquals(getIndex(CODE).tokens, index.tokens);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kstenschke.shifter.models.indexes;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QuotedStringsIndexTest {
+
+    private static final String CODE =
+              "var a = 'foo', b = \"bar\";\n"
+            + "var c = 'baz' + 'foo';\n"
+            + "var d = `qux`;";
+
+    private static QuotedStringsIndex getIndex(String quoteChar) {
+        QuotedStringsIndex index = new QuotedStringsIndex(quoteChar);
+        index.addTokens(CODE, 0, CODE.length());
+
+        return index;
+    }
+
+    @Test
+    public void indexesOnlyWordsWrappedInGivenQuoteChar() {
+        QuotedStringsIndex index = getIndex("'");
+
+        assertEquals(2, index.size());
+        assertTrue(index.contains("foo"));
+        assertTrue(index.contains("baz"));
+        assertFalse(index.contains("bar"));
+
+        assertEquals(1, getIndex("\"").size());
+        assertTrue(getIndex("`").contains("qux"));
+    }
+
+    @Test
+    public void getNeighbour() {
+        QuotedStringsIndex index = getIndex("'");
+
+        assertEquals("foo", index.getNeighbour("baz", true));
+        assertEquals("baz", index.getNeighbour("foo", true));
+        assertEquals("foo", index.getNeighbour("baz", false));
+        assertEquals("bar", getIndex("\"").getNeighbour("bar", true));
+        assertNull(index.getNeighbour("bar", true));
+    }
+}
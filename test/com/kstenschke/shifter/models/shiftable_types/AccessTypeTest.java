@@ -55,4 +55,11 @@ public class AccessTypeTest {
         accessType.isAccessType("private");
         assertEquals("protected", accessType.getShifted("private", true));
     }
+
+    @Test
+    public void getShiftedBySteps() {
+        assertEquals("protected", accessType.getShifted("public", 2));
+        assertEquals("public", accessType.getShifted("public", 3));
+        assertEquals("private", accessType.getShifted("protected", -4));
+    }
 }
\ No newline at end of file
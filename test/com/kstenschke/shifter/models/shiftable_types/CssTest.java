@@ -30,4 +30,53 @@ public class CssTest {
                                      "clear: both;")
         );
     }
+
+    @Test
+    public void getShiftedRules() {
+        assertEquals(
+                ".a {\n  color: red;\n  width: 1px;\n}\n.b, .c {\n  border: 0;\n  z-index: 1;\n  -moz-x: 2;\n}\n",
+                Css.getShifted(".a {\n  width: 1px;\n  color: red;\n}\n.b, .c {\n  z-index: 1;\n  -moz-x: 2;\n  border: 0\n}\n")
+        );
+
+        assertEquals(
+                ".a { color: red; width: 1px; }",
+                Css.getShifted(".a { width: 1px; color: red; }")
+        );
+    }
+
+    @Test
+    public void getShiftedNestedRulesAndComments() {
+        assertEquals(
+                "@media print {\n  .a {\n    /* c */\n    color: red;\n    width: 1px; // w\n  }\n}",
+                Css.getShifted("@media print {\n  .a {\n    width: 1px; // w\n    /* c */\n    color: red;\n  }\n}")
+        );
+
+        assertEquals(
+                ".a {\n  color: red;\n  &:hover {\n    a: \"}\";\n    b: url(//x.png);\n  }\n  width: 1px;\n}",
+                Css.getShifted(".a {\n  width: 1px;\n  &:hover {\n    b: url(//x.png);\n    a: \"}\";\n  }\n  color: red;\n}")
+        );
+
+        // Semicolon added to a last declaration is inserted ahead of its trailing comment
+        assertEquals(
+                ".a {\n  color: red; /* c */\n  width: 1px;\n}",
+                Css.getShifted(".a {\n  width: 1px;\n  color: red /* c */\n}")
+        );
+        assertEquals(
+                ".a { background: url(//x.png); width: 1px; }",
+                Css.getShifted(".a { width: 1px; background: url(//x.png) }")
+        );
+    }
+
+    @Test
+    public void getShiftedMixedFormatting() {
+        // Indentation remains in place, only the declarations are moved
+        assertEquals(
+                ".a { color: red;\n  width: 1px; }",
+                Css.getShifted(".a { width: 1px;\n  color: red; }")
+        );
+        assertEquals(
+                ".a { /* c */\n  color: red;\n  width: 1px; }",
+                Css.getShifted(".a { width: 1px;\n  /* c */\n  color: red; }")
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CssUnitTest {
+
+    @Test
+    public void determineMostProminentUnit() {
+        assertEquals("px", CssUnit.determineMostProminentUnit(""));
+        assertEquals("px", CssUnit.determineMostProminentUnit("a { color: red; }"));
+        assertEquals("em", CssUnit.determineMostProminentUnit("a { margin: 1em; padding: 2em; width: 10px; }"));
+        assertEquals("pt", CssUnit.determineMostProminentUnit(new StringBuilder("a { top: 1pt; left: 2pt; }\nb { width: 3px; }")));
+    }
+}
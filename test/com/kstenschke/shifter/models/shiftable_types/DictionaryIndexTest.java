@@ -0,0 +1,62 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DictionaryIndexTest {
+
+    private static final String DICTIONARY =
+              "(|js|php|) {\n"
+            + "\t|foo|bar|baz|\n"
+            + "\t|true|false|\n"
+            + "}\n"
+            + "(|java|) {\n"
+            + "\t|public|private|protected|\n"
+            + "\t|foo|qux|\n"
+            + "}\n"
+            + "(|*|) {\n"
+            + "\t|Alpha|Beta|\n"
+            + "}";
+
+    private final DictionaryIndex dictionaryIndex = new DictionaryIndex(DICTIONARY);
+
+    @Test
+    public void getEntryOfFileExtension() {
+        assertNotNull(dictionaryIndex.getEntry("foo", "js"));
+        assertNotNull(dictionaryIndex.getEntry("foo", "php"));
+        assertNotNull(dictionaryIndex.getEntry("FALSE", "php"));
+        assertNotNull(dictionaryIndex.getEntry("private", "java"));
+
+        assertNull(dictionaryIndex.getEntry("private", "js"));
+        assertNull(dictionaryIndex.getEntry("foo", "css"));
+        assertNull(dictionaryIndex.getEntry("alpha", "java"));
+        assertNull(dictionaryIndex.getEntry("js", "js"));
+    }
+
+    @Test
+    public void getEntry() {
+        assertNotNull(dictionaryIndex.getEntry("foo"));
+        assertNotNull(dictionaryIndex.getEntry("protected"));
+        assertNotNull(dictionaryIndex.getEntry("Alpha"));
+        assertNotNull(dictionaryIndex.getEntry("BETA"));
+
+        assertNull(dictionaryIndex.getEntry("js"));
+        assertNull(dictionaryIndex.getEntry("unknown"));
+    }
+
+    @Test
+    public void getShifted() {
+        assertEquals("bar", dictionaryIndex.getEntry("foo", "js").getShifted("foo", true));
+        assertEquals("baz", dictionaryIndex.getEntry("foo", "js").getShifted("foo", false));
+        assertEquals("qux", dictionaryIndex.getEntry("foo", "java").getShifted("foo", true));
+        assertEquals("public", dictionaryIndex.getEntry("protected", "java").getShifted("protected", true));
+
+        // First list containing the term is used when looking up globally
+        assertEquals("bar", dictionaryIndex.getEntry("foo").getShifted("foo", true));
+
+        assertEquals("Beta", dictionaryIndex.getEntry("Alpha").getShifted("Alpha", true));
+        assertEquals("alpha", dictionaryIndex.getEntry("BETA").getShifted("beta", true));
+        assertEquals("Unknown", dictionaryIndex.getEntry("foo").getShifted("Unknown", true));
+    }
+}
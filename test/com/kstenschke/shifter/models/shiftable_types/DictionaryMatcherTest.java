@@ -0,0 +1,39 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class DictionaryMatcherTest {
+
+    private final DictionaryMatcher matcher = new DictionaryMatcher(Arrays.asList("he", "she", "hers", "his", "true", "True", "is"));
+
+    private static Set<String> setOf(String... words) {
+        return new HashSet<>(Arrays.asList(words));
+    }
+
+    @Test
+    public void findWords() {
+        assertEquals(setOf("she", "his"), matcher.findWords("she said his"));
+        assertEquals(setOf("he", "his", "hers"), matcher.findWords("he\this hers? no, hers"));
+        assertEquals(setOf("true"), matcher.findWords("  return TRUE "));
+        assertEquals(setOf("is"), matcher.findWords("#is this"));
+
+        // Terms contained in other words are not found
+        assertEquals(setOf(), matcher.findWords("ushers shell this"));
+        assertEquals(setOf(), matcher.findWords(""));
+    }
+
+    @Test
+    public void findWordsOfDictionaryIndex() {
+        DictionaryIndex dictionaryIndex = new DictionaryIndex("(|js|) {\n\t|foo|bar|\n}\n(|java|) {\n\t|public|private|\n}");
+
+        assertEquals(setOf("foo", "private"), dictionaryIndex.getMatcher().findWords("private Foo fooBar"));
+        assertEquals(setOf("foo"), dictionaryIndex.getMatcher("js").findWords("private Foo fooBar"));
+        assertEquals(setOf(), dictionaryIndex.getMatcher("css").findWords("private Foo fooBar"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DocCommentTagTest {
+
+    @Test
+    public void isDocCommentLine() {
+        assertTrue(DocCommentTag.isDocCommentLine(" * @param {String} foo"));
+        assertTrue(DocCommentTag.isDocCommentLine("\t*\t@Return int"));
+        assertTrue(DocCommentTag.isDocCommentLine("/** @var $foo */"));
+        assertTrue(DocCommentTag.isDocCommentLine(" * @returns"));
+        assertTrue(DocCommentTag.isDocCommentLine("a * b * @todo"));
+
+        assertFalse(DocCommentTag.isDocCommentLine(" *@param foo"));
+        assertFalse(DocCommentTag.isDocCommentLine(" * @unknown"));
+        assertFalse(DocCommentTag.isDocCommentLine(" * @par"));
+        assertFalse(DocCommentTag.isDocCommentLine(" * param"));
+        assertFalse(DocCommentTag.isDocCommentLine("$a = $b * @c;"));
+        assertFalse(DocCommentTag.isDocCommentLine(" * "));
+        assertFalse(DocCommentTag.isDocCommentLine(""));
+    }
+
+    @Test
+    public void isDocCommentTag() {
+        DocCommentTag docCommentTag = new DocCommentTag();
+
+        assertTrue(docCommentTag.isDocCommentTag("@", " * @param foo"));
+        assertFalse(docCommentTag.isDocCommentTag("", " * @param foo"));
+        assertFalse(docCommentTag.isDocCommentTag("@", "// @param foo"));
+    }
+}
@@ -0,0 +1,31 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class HtmlEncodableTest {
+
+    @Test
+    public void getDirection() {
+        assertEquals(HtmlEncodable.Direction.ENCODE, HtmlEncodable.getDirection("a < b"));
+        assertEquals(HtmlEncodable.Direction.ENCODE, HtmlEncodable.getDirection("Tom & Jerry;"));
+        assertEquals(HtmlEncodable.Direction.ENCODE, HtmlEncodable.getDirection("caf\u00e9"));
+        assertEquals(HtmlEncodable.Direction.ENCODE, HtmlEncodable.getDirection("&unknown;"));
+
+        assertEquals(HtmlEncodable.Direction.DECODE, HtmlEncodable.getDirection("a &lt; b"));
+        assertEquals(HtmlEncodable.Direction.DECODE, HtmlEncodable.getDirection("<p>&#65;</p>"));
+        assertEquals(HtmlEncodable.Direction.DECODE, HtmlEncodable.getDirection("&&#x41;"));
+
+        assertNull(HtmlEncodable.getDirection("plain text"));
+        assertNull(HtmlEncodable.getDirection(""));
+    }
+
+    @Test
+    public void getShifted() {
+        assertEquals("a &lt; b &amp;&amp; c", HtmlEncodable.getShifted("a < b && c"));
+        assertEquals("a < b && c", HtmlEncodable.getShifted("a &lt; b &amp;&amp; c"));
+        assertEquals("A & B &unknown; &", HtmlEncodable.getShifted("&#65; &amp; &#x42; &unknown; &"));
+        assertEquals("plain text", HtmlEncodable.getShifted("plain text"));
+    }
+}
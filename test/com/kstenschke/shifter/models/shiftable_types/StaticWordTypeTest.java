@@ -0,0 +1,51 @@
+package com.kstenschke.shifter.models.shiftable_types;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class StaticWordTypeTest {
+
+    private final StaticWordType keywords = new StaticWordType("int", "char", "BOOL", "long");
+
+    @Test
+    public void hasWord() {
+        assertTrue(keywords.hasWord("char"));
+        assertTrue(keywords.hasWord("BOOL"));
+        assertFalse(keywords.hasWord("bool"));
+        assertFalse(keywords.hasWord("Char"));
+    }
+
+    @Test
+    public void getOffset() {
+        assertEquals(0, keywords.getOffset("int"));
+        assertEquals(-1, keywords.getOffset("bool"));
+        assertEquals(2, keywords.getOffsetIgnoreCase("bool"));
+        assertEquals(-1, keywords.getOffsetIgnoreCase("short"));
+
+        assertEquals(1, new StaticWordType("a", "b", "a").getOffset("b"));
+        assertEquals(0, new StaticWordType("a", "b", "a").getOffset("a"));
+    }
+
+    @Test
+    public void getShifted() {
+        assertEquals("char", keywords.getShifted("int", true));
+        assertEquals("int", keywords.getShifted("long", true));
+        assertEquals("long", keywords.getShifted("int", false));
+        assertEquals("short", keywords.getShifted("short", true));
+
+        assertEquals("long", keywords.getShifted("char", 2));
+        assertEquals("BOOL", keywords.getShifted("char", 5));
+        assertEquals("BOOL", keywords.getShifted("int", -6));
+        assertEquals("char", keywords.getShifted("char", 0));
+    }
+
+    @Test
+    public void keywordsAreCopied() {
+        String[] words = {"a", "b"};
+        StaticWordType wordType = new StaticWordType(words);
+        words[1] = "c";
+
+        assertEquals("b", wordType.getShifted("a", true));
+    }
+}
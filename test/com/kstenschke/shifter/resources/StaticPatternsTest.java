@@ -0,0 +1,130 @@
+package com.kstenschke.shifter.resources;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Guard: regular expressions must be pre-compiled in StaticPatterns, not inline per call
+ */
+public class StaticPatternsTest {
+
+    // String methods that compile their argument as regular expression
+    private static final Pattern INLINE_REGEX_CALL = Pattern.compile("\\.(matches|replaceAll|replaceFirst)\\(\\s*[^)\\s]|Pattern\\.(compile|matches)\\(");
+
+    // split() w/ a string literal argument
+    private static final Pattern SPLIT_LITERAL = Pattern.compile("\\.split\\(\"((?:[^\"\\\\]|\\\\.)*)\"\\)");
+
+    @Test
+    public void noInlineRegularExpressions() throws IOException {
+        File sourcesRoot = new File("src");
+        if (!sourcesRoot.isDirectory()) {
+            return;
+        }
+
+        List<String> violations = new ArrayList<>();
+        collectViolations(sourcesRoot, violations);
+
+        assertTrue("Inline regular expressions, move them into StaticPatterns:\n" + String.join("\n", violations), violations.isEmpty());
+    }
+
+    @Test
+    public void isFastPathSplitLiteral() {
+        assertTrue(isFastPathSplitLiteral("\\n"));
+        assertTrue(isFastPathSplitLiteral("-"));
+        assertTrue(isFastPathSplitLiteral("\\\\."));
+        assertTrue(isFastPathSplitLiteral("\\\\|"));
+
+        assertFalse(isFastPathSplitLiteral("//"));
+        assertFalse(isFastPathSplitLiteral("|"));
+        assertFalse(isFastPathSplitLiteral("\\\\s"));
+        assertFalse(isFastPathSplitLiteral("\\\\s+"));
+    }
+
+    @Test
+    public void tupelDelimiters() {
+        assertEquals(" ", StaticPatterns.TUPEL_DELIMITERS.keySet().toArray()[StaticPatterns.TUPEL_DELIMITERS.size() - 1]);
+        assertArrayEquals(new String[]{"a", "b"}, StaticPatterns.TUPEL_DELIMITERS.get("!==").split("a  !== b"));
+    }
+
+    @Test
+    public void getQuotedWord() {
+        assertSame(StaticPatterns.getQuotedWord("'"), StaticPatterns.getQuotedWord("'"));
+        assertTrue(StaticPatterns.getQuotedWord("\"").matcher("a \"foo\" b").find());
+        assertFalse(StaticPatterns.getQuotedWord("`").matcher("a 'foo' b").find());
+    }
+
+    private static void collectViolations(File file, List<String> violations) throws IOException {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (null != children) {
+                for (File child : children) {
+                    collectViolations(child, violations);
+                }
+            }
+            return;
+        }
+        if (!file.getName().endsWith(".java") || "StaticPatterns.java".equals(file.getName())) {
+            return;
+        }
+
+        List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        int lineNumber = 0;
+        for (String line : lines) {
+            lineNumber++;
+            if (isViolation(line)) {
+                violations.add(file.getPath() + ":" + lineNumber + ": " + line.trim());
+            }
+        }
+    }
+
+    private static boolean isViolation(String line) {
+        String code = line.trim();
+        if (code.startsWith("*") || code.startsWith("/")) {
+            // Comment
+            return false;
+        }
+        // Matcher.replaceAll() / matches() of a pre-compiled pattern is fine
+        if (INLINE_REGEX_CALL.matcher(code.replaceAll("\\.matcher\\([^)]*\\)\\.(replaceAll|replaceFirst)\\(", "")).find()) {
+            return true;
+        }
+
+        Matcher m = SPLIT_LITERAL.matcher(code);
+        while (m.find()) {
+            if (!isFastPathSplitLiteral(m.group(1))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * String.split() does not compile a pattern for a single non-meta character or a backslash-escaped non-alphanumeric character
+     *
+     * @param  literal  Split argument as written in the source (w/ Java escapes)
+     * @return boolean
+     */
+    private static boolean isFastPathSplitLiteral(String literal) {
+        String regEx = literal
+                .replace("\\n", "\n")
+                .replace("\\t", "\t")
+                .replace("\\\"", "\"")
+                .replace("\\\\", "\\");
+
+        if (1 == regEx.length()) {
+            return -1 == ".$|()[{^?*+\\".indexOf(regEx.charAt(0));
+        }
+
+        return 2 == regEx.length() && '\\' == regEx.charAt(0) && !Character.isLetterOrDigit(regEx.charAt(1));
+    }
+}
@@ -0,0 +1,46 @@
+package com.kstenschke.shifter.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LineSorterTest {
+
+    private static String sort(String text, boolean reverse, boolean reduceDuplicateLines) {
+        LineSorter lineSorter = new LineSorter(text);
+        lineSorter.sort(reverse);
+
+        return lineSorter.getSortedText(reduceDuplicateLines);
+    }
+
+    @Test
+    public void getSortedText() {
+        assertEquals("1. foo\n2. bar\n100. baz", sort("1. foo\n100. baz\n2. bar", false, false));
+        assertEquals("100. baz\n2. bar\n1. foo", sort("1. foo\n100. baz\n2. bar\n", true, false));
+        assertEquals("", sort("", false, false));
+
+        // Lines are compared w/o their line separator: a line precedes the lines it is the beginning of
+        assertEquals("-\n-9\nb\nb\tc", sort("b\tc\n-9\nb\n-", false, false));
+    }
+
+    @Test
+    public void getSortedTextMaintainsDelimiter() {
+        assertEquals("apple,\nbanana,\ncherry", sort("cherry,\napple,\nbanana", false, false));
+        assertEquals("cherry,\nbanana,\napple", sort("cherry,\napple,\nbanana", true, false));
+    }
+
+    @Test
+    public void reduceDuplicateLines() {
+        LineSorter lineSorter = new LineSorter("b\na\nb\nc");
+        lineSorter.sort(false);
+
+        assertEquals(4, lineSorter.size());
+        assertTrue(lineSorter.hasDuplicateLines());
+        assertEquals("a\nb\nb\nc", lineSorter.getSortedText(false));
+        assertEquals("a\nb\nc", lineSorter.getSortedText(true));
+
+        lineSorter = new LineSorter("b\na\nc");
+        lineSorter.sort(false);
+        assertFalse(lineSorter.hasDuplicateLines());
+    }
+}
@@ -482,11 +482,6 @@ public class UtilsTextualTest {
         assertEquals(4, UtilsTextual.getStartOfWordAtOffset("foo.bar", 7));
     }
 
-    @Test
-    @Ignore
-    public void extractLines() {
-    }
-
     @Test
     @Ignore
     public void joinLines() {
@@ -507,16 +502,6 @@ public class UtilsTextualTest {
     public void formatAmountDigits() {
     }
 
-    @Test
-    @Ignore
-    public void hasDuplicateLines() {
-    }
-
-    @Test
-    @Ignore
-    public void reduceDuplicateLines() {
-    }
-
     @Test
     @Ignore
     public void getLeadWhitespace() {